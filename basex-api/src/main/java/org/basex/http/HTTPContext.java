@@ -7,6 +7,7 @@ import javax.servlet.*;
 
 import org.basex.*;
 import org.basex.core.*;
+import org.basex.http.webdav.*;
 import org.basex.io.*;
 import org.basex.util.*;
 
@@ -110,6 +111,7 @@ public final class HTTPContext {
       server = null;
     }
     if(context != null) {
+      WebDAVLocks.close();
       context.close();
       context = null;
     }
@@ -0,0 +1,30 @@
+package org.basex.http.metrics;
+
+import java.io.*;
+
+import org.basex.core.*;
+import org.basex.core.users.*;
+import org.basex.http.*;
+import org.basex.util.*;
+import org.basex.util.http.*;
+
+/**
+ * <p>This servlet returns the runtime metrics of BaseX in a plain-text exposition format.
+ * Admin permissions are required.</p>
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class MetricsServlet extends BaseXServlet {
+  @Override
+  protected void run(final HTTPConnection conn) throws IOException {
+    if(!conn.method.equals(HttpMethod.GET.name()))
+      throw HTTPCode.NOT_IMPLEMENTED_X.get(conn.req.getMethod());
+    if(!conn.context.user().has(Perm.ADMIN))
+      throw HTTPCode.FORBIDDEN_X.get(Util.info(Text.PERM_REQUIRED_X, Perm.ADMIN));
+
+    conn.res.setCharacterEncoding(Strings.UTF8);
+    conn.res.setContentType(MediaType.TEXT_PLAIN + "; version=0.0.4; charset=" + Strings.UTF8);
+    conn.res.getOutputStream().write(Metrics.get(conn.context));
+  }
+}
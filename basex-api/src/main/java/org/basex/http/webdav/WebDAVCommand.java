@@ -0,0 +1,88 @@
+package org.basex.http.webdav;
+
+import java.io.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.core.locks.*;
+import org.basex.core.users.*;
+import org.basex.data.*;
+import org.basex.util.*;
+
+/**
+ * Command for reading meta data of a database, or of all databases. In contrast to queries,
+ * no code needs to be parsed and compiled.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ * @param <T> result type
+ */
+final class WebDAVCommand<T> extends Command {
+  /** Reader. */
+  private final Reader<T> reader;
+  /** Result. */
+  private T result;
+
+  /**
+   * Constructor.
+   * @param db database ({@code null}: access all databases)
+   * @param reader reader
+   */
+  WebDAVCommand(final String db, final Reader<T> reader) {
+    super(Perm.NONE, db == null ? "" : db);
+    this.reader = reader;
+  }
+
+  /**
+   * Executes the command and returns the result.
+   * @param ctx database context
+   * @return result
+   * @throws BaseXException database exception
+   */
+  T get(final Context ctx) throws BaseXException {
+    execute(ctx);
+    return result;
+  }
+
+  @Override
+  protected boolean run() {
+    final String db = args[0];
+    try {
+      if(db.isEmpty()) {
+        result = reader.read(context, null);
+      } else {
+        final Data data = Open.open(db, context, options);
+        try {
+          result = reader.read(context, data);
+        } finally {
+          Close.close(data, context);
+        }
+      }
+      return true;
+    } catch(final IOException ex) {
+      return error(Util.message(ex));
+    }
+  }
+
+  @Override
+  public void addLocks() {
+    final Locks locks = jc().locks;
+    if(args[0].isEmpty()) locks.reads.addGlobal();
+    else locks.reads.add(args[0]);
+  }
+
+  /**
+   * Reader function.
+   * @param <T> result type
+   */
+  interface Reader<T> {
+    /**
+     * Reads data.
+     * @param ctx database context
+     * @param data opened database ({@code null} if all databases are accessed)
+     * @return result
+     * @throws IOException I/O exception
+     */
+    T read(Context ctx, Data data) throws IOException;
+  }
+}
@@ -0,0 +1,444 @@
+package org.basex.http.webdav;
+
+import static org.basex.http.webdav.WebDAVUtils.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.core.users.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.util.*;
+
+/**
+ * In-memory table of the WebDAV locks. The locks are read from the lock database when the
+ * table is created, and changes are written back asynchronously, with the permissions of the user
+ * who performed the last change. If writing fails, the error is reported by the next update, and
+ * writing is retried. The table is bound to the HTTP context and discarded when it is closed.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class WebDAVLocks {
+  /** Name of the database with the WebDAV locks. */
+  static final String DB = "~webdav";
+  /** Namespace URI. */
+  private static final String URI = "http://basex.org/modules/webdav";
+  /** Namespace prefix. */
+  private static final byte[] PREFIX = Token.token("w");
+  /** Maximum timeout in seconds (about one year). */
+  private static final long MAX_TIMEOUT = 31700000;
+  /** Exclusive scope. */
+  private static final String EXCLUSIVE = "exclusive";
+  /** Infinite depth. */
+  private static final String INFINITY = "infinity";
+
+  /** Query for reading the locks. */
+  private static final String READ = "declare namespace w = '" + URI + "';" +
+      "string-join(db:open('" + DB + "')/w:locks/w:lockinfo ! string-join((" +
+      "w:path, w:token, w:scope, w:type, w:depth, w:owner, w:timeout, " +
+      "(xs:dateTime(w:expiry) - xs:dateTime('1970-01-01T00:00:00Z')) " +
+      "div xs:dayTimeDuration('PT0.001S')), out:tab()), out:nl())";
+  /** Query for writing the locks. */
+  private static final String WRITE = "declare variable $locks external;" +
+      "let $doc := parse-xml($locks) return if(db:exists('" + DB + "')) " +
+      "then db:replace('" + DB + "', '" + DB + "', $doc) " +
+      "else db:create('" + DB + "', $doc, '" + DB + "')";
+
+  /** Lock table of the current HTTP context (lazy instantiation). */
+  private static WebDAVLocks instance;
+
+  /** Locks, indexed by their tokens. */
+  private final LinkedHashMap<String, Lock> locks = new LinkedHashMap<>();
+  /** Executor for writing the locks to the database. */
+  private final ExecutorService writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+    @Override
+    public Thread newThread(final Runnable r) {
+      final Thread thread = new Thread(r, DB);
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+  /** Main context. */
+  private final Context context;
+  /** User who performed the last change ({@code null}: user of the main context). */
+  private User user;
+  /** Error raised by the last write operation ({@code null}: no error). */
+  private IOException error;
+  /** Indicates if a write operation has been scheduled. */
+  private boolean scheduled;
+
+  /**
+   * Constructor.
+   * @param context main context
+   */
+  private WebDAVLocks(final Context context) {
+    this.context = context;
+  }
+
+  /**
+   * Returns the lock table of the specified context.
+   * @param context main context
+   * @return lock table
+   */
+  static synchronized WebDAVLocks get(final Context context) {
+    if(instance == null || instance.context != context) {
+      close();
+      instance = new WebDAVLocks(context);
+      instance.read();
+    }
+    return instance;
+  }
+
+  /**
+   * Writes pending changes and discards the lock table.
+   * Called before the HTTP context is closed.
+   */
+  public static synchronized void close() {
+    if(instance == null) return;
+    final ExecutorService ws = instance.writer;
+    instance = null;
+    ws.shutdown();
+    try {
+      if(!ws.awaitTermination(10, TimeUnit.SECONDS)) Util.errln("Locks were not written: %", DB);
+    } catch(final InterruptedException ex) {
+      Util.errln(ex);
+    }
+  }
+
+  /**
+   * Creates a new lock for the specified path.
+   * @param path path
+   * @param scope lock scope
+   * @param type lock type
+   * @param depth lock depth
+   * @param owner lock owner
+   * @param timeout lock timeout in seconds (can be {@code null})
+   * @param usr user who creates the lock
+   * @return lock token
+   * @throws IOException I/O exception
+   */
+  synchronized String create(final String path, final String scope, final String type,
+      final String depth, final String owner, final Long timeout, final User usr)
+      throws IOException {
+
+    check();
+    final Lock lock = new Lock(path, UUID.randomUUID().toString(), scope, type, depth, owner,
+        timeout == null ? MAX_TIMEOUT : Math.min(timeout, MAX_TIMEOUT));
+    lock.refresh();
+    if(conflicting(lock)) throw new BaseXException("Resource has a conflicting lock: %", path);
+
+    locks.put(lock.token, lock);
+    changed(usr);
+    return lock.token;
+  }
+
+  /**
+   * Renews the lock with the given token.
+   * @param token lock token
+   * @param usr user who renews the lock
+   * @throws IOException I/O exception
+   */
+  synchronized void refresh(final String token, final User usr) throws IOException {
+    check();
+    final Lock lock = active(token);
+    if(lock != null) {
+      lock.refresh();
+      changed(usr);
+    }
+  }
+
+  /**
+   * Removes the lock with the given token.
+   * @param token lock token
+   * @param usr user who removes the lock
+   * @throws IOException I/O exception
+   */
+  synchronized void delete(final String token, final User usr) throws IOException {
+    check();
+    if(locks.remove(token) != null) changed(usr);
+  }
+
+  /**
+   * Returns the lock with the given token.
+   * @param token lock token
+   * @return lock info, or {@code null}
+   * @throws IOException I/O exception
+   */
+  synchronized String lock(final String token) throws IOException {
+    final Lock lock = active(token);
+    return lock != null ? lock.info() : null;
+  }
+
+  /**
+   * Returns the first active lock on the given path.
+   * @param path path
+   * @return lock info, or {@code null}
+   * @throws IOException I/O exception
+   */
+  synchronized String locksOn(final String path) throws IOException {
+    for(final Lock lock : active()) {
+      if(locked(lock.path, path, INFINITY)) return lock.info();
+    }
+    return null;
+  }
+
+  /**
+   * Checks if an exclusive lock on the given path would conflict with existing locks.
+   * @param path path
+   * @param owner owner
+   * @return result of check
+   */
+  synchronized boolean conflicting(final String path, final String owner) {
+    return conflicting(new Lock(path, "", EXCLUSIVE, "", INFINITY, owner, 0));
+  }
+
+  /**
+   * Checks if the specified lock conflicts with existing locks.
+   * @param lock requested lock
+   * @return result of check
+   */
+  private boolean conflicting(final Lock lock) {
+    for(final Lock old : active()) {
+      if(locked(old.path, lock.path, INFINITY) &&
+        (locked(lock.path, old.path, lock.depth) || locked(old.path, lock.path, old.depth)) &&
+        (lock.scope.equals(EXCLUSIVE) || old.scope.equals(EXCLUSIVE))) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the active lock with the specified token.
+   * @param token token
+   * @return lock or {@code null}
+   */
+  private Lock active(final String token) {
+    final Lock lock = locks.get(token);
+    return lock != null && lock.expiry > System.currentTimeMillis() ? lock : null;
+  }
+
+  /**
+   * Returns all active locks. Expired locks are removed.
+   * @return locks
+   */
+  private Collection<Lock> active() {
+    final long now = System.currentTimeMillis();
+    boolean removed = false;
+    for(final Iterator<Lock> iter = locks.values().iterator(); iter.hasNext();) {
+      if(iter.next().expiry <= now) {
+        iter.remove();
+        removed = true;
+      }
+    }
+    if(removed) changed(user);
+    return locks.values();
+  }
+
+  /**
+   * Checks if a lock with the given path has (possibly indirectly) locked another resource.
+   * @param ancestor ancestor resource
+   * @param descendant descendant resource
+   * @param depth depth
+   * @return result of check
+   */
+  private static boolean locked(final String ancestor, final String descendant,
+      final String depth) {
+
+    final String[] anc = segments(ancestor), desc = segments(descendant);
+    final int as = anc.length, ds = desc.length;
+    // compare common segments
+    for(int s = 0; s < Math.min(as, ds); s++) {
+      if(!anc[s].equals(desc[s])) return false;
+    }
+    switch(depth) {
+      case "0":      return as == ds;
+      case "1":      return as + 1 == ds;
+      case INFINITY: return true;
+      default:       return false;
+    }
+  }
+
+  /**
+   * Decomposes a path into segments.
+   * @param path path
+   * @return segments
+   */
+  private static String[] segments(final String path) {
+    final ArrayList<String> list = new ArrayList<>();
+    for(final String segment : Strings.split(path, SEP)) {
+      if(!segment.isEmpty()) list.add(segment);
+    }
+    return list.toArray(new String[list.size()]);
+  }
+
+  /**
+   * Reads the locks from the lock database.
+   */
+  private void read() {
+    try {
+      if(!context.soptions.dbExists(DB)) return;
+      for(final String line : Strings.split(new XQuery(READ).execute(context(null)), '\n')) {
+        final String[] values = Strings.split(line, '\t');
+        if(values.length != 8) continue;
+        final Lock lock = new Lock(values[0], values[1], values[2], values[3], values[4],
+            values[5], Long.parseLong(values[6]));
+        lock.expiry = (long) Double.parseDouble(values[7]);
+        locks.put(lock.token, lock);
+      }
+    } catch(final IOException | NumberFormatException ex) {
+      Util.errln(ex);
+    }
+  }
+
+  /**
+   * Throws the error of the last write operation, if any, and schedules another attempt.
+   * @throws IOException I/O exception
+   */
+  private void check() throws IOException {
+    final IOException ex = error;
+    if(ex != null) {
+      error = null;
+      changed(user);
+      throw new BaseXException("Locks could not be written: %", Util.message(ex));
+    }
+  }
+
+  /**
+   * Schedules a write operation.
+   * @param usr user who performed the change ({@code null}: user of the main context)
+   */
+  private void changed(final User usr) {
+    user = usr;
+    if(!scheduled) {
+      scheduled = true;
+      writer.execute(new Runnable() {
+        @Override
+        public void run() {
+          write();
+        }
+      });
+    }
+  }
+
+  /**
+   * Writes the locks to the lock database.
+   */
+  private void write() {
+    final FElem root = new FElem(new QNm(PREFIX, "locks", Token.token(URI))).declareNS();
+    final User usr;
+    synchronized(this) {
+      scheduled = false;
+      usr = user;
+      for(final Lock lock : locks.values()) root.add(lock.elem());
+    }
+    IOException ex = null;
+    try {
+      final String xml = root.serialize().toString();
+      new XQuery(WRITE).bind("locks", xml).execute(context(usr));
+    } catch(final IOException ioex) {
+      Util.errln(ioex);
+      ex = ioex;
+    }
+    synchronized(this) {
+      error = ex;
+    }
+  }
+
+  /**
+   * Creates a context for accessing the lock database.
+   * @param usr user ({@code null}: user of the main context)
+   * @return context
+   */
+  private Context context(final User usr) {
+    final Context ctx = new Context(context);
+    ctx.user(usr != null ? usr : context.user());
+    return ctx;
+  }
+
+  /** WebDAV lock. */
+  private static final class Lock {
+    /** Path. */
+    private final String path;
+    /** Token. */
+    private final String token;
+    /** Scope. */
+    private final String scope;
+    /** Type. */
+    private final String type;
+    /** Depth. */
+    private final String depth;
+    /** Owner. */
+    private final String owner;
+    /** Timeout in seconds. */
+    private final long timeout;
+    /** Expiration time in milliseconds. */
+    private long expiry;
+
+    /**
+     * Constructor.
+     * @param path path
+     * @param token token
+     * @param scope scope
+     * @param type type
+     * @param depth depth
+     * @param owner owner
+     * @param timeout timeout in seconds
+     */
+    Lock(final String path, final String token, final String scope, final String type,
+        final String depth, final String owner, final long timeout) {
+      this.path = path;
+      this.token = token;
+      this.scope = scope;
+      this.type = type;
+      this.depth = depth;
+      this.owner = owner;
+      this.timeout = timeout;
+    }
+
+    /**
+     * Renews the expiration time.
+     */
+    void refresh() {
+      expiry = System.currentTimeMillis() + timeout * 1000;
+    }
+
+    /**
+     * Returns an element representation of the lock.
+     * @return element
+     */
+    FElem elem() {
+      final FElem elem = new FElem(new QNm(PREFIX, "lockinfo", Token.token(URI)));
+      add(elem, "path", path);
+      add(elem, "token", token);
+      add(elem, "scope", scope);
+      add(elem, "type", type);
+      add(elem, "depth", depth);
+      add(elem, "owner", owner);
+      add(elem, "timeout", Long.toString(timeout));
+      add(elem, "expiry", DateTime.format(new Date(expiry)));
+      return elem;
+    }
+
+    /**
+     * Adds a child element.
+     * @param elem element
+     * @param name name of child element
+     * @param value value
+     */
+    private static void add(final FElem elem, final String name, final String value) {
+      elem.add(new FElem(new QNm(PREFIX, name, Token.token(URI))).add(value));
+    }
+
+    /**
+     * Returns a serialized representation of the lock.
+     * @return lock info
+     * @throws IOException I/O exception
+     */
+    String info() throws IOException {
+      return elem().declareNS().serialize().toString();
+    }
+  }
+}
@@ -7,15 +7,18 @@ import java.io.*;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.List;
+import java.util.concurrent.*;
 
 import org.basex.api.client.*;
 import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.core.cmd.Set;
+import org.basex.core.users.*;
+import org.basex.data.*;
 import org.basex.http.*;
+import org.basex.io.*;
 import org.basex.io.in.*;
 import org.basex.io.serial.*;
-import org.basex.query.func.db.*;
 import org.basex.util.*;
 import org.basex.util.http.*;
 import org.basex.util.list.*;
@@ -27,8 +30,14 @@ import org.basex.util.list.*;
  * @author Dimitar Popov
  */
 final class WebDAVService {
-  /** Name of the database with the WebDAV locks. */
-  private static final String WEBDAV_DB = "~webdav";
+  /** Time in milliseconds after which cached folder listings expire. */
+  private static final long LISTING_TTL = 2000;
+  /** Maximum number of cached folder listings. */
+  private static final int MAX_LISTINGS = 1000;
+  /** Cached folder listings, indexed by user, database and path. */
+  private static final ConcurrentHashMap<String, Listing> LISTINGS = new ConcurrentHashMap<>();
+  /** Number of invalidations of the listing cache (guarded by {@link #LISTINGS}). */
+  private static long changes;
   /** Static WebDAV character map. */
   private static final String WEBDAV;
 
@@ -72,7 +81,7 @@ final class WebDAVService {
    * @return {@code true} if the user is authorized
    */
   static boolean authorize(final String db) {
-    return !WEBDAV_DB.equals(db);
+    return !WebDAVLocks.DB.equals(db);
   }
 
   /**
@@ -86,9 +95,13 @@ final class WebDAVService {
     if(!pathExists(db, dummy)) return;
 
     // path contains dummy document
-    final LocalSession session = session();
-    session.execute(new Open(db));
-    session.execute(new Delete(dummy));
+    try {
+      final LocalSession session = session();
+      session.execute(new Open(db));
+      session.execute(new Delete(dummy));
+    } finally {
+      changed(db);
+    }
   }
 
   /**
@@ -97,9 +110,9 @@ final class WebDAVService {
    * @return result of check
    * @throws IOException I/O exception
    */
-  boolean dbExists(final String db) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(_DB_EXISTS.args("$db")).bind("db", db);
-    return execute(query).equals(Text.TRUE);
+  boolean dbExists(final String db) {
+    final Context ctx = conn.context;
+    return Databases.validName(db) && ctx.soptions.dbExists(db) && ctx.perm(Perm.READ, db);
   }
 
   /**
@@ -109,9 +122,12 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   long timestamp(final String db) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(DATA.args(_DB_INFO.args("$db") +
-        "/descendant::" + DbFn.toName(Text.TIMESTAMP) + "[1]")).bind("db",  db);
-    return DateTime.parse(execute(query)).getTime();
+    return new WebDAVCommand<>(db, new WebDAVCommand.Reader<Long>() {
+      @Override
+      public Long read(final Context ctx, final Data data) {
+        return data.meta.dbtime();
+      }
+    }).get(conn.context);
   }
 
   /**
@@ -122,19 +138,19 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   private WebDAVMetaData metaData(final String db, final String path) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(
-      "let $a := " + _DB_LIST_DETAILS.args("$db", "$path") + "[1] " +
-      "return string-join(($a/@raw, $a/@content-type, $a/@modified-date, $a/@size, $a),out:tab())");
-    query.bind("db", db);
-    query.bind("path", path);
-
-    final String[] result = results(query);
-    final boolean raw = Boolean.parseBoolean(result[0]);
-    final MediaType type = new MediaType(result[1]);
-    final long mod = DateTime.parse(result[2]).getTime();
-    final Long size = raw ? Long.valueOf(result[3]) : null;
-    final String pth = stripLeadingSlash(result[4]);
-    return new WebDAVMetaData(db, pth, mod, raw, type, size);
+    return new WebDAVCommand<>(db, new WebDAVCommand.Reader<WebDAVMetaData>() {
+      @Override
+      public WebDAVMetaData read(final Context ctx, final Data data) throws IOException {
+        final int pre = data.resources.doc(path);
+        if(pre != -1) return new WebDAVMetaData(db, Token.string(data.text(pre, true)),
+            data.meta.time, false, MediaType.APPLICATION_XML, null);
+        final IOFile bin = data.meta.binary(path);
+        if(bin == null || !bin.exists() || bin.isDir())
+          throw new BaseXException(Text.RES_NOT_FOUND_X, path);
+        return new WebDAVMetaData(db, path, bin.timeStamp(), true, MediaType.get(path),
+            bin.length());
+      }
+    }).get(conn.context);
   }
 
   /**
@@ -144,9 +160,13 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   void delete(final String db, final String path) throws IOException {
-    final LocalSession session = session();
-    session.execute(new Open(db));
-    session.execute(new Delete(path));
+    try {
+      final LocalSession session = session();
+      session.execute(new Open(db));
+      session.execute(new Delete(path));
+    } finally {
+      changed(db);
+    }
 
     // create dummy if parent is an empty folder
     final int ix = path.lastIndexOf(SEP);
@@ -161,9 +181,13 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   void rename(final String db, final String path, final String npath) throws IOException {
-    final LocalSession session = session();
-    session.execute(new Open(db));
-    session.execute(new Rename(path, npath));
+    try {
+      final LocalSession session = session();
+      session.execute(new Open(db));
+      session.execute(new Rename(path, npath));
+    } finally {
+      changed(db);
+    }
 
     // create dummy if old parent is an empty folder
     final int i1 = path.lastIndexOf(SEP);
@@ -194,7 +218,11 @@ final class WebDAVService {
     query.bind("path", path);
     query.bind("tdb", tdb);
     query.bind("tpath", tpath);
-    execute(query);
+    try {
+      execute(query);
+    } finally {
+      changed(tdb);
+    }
   }
 
   /**
@@ -219,7 +247,11 @@ final class WebDAVService {
     query.bind("path", path);
     query.bind("tdb", tdb);
     query.bind("tpath", tpath);
-    execute(query);
+    try {
+      execute(query);
+    } finally {
+      changed(tdb);
+    }
   }
 
   /**
@@ -249,7 +281,11 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   WebDAVResource createDb(final String db) throws IOException {
-    session().execute(new CreateDB(db));
+    try {
+      session().execute(new CreateDB(db));
+    } finally {
+      changed(db);
+    }
     return WebDAVFactory.database(this, new WebDAVMetaData(db, timestamp(db)));
   }
 
@@ -259,7 +295,11 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   void dropDb(final String db) throws IOException {
-    session().execute(new DropDB(db));
+    try {
+      session().execute(new DropDB(db));
+    } finally {
+      changed(db);
+    }
   }
 
   /**
@@ -269,7 +309,12 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   void renameDb(final String old, final String db) throws IOException {
-    session().execute(new AlterDB(old, dbName(db)));
+    try {
+      session().execute(new AlterDB(old, dbName(db)));
+    } finally {
+      changed(old);
+      changed(dbName(db));
+    }
   }
 
   /**
@@ -279,7 +324,11 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   void copyDb(final String old, final String db) throws IOException {
-    session().execute(new Copy(old, dbName(db)));
+    try {
+      session().execute(new Copy(old, dbName(db)));
+    } finally {
+      changed(dbName(db));
+    }
   }
 
   /**
@@ -290,55 +339,125 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   List<WebDAVResource> list(final String db, final String path) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(STRING_JOIN.args(
-      _DB_LIST_DETAILS.args("$db", "$path") + " ! (" +
-      "@raw,@content-type,@modified-date,@size," + SUBSTRING_AFTER.args("text()", "$path") + ')',
-      "out:tab()"));
-    query.bind("db", db);
-    query.bind("path", path);
-    final String[] result = results(query);
-
-    final HashSet<String> paths = new HashSet<>();
     final List<WebDAVResource> ch = new ArrayList<>();
-    final int rs = result.length;
-    for(int r = 0; r < rs; r += 5) {
-      final boolean raw = Boolean.parseBoolean(result[r]);
-      final MediaType ctype = new MediaType(result[r + 1]);
-      final long mod = DateTime.parse(result[r + 2]).getTime();
-      final Long size = raw ? Long.valueOf(result[r + 3]) : null;
-      final String pth = stripLeadingSlash(result[r + 4]);
-      final int ix = pth.indexOf(SEP);
-      // check if document or folder
-      if(ix < 0) {
-        if(!pth.equals(DUMMY)) ch.add(WebDAVFactory.file(this,
-          new WebDAVMetaData(db, path + SEP + pth, mod, raw, ctype, size)));
-      } else {
-        final String dir = path + SEP + pth.substring(0, ix);
-        if(paths.add(dir)) ch.add(WebDAVFactory.folder(this, new WebDAVMetaData(db, dir, mod)));
-      }
+    for(final WebDAVMetaData meta : listing(db, path)) {
+      ch.add(meta.type == null ? WebDAVFactory.folder(this, meta) : WebDAVFactory.file(this, meta));
     }
     return ch;
   }
 
+  /**
+   * Returns the meta data of the direct children of a path. Listings are cached for a short
+   * time, as clients tend to request the same folders repeatedly.
+   * @param db database
+   * @param path path
+   * @return meta data of children
+   * @throws IOException I/O exception
+   */
+  private WebDAVMetaData[] listing(final String db, final String path) throws IOException {
+    final String key = conn.context.user().name() + SEP + db + SEP + path;
+    final long time = System.currentTimeMillis();
+    final Listing cached = LISTINGS.get(key);
+    if(cached != null && time - cached.time < LISTING_TTL) return cached.metas;
+
+    final long version;
+    synchronized(LISTINGS) {
+      version = changes;
+    }
+    final WebDAVMetaData[] metas = new WebDAVCommand<>(db,
+        new WebDAVCommand.Reader<WebDAVMetaData[]>() {
+      @Override
+      public WebDAVMetaData[] read(final Context ctx, final Data data) {
+        final HashSet<String> paths = new HashSet<>();
+        final ArrayList<WebDAVMetaData> list = new ArrayList<>();
+        final IntList docs = data.resources.docs(path);
+        final int ds = docs.size();
+        for(int d = 0; d < ds; d++) {
+          final int pre = docs.get(d);
+          child(db, path, Token.string(data.text(pre, true)), data.meta.time, false,
+              MediaType.APPLICATION_XML, null, paths, list);
+        }
+        for(final byte[] bin : data.resources.binaries(path)) {
+          final String pth = Token.string(bin);
+          final IOFile file = data.meta.binary(pth);
+          child(db, path, pth, file.timeStamp(), true, MediaType.get(pth), file.length(), paths,
+              list);
+        }
+        return list.toArray(new WebDAVMetaData[list.size()]);
+      }
+    }).get(conn.context);
+
+    // only cache the listing if no database has been changed in the meantime
+    synchronized(LISTINGS) {
+      if(version == changes) {
+        if(LISTINGS.size() >= MAX_LISTINGS) LISTINGS.clear();
+        LISTINGS.put(key, new Listing(db, metas, time));
+      }
+    }
+    return metas;
+  }
+
+  /**
+   * Adds the meta data of a file or folder below the specified path.
+   * @param db database
+   * @param path path of parent folder
+   * @param resource path of resource
+   * @param mod modification date
+   * @param raw raw flag
+   * @param type media type
+   * @param size size of binary resource (can be {@code null})
+   * @param paths folders that have already been added
+   * @param list list of meta data
+   */
+  private static void child(final String db, final String path, final String resource,
+      final long mod, final boolean raw, final MediaType type, final Long size,
+      final HashSet<String> paths, final ArrayList<WebDAVMetaData> list) {
+
+    final int i = resource.indexOf(path);
+    final String pth = stripLeadingSlash(i == -1 ? "" : resource.substring(i + path.length()));
+    final int ix = pth.indexOf(SEP);
+    // check if document or folder
+    if(ix < 0) {
+      if(!pth.equals(DUMMY)) list.add(new WebDAVMetaData(db, path + SEP + pth, mod, raw, type,
+          size));
+    } else {
+      final String dir = path + SEP + pth.substring(0, ix);
+      if(paths.add(dir)) list.add(new WebDAVMetaData(db, dir, mod));
+    }
+  }
+
+  /**
+   * Invalidates the cached listings of a database. Must be called after the database has been
+   * updated, as listings may have been cached while the update was running.
+   * @param db database
+   */
+  private static void changed(final String db) {
+    synchronized(LISTINGS) {
+      changes++;
+      for(final Iterator<Listing> iter = LISTINGS.values().iterator(); iter.hasNext();) {
+        if(iter.next().db.equals(db)) iter.remove();
+      }
+    }
+  }
+
   /**
    * Lists all databases.
    * @return a list of database resources.
    * @throws IOException I/O exception
    */
   List<WebDAVResource> listDbs() throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(STRING_JOIN.args(
-        _DB_LIST_DETAILS.args() + "[. != $db] ! (text(), @modified-date)", "out:tab()"));
-    query.bind("db", WEBDAV_DB);
-
-    final String[] result = results(query);
-    final List<WebDAVResource> dbs = new ArrayList<>();
-    final int rs = result.length;
-    for(int r = 0; r < rs; r += 2) {
-      final String name = result[r];
-      final long mod = DateTime.parse(result[r + 1]).getTime();
-      dbs.add(WebDAVFactory.database(this, new WebDAVMetaData(name, mod)));
-    }
-    return dbs;
+    return new WebDAVCommand<>(null, new WebDAVCommand.Reader<List<WebDAVResource>>() {
+      @Override
+      public List<WebDAVResource> read(final Context ctx, final Data data) {
+        final List<WebDAVResource> dbs = new ArrayList<>();
+        for(final String name : ctx.filter(Perm.READ, ctx.databases.listDBs())) {
+          if(!authorize(name)) continue;
+          final long mod = ctx.soptions.dbPath(name).timeStamp();
+          dbs.add(WebDAVFactory.database(WebDAVService.this, new WebDAVMetaData(name, mod)));
+        }
+        return dbs;
+      }
+    }).get(conn.context);
   }
 
   /**
@@ -418,10 +537,12 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   private boolean pathExists(final String db, final String path) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(EXISTS.args(_DB_LIST.args("$db", "$path")));
-    query.bind("db", db);
-    query.bind("path", path);
-    return execute(query).equals(Text.TRUE);
+    return new WebDAVCommand<>(db, new WebDAVCommand.Reader<Boolean>() {
+      @Override
+      public Boolean read(final Context ctx, final Data data) {
+        return !data.resources.docs(path).isEmpty() || !data.resources.binaries(path).isEmpty();
+      }
+    }).get(conn.context);
   }
 
   /**
@@ -432,10 +553,13 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   private boolean exists(final String db, final String path) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(_DB_EXISTS.args("$db", "$path"));
-    query.bind("db", db);
-    query.bind("path", path);
-    return execute(query).equals(Text.TRUE);
+    return new WebDAVCommand<>(db, new WebDAVCommand.Reader<Boolean>() {
+      @Override
+      public Boolean read(final Context ctx, final Data data) {
+        final IOFile bin = data.meta.binary(path);
+        return bin != null && bin.exists() && !bin.isDir() || data.resources.doc(path) != -1;
+      }
+    }).get(conn.context);
   }
 
   /**
@@ -446,7 +570,11 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   private WebDAVResource createDb(final String db, final InputStream in) throws IOException {
-    session().create(db, in);
+    try {
+      session().create(db, in);
+    } finally {
+      changed(db);
+    }
     return WebDAVFactory.database(this, new WebDAVMetaData(db, timestamp(db)));
   }
 
@@ -461,10 +589,14 @@ final class WebDAVService {
   private WebDAVResource addXML(final String db, final String path, final InputStream in)
       throws IOException {
 
-    final LocalSession session = session();
-    session.execute(new Set(MainOptions.CHOP, false));
-    session.execute(new Open(db));
-    session.add(path, in);
+    try {
+      final LocalSession session = session();
+      session.execute(new Set(MainOptions.CHOP, false));
+      session.execute(new Open(db));
+      session.add(path, in);
+    } finally {
+      changed(db);
+    }
     return WebDAVFactory.file(this, new WebDAVMetaData(db, path, timestamp(db), false,
       MediaType.APPLICATION_XML, null));
   }
@@ -480,9 +612,13 @@ final class WebDAVService {
   private WebDAVResource store(final String db, final String path, final InputStream in)
       throws IOException {
 
-    final LocalSession session = session();
-    session.execute(new Open(db));
-    session.store(path, in);
+    try {
+      final LocalSession session = session();
+      session.execute(new Open(db));
+      session.store(path, in);
+    } finally {
+      changed(db);
+    }
     return WebDAVFactory.file(this, metaData(db, path));
   }
 
@@ -537,9 +673,13 @@ final class WebDAVService {
     // check if path is a folder and is empty
     if(path.matches("[^/]") || pathExists(db, path)) return;
 
-    final LocalSession session = session();
-    session.execute(new Open(db));
-    session.store(path + SEP + DUMMY, new ArrayInput(Token.EMPTY));
+    try {
+      final LocalSession session = session();
+      session.execute(new Open(db));
+      session.store(path + SEP + DUMMY, new ArrayInput(Token.EMPTY));
+    } finally {
+      changed(db);
+    }
   }
 
   /**
@@ -556,20 +696,6 @@ final class WebDAVService {
     return session().execute(xquery);
   }
 
-  /**
-   * Executes a query and returns all results as a list.
-   * @param query query to be executed
-   * @return result
-   * @throws IOException error during query execution
-   */
-  private String[] results(final WebDAVQuery query) throws IOException {
-    final StringList sl = new StringList();
-    for(final String result : Strings.split(execute(query), '\t')) {
-      if(!result.isEmpty()) sl.add(result);
-    }
-    return sl.finish();
-  }
-
   /**
    * Constructor.
    * @return local session
@@ -588,4 +714,26 @@ final class WebDAVService {
     if(sb.length() > 0) sb.append(',');
     sb.append((char) ch).append("=&amp;#").append(ch).append(';');
   }
+
+  /** Cached folder listing. */
+  private static final class Listing {
+    /** Database. */
+    private final String db;
+    /** Meta data of children. */
+    private final WebDAVMetaData[] metas;
+    /** Creation time. */
+    private final long time;
+
+    /**
+     * Constructor.
+     * @param db database
+     * @param metas meta data of children
+     * @param time creation time
+     */
+    Listing(final String db, final WebDAVMetaData[] metas, final long time) {
+      this.db = db;
+      this.metas = metas;
+      this.time = time;
+    }
+  }
 }
@@ -206,6 +206,20 @@ public class FnHttpTest extends HTTPTest {
     }
   }
 
+  /**
+   * Tests sending multiple requests in parallel.
+   * @throws Exception exception
+   */
+  @Test
+  public void sendRequests() throws Exception {
+    try(QueryProcessor qp = new QueryProcessor("string-join(" + _HTTP_SEND_REQUESTS.args(
+        "(1 to 10) ! <http:request method='get' override-media-type='text/plain' href='" +
+        REST_ROOT + "?query={ . }'/>", " map { 'parallel': 4 }") +
+        "[. instance of xs:string], ',')", ctx)) {
+      assertEquals("1,2,3,4,5,6,7,8,9,10", qp.value().serialize().toString());
+    }
+  }
+
   /**
    * Tests RequestParser.parse() with normal (not multipart) request.
    * @throws IOException I/O Exception
@@ -0,0 +1,174 @@
+package org.basex.http.webdav;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.core.users.*;
+import org.basex.util.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * Tests for the WebDAV lock table.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class WebDAVLocksTest extends SandboxTest {
+  /** Exclusive scope. */
+  private static final String EXCL = "exclusive";
+  /** Shared scope. */
+  private static final String SHARED = "shared";
+  /** Write type. */
+  private static final String WRITE = "write";
+  /** Infinite depth. */
+  private static final String INF = "infinity";
+  /** Lock timeout in seconds. */
+  private static final Long TIMEOUT = 3600L;
+
+  /**
+   * Discards the lock table and drops the lock database.
+   */
+  @After
+  public void finish() {
+    WebDAVLocks.close();
+    execute(new DropDB(WebDAVLocks.DB));
+  }
+
+  /**
+   * Detects conflicting locks.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void conflicts() throws IOException {
+    final WebDAVLocks locks = WebDAVLocks.get(context);
+    create(locks, "db/a", EXCL, INF);
+    assertNotNull(locks.locksOn("db/a/b"));
+    assertTrue(locks.conflicting("db/a/b", "owner"));
+    assertTrue(locks.conflicting("db", "owner"));
+    conflict(locks, "db/a/b", SHARED, INF);
+    conflict(locks, "db", EXCL, INF);
+
+    // shared locks
+    create(locks, "db/s", SHARED, INF);
+    create(locks, "db/s", SHARED, INF);
+    conflict(locks, "db/s/t", EXCL, INF);
+
+    // unrelated paths
+    create(locks, "db/b", EXCL, "0");
+    create(locks, "db2/a", EXCL, INF);
+    assertNull(locks.locksOn("db/x"));
+    assertFalse(locks.conflicting("db/x", "owner"));
+  }
+
+  /**
+   * Renews, removes and expires locks.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void expiry() throws IOException {
+    final WebDAVLocks locks = WebDAVLocks.get(context);
+    final String token = create(locks, "db/a", EXCL, INF);
+    locks.refresh(token, context.user());
+    assertNotNull(locks.lock(token));
+    locks.delete(token, context.user());
+    assertNull(locks.lock(token));
+    create(locks, "db/a", EXCL, INF);
+
+    // expired lock
+    final String expired = locks.create("db/b", EXCL, WRITE, INF, "owner", 0L, context.user());
+    assertNull(locks.lock(expired));
+    assertNull(locks.locksOn("db/b"));
+    create(locks, "db/b", EXCL, INF);
+    locks.refresh(expired, context.user());
+    assertNull(locks.lock(expired));
+  }
+
+  /**
+   * Writes locks to the lock database and reads them again.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void persistence() throws IOException {
+    WebDAVLocks locks = WebDAVLocks.get(context);
+    final String token = create(locks, "db/a", EXCL, INF);
+    final String deleted = create(locks, "db/b", EXCL, INF);
+    locks.delete(deleted, context.user());
+    WebDAVLocks.close();
+    assertTrue(context.soptions.dbExists(WebDAVLocks.DB));
+
+    locks = WebDAVLocks.get(context);
+    assertEquals(locks.lock(token), locks.locksOn("db/a"));
+    assertNotNull(locks.lock(token));
+    assertNull(locks.lock(deleted));
+    conflict(locks, "db/a/b", EXCL, INF);
+  }
+
+  /**
+   * Reports write errors with the next update.
+   * @throws Exception exception
+   */
+  @Test
+  public void writeError() throws Exception {
+    execute(new CreateUser(NAME, "password"));
+    try {
+      // user is not allowed to create the lock database
+      final WebDAVLocks locks = WebDAVLocks.get(context);
+      final User user = context.users.get(NAME);
+      locks.create("db/a", EXCL, WRITE, INF, "owner", TIMEOUT, user);
+      for(int i = 0;; i++) {
+        try {
+          locks.create("db/b" + i, EXCL, WRITE, INF, "owner", TIMEOUT, user);
+        } catch(final BaseXException ex) {
+          assertTrue(ex.getMessage(), ex.getMessage().contains("could not be written"));
+          break;
+        }
+        assertTrue("No error reported.", i < 100);
+        Performance.sleep(50);
+      }
+      // writing is retried with the permissions of the admin user
+      locks.refresh(locks.create("db/c", EXCL, WRITE, INF, "owner", TIMEOUT, context.user()),
+          context.user());
+      WebDAVLocks.close();
+      assertTrue(context.soptions.dbExists(WebDAVLocks.DB));
+    } finally {
+      execute(new DropUser(NAME));
+    }
+  }
+
+  /**
+   * Creates a lock.
+   * @param locks lock table
+   * @param path path
+   * @param scope scope
+   * @param depth depth
+   * @return token
+   * @throws IOException I/O exception
+   */
+  private static String create(final WebDAVLocks locks, final String path, final String scope,
+      final String depth) throws IOException {
+    return locks.create(path, scope, WRITE, depth, "owner", TIMEOUT, context.user());
+  }
+
+  /**
+   * Tries to create a conflicting lock.
+   * @param locks lock table
+   * @param path path
+   * @param scope scope
+   * @param depth depth
+   * @throws IOException I/O exception
+   */
+  private static void conflict(final WebDAVLocks locks, final String path, final String scope,
+      final String depth) throws IOException {
+    try {
+      create(locks, path, scope, depth);
+      fail("Conflict expected: " + path);
+    } catch(final BaseXException ex) {
+      assertTrue(ex.getMessage(), ex.getMessage().contains("conflicting"));
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package org.basex.bench;
+
+import java.util.concurrent.*;
+
+import org.basex.core.*;
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for maps, arrays and sequences
+ * ({@link org.basex.query.util.fingertree.FingerTree}).
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectionBenchmark {
+  /** Number of entries. */
+  @Param({ "1000", "100000" })
+  public int size;
+
+  /** Database context. */
+  private Context context;
+
+  /**
+   * Creates the database context.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    context = new Context();
+  }
+
+  /**
+   * Closes the database context.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  /**
+   * Builds a map by adding single entries.
+   * @return number of entries
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long mapPut() throws QueryException {
+    return query("map:size(fold-left(1 to $n, map { }, function($m, $i) { map:put($m, $i, $i) }))");
+  }
+
+  /**
+   * Looks up all entries of a map.
+   * @return checksum
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long mapGet() throws QueryException {
+    return query("let $m := map:merge((1 to $n) ! map { .: . }) return sum((1 to $n) ! $m(.))");
+  }
+
+  /**
+   * Builds an array by appending single members.
+   * @return number of members
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long arrayAppend() throws QueryException {
+    return query("array:size(fold-left(1 to $n, [], array:append#2))");
+  }
+
+  /**
+   * Builds an array by prepending single members and accesses all members.
+   * @return checksum
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long arrayGet() throws QueryException {
+    return query("let $a := fold-left(1 to $n, [], function($a, $i) {"
+        + " array:insert-before($a, 1, $i) }) return sum((1 to $n) ! $a(.))");
+  }
+
+  /**
+   * Builds a sequence by inserting items in the middle and accesses all items.
+   * @return checksum
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long sequenceInsert() throws QueryException {
+    return query("let $s := fold-left(1 to $n, (), function($s, $i) {"
+        + " insert-before($s, count($s) idiv 2, $i) })"
+        + " return sum(for $i in 1 to $n return $s[$i])");
+  }
+
+  /**
+   * Evaluates a query with an integer result.
+   * @param query query string
+   * @return result
+   * @throws QueryException query exception
+   */
+  private long query(final String query) throws QueryException {
+    return ((Item) Database.query(context, query, "n", size)).itr(null);
+  }
+}
@@ -0,0 +1,136 @@
+package org.basex.bench;
+
+import java.io.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.io.in.*;
+import org.basex.io.serial.*;
+import org.basex.query.*;
+import org.basex.query.value.*;
+import org.basex.util.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark state, which creates a disk-based database from a generated auction document
+ * in a temporary database directory. The text, attribute and full-text index are built.
+ * The size of the database can be configured via the {@code size} parameter
+ * (e.g. {@code -p size=1000,10000}), which specifies the number of generated items.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+@State(Scope.Benchmark)
+public class Database {
+  /** Name of the database. */
+  static final String NAME = "bench";
+
+  /** Number of generated items. */
+  @Param({ "1000", "10000" })
+  public int size;
+
+  /** Generated document. */
+  byte[] doc;
+  /** Database context. */
+  Context context;
+  /** Data reference. */
+  Data data;
+  /** Database directory. */
+  private IOFile dir;
+
+  /**
+   * Creates the database.
+   * @throws IOException I/O exception
+   */
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    dir = new IOFile(Prop.TMP, Util.className(Database.class) + '-' + size);
+    dir.delete();
+    Prop.put(StaticOptions.DBPATH, dir.path());
+    context = new Context();
+
+    doc = Generator.auction(size);
+    new Set(MainOptions.FTINDEX, true).execute(context);
+    final CreateDB cmd = new CreateDB(NAME);
+    cmd.setInput(new ArrayInput(doc));
+    cmd.execute(context);
+    data = context.data();
+  }
+
+  /**
+   * Drops the database and closes the context.
+   * @throws IOException I/O exception
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    new Close().execute(context);
+    new DropDB(NAME).execute(context);
+    context.close();
+    Prop.clear();
+    dir.delete();
+  }
+
+  /**
+   * Compiles and evaluates a query.
+   * @param query query string
+   * @param bindings variable bindings (name, value)
+   * @return result
+   * @throws QueryException query exception
+   */
+  Value query(final String query, final Object... bindings) throws QueryException {
+    return query(context, query, bindings);
+  }
+
+  /**
+   * Compiles and evaluates a query.
+   * @param ctx database context
+   * @param query query string
+   * @param bindings variable bindings (name, value)
+   * @return result
+   * @throws QueryException query exception
+   */
+  static Value query(final Context ctx, final String query, final Object... bindings)
+      throws QueryException {
+    // declare external variables
+    final StringBuilder sb = new StringBuilder();
+    for(int b = 0; b < bindings.length; b += 2) {
+      sb.append("declare variable $").append(bindings[b]).append(" external; ");
+    }
+    try(QueryProcessor qp = new QueryProcessor(sb.append(query).toString(), ctx)) {
+      for(int b = 0; b < bindings.length; b += 2) qp.bind((String) bindings[b], bindings[b + 1]);
+      return qp.value();
+    }
+  }
+
+  /**
+   * Serializes a value.
+   * @param value value to serialize
+   * @return number of bytes (the value is consumed to prevent dead-code elimination)
+   * @throws IOException I/O exception
+   */
+  static long serialize(final Value value) throws IOException {
+    final CountOutput out = new CountOutput();
+    try(Serializer ser = Serializer.get(out)) {
+      value.serialize(ser);
+    }
+    return out.count;
+  }
+
+  /** Output stream that counts the written bytes. */
+  private static final class CountOutput extends OutputStream {
+    /** Number of bytes. */
+    private long count;
+
+    @Override
+    public void write(final int value) {
+      count++;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+      count += len;
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package org.basex.bench;
+
+import java.util.*;
+
+import org.basex.util.*;
+
+/**
+ * Generator for auction documents that are modeled after the XMark benchmark.
+ * The documents are deterministic: for a given number of items, the same document will
+ * always be returned.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class Generator {
+  /** Regions. */
+  private static final String[] REGIONS = {
+    "africa", "asia", "australia", "europe", "namerica", "samerica"
+  };
+  /** Words of the generated texts. */
+  static final String[] WORDS = {
+    "gold", "silver", "auction", "antique", "rare", "mint", "condition", "vintage", "original",
+    "signed", "limited", "edition", "collector", "shipping", "payment", "creditcard", "cash",
+    "money", "order", "personal", "check", "wire", "transfer", "bid", "offer", "sale", "price",
+    "damaged", "complete", "boxed", "unused", "new", "old", "small", "large", "heavy", "light",
+    "wood", "metal", "glass", "paper", "cloth", "stone", "leather", "porcelain", "painting"
+  };
+  /** First names. */
+  private static final String[] FIRST = {
+    "Ada", "Alan", "Barbara", "Charles", "Dana", "Edsger", "Frances", "Grace", "John", "Niklaus"
+  };
+  /** Last names. */
+  private static final String[] LAST = {
+    "Lovelace", "Turing", "Liskov", "Babbage", "Scott", "Dijkstra", "Allen", "Hopper", "Wirth"
+  };
+
+  /** Number of items. */
+  private final int items;
+  /** Random generator. */
+  private final Random rnd = new Random(0);
+  /** Document. */
+  private final TokenBuilder tb = new TokenBuilder();
+
+  /**
+   * Constructor.
+   * @param items number of items (the number of persons and auctions is derived from this value)
+   */
+  private Generator(final int items) {
+    this.items = Math.max(1, items);
+  }
+
+  /**
+   * Generates an auction document.
+   * @param items number of items
+   * @return document
+   */
+  public static byte[] auction(final int items) {
+    return new Generator(items).site();
+  }
+
+  /**
+   * Generates the document.
+   * @return document
+   */
+  private byte[] site() {
+    final int persons = persons(), auctions = Math.max(1, items / 2);
+    tb.add("<site><regions>");
+    int id = 0;
+    for(int r = 0; r < REGIONS.length; r++) {
+      tb.add('<').add(REGIONS[r]).add('>');
+      final int max = items * (r + 1) / REGIONS.length;
+      for(; id < max; id++) item(id);
+      tb.add("</").add(REGIONS[r]).add('>');
+    }
+    tb.add("</regions><people>");
+    for(int p = 0; p < persons; p++) person(p);
+    tb.add("</people><open_auctions>");
+    for(int a = 0; a < auctions; a++) openAuction(a);
+    tb.add("</open_auctions><closed_auctions>");
+    for(int a = 0; a < auctions; a++) closedAuction();
+    tb.add("</closed_auctions></site>");
+    return tb.finish();
+  }
+
+  /**
+   * Returns the number of persons.
+   * @return number of persons
+   */
+  private int persons() {
+    return Math.max(1, items / 2);
+  }
+
+  /**
+   * Generates an item.
+   * @param id id of the item
+   */
+  private void item(final int id) {
+    tb.add("<item id=\"item").addInt(id).add("\"");
+    if(rnd.nextInt(4) == 0) tb.add(" featured=\"yes\"");
+    tb.add("><location>").add(REGIONS[rnd.nextInt(REGIONS.length)]).add("</location>");
+    tb.add("<quantity>").addInt(1 + rnd.nextInt(3)).add("</quantity>");
+    tb.add("<name>").add(text(2)).add("</name>");
+    tb.add("<payment>").add(text(3)).add("</payment>");
+    tb.add("<description><parlist>");
+    final int l = 1 + rnd.nextInt(3);
+    for(int i = 0; i < l; i++) {
+      tb.add("<listitem><text>").add(text(5 + rnd.nextInt(20)));
+      if(rnd.nextInt(3) == 0) tb.add(" <keyword>").add(text(1)).add("</keyword>");
+      tb.add("</text></listitem>");
+    }
+    tb.add("</parlist></description><mailbox>");
+    final int m = rnd.nextInt(3);
+    for(int i = 0; i < m; i++) {
+      tb.add("<mail><from>").add(name()).add("</from><to>").add(name()).add("</to>");
+      tb.add("<text>").add(text(10 + rnd.nextInt(20))).add("</text></mail>");
+    }
+    tb.add("</mailbox></item>");
+  }
+
+  /**
+   * Generates a person.
+   * @param id id of the person
+   */
+  private void person(final int id) {
+    tb.add("<person id=\"person").addInt(id).add("\"><name>").add(name()).add("</name>");
+    tb.add("<emailaddress>mailto:person").addInt(id).add("@example.com</emailaddress>");
+    if(rnd.nextBoolean()) {
+      tb.add("<profile income=\"").addInt(10000 + rnd.nextInt(90000)).add(".00\">");
+      final int i = rnd.nextInt(4);
+      for(int c = 0; c < i; c++) {
+        tb.add("<interest category=\"category").addInt(rnd.nextInt(100)).add("\"/>");
+      }
+      tb.add("<age>").addInt(18 + rnd.nextInt(60)).add("</age></profile>");
+    }
+    tb.add("</person>");
+  }
+
+  /**
+   * Generates an open auction.
+   * @param id id of the auction
+   */
+  private void openAuction(final int id) {
+    tb.add("<open_auction id=\"open_auction").addInt(id).add("\">");
+    tb.add("<initial>").add(price()).add("</initial>");
+    final int b = rnd.nextInt(6);
+    for(int i = 0; i < b; i++) {
+      tb.add("<bidder><personref person=\"").add(person()).add("\"/>");
+      tb.add("<increase>").add(price()).add("</increase></bidder>");
+    }
+    tb.add("<current>").add(price()).add("</current>");
+    tb.add("<itemref item=\"").add(item()).add("\"/>");
+    tb.add("<seller person=\"").add(person()).add("\"/>");
+    tb.add("<quantity>1</quantity><type>Regular</type></open_auction>");
+  }
+
+  /**
+   * Generates a closed auction.
+   */
+  private void closedAuction() {
+    tb.add("<closed_auction><seller person=\"").add(person()).add("\"/>");
+    tb.add("<buyer person=\"").add(person()).add("\"/>");
+    tb.add("<itemref item=\"").add(item()).add("\"/>");
+    tb.add("<price>").add(price()).add("</price>");
+    tb.add("<quantity>1</quantity><type>Regular</type>");
+    tb.add("<annotation><description><text>").add(text(5 + rnd.nextInt(10)));
+    tb.add("</text></description></annotation></closed_auction>");
+  }
+
+  /**
+   * Returns a random text.
+   * @param words number of words
+   * @return text
+   */
+  private String text(final int words) {
+    final StringBuilder sb = new StringBuilder();
+    for(int w = 0; w < words; w++) {
+      if(w > 0) sb.append(' ');
+      sb.append(WORDS[rnd.nextInt(WORDS.length)]);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Returns a random name.
+   * @return name
+   */
+  private String name() {
+    return FIRST[rnd.nextInt(FIRST.length)] + ' ' + LAST[rnd.nextInt(LAST.length)];
+  }
+
+  /**
+   * Returns a random price.
+   * @return price
+   */
+  private String price() {
+    return (1 + rnd.nextInt(500)) + "." + (10 + rnd.nextInt(90));
+  }
+
+  /**
+   * Returns a reference to a random person.
+   * @return reference
+   */
+  private String person() {
+    return "person" + rnd.nextInt(persons());
+  }
+
+  /**
+   * Returns a reference to a random item.
+   * @return reference
+   */
+  private String item() {
+    return "item" + rnd.nextInt(items);
+  }
+}
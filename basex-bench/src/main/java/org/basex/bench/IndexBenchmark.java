@@ -0,0 +1,107 @@
+package org.basex.bench;
+
+import static org.basex.util.Token.*;
+
+import java.util.concurrent.*;
+
+import org.basex.index.*;
+import org.basex.index.query.*;
+import org.basex.query.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for the value indexes ({@link org.basex.index.value.DiskValues}) and the
+ * full-text index ({@link org.basex.index.ft.FTIndex}).
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndexBenchmark {
+  /** Number of generated values per kind. */
+  private static final int VALUES = 1000;
+
+  /** Attribute values (person references). */
+  private byte[][] attrs;
+  /** Text values (quantities and locations). */
+  private byte[][] texts;
+
+  /**
+   * Creates the lookup values.
+   * @param db database
+   */
+  @Setup(Level.Trial)
+  public void setup(final Database db) {
+    attrs = new byte[VALUES][];
+    texts = new byte[VALUES][];
+    for(int v = 0; v < VALUES; v++) {
+      attrs[v] = token("person" + v * 7 % Math.max(1, db.size / 2));
+      texts[v] = token(Integer.toString(1 + v % 3));
+    }
+  }
+
+  /**
+   * Looks up attribute values.
+   * @param db database
+   * @return number of results
+   */
+  @Benchmark
+  public long attributes(final Database db) {
+    return lookup(db, IndexType.ATTRIBUTE, attrs);
+  }
+
+  /**
+   * Looks up text values.
+   * @param db database
+   * @return number of results
+   */
+  @Benchmark
+  public long texts(final Database db) {
+    return lookup(db, IndexType.TEXT, texts);
+  }
+
+  /**
+   * Performs full-text queries.
+   * @param db database
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long fulltext(final Database db) throws QueryException {
+    return db.query("ft:search($db, $terms, map { 'mode': 'all words' })",
+        "db", Database.NAME, "terms", "gold silver").size();
+  }
+
+  /**
+   * Performs full-text queries with wildcards.
+   * @param db database
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long wildcards(final Database db) throws QueryException {
+    return db.query("ft:search($db, $terms, map { 'wildcards': true() })",
+        "db", Database.NAME, "terms", "co.*").size();
+  }
+
+  /**
+   * Performs index lookups.
+   * @param db database
+   * @param type index type
+   * @param values values to be looked up
+   * @return number of results
+   */
+  private static long lookup(final Database db, final IndexType type, final byte[][] values) {
+    long sum = 0;
+    for(final byte[] value : values) {
+      final IndexIterator iter = db.data.iter(new StringToken(type, value));
+      while(iter.more()) sum += iter.pre();
+    }
+    return sum;
+  }
+}
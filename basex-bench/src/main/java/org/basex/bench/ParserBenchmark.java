@@ -0,0 +1,51 @@
+package org.basex.bench;
+
+import java.io.*;
+import java.util.concurrent.*;
+
+import org.basex.build.*;
+import org.basex.build.xml.*;
+import org.basex.core.*;
+import org.basex.io.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for parsing XML documents ({@link XMLParser}, {@code XMLScanner}) and building
+ * main-memory databases.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+  /** Number of generated items. */
+  @Param({ "1000", "10000" })
+  public int size;
+
+  /** Generated document. */
+  private byte[] doc;
+
+  /**
+   * Generates the document.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    doc = Generator.auction(size);
+  }
+
+  /**
+   * Parses the document and builds a main-memory database.
+   * @return number of nodes
+   * @throws IOException I/O exception
+   */
+  @Benchmark
+  public int parse() throws IOException {
+    final Parser parser = new XMLParser(new IOContent(doc), new MainOptions());
+    return MemBuilder.build(Database.NAME, parser).meta.size;
+  }
+}
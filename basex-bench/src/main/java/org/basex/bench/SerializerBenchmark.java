@@ -0,0 +1,59 @@
+package org.basex.bench;
+
+import java.io.*;
+import java.util.concurrent.*;
+
+import org.basex.query.*;
+import org.basex.query.value.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for serializing database nodes and atomic values
+ * ({@link org.basex.io.serial.OutputSerializer}).
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializerBenchmark {
+  /** Document node. */
+  private Value document;
+  /** Texts of the database. */
+  private Value texts;
+
+  /**
+   * Retrieves the values to be serialized.
+   * @param db database
+   * @throws QueryException query exception
+   */
+  @Setup(Level.Trial)
+  public void setup(final Database db) throws QueryException {
+    document = db.query("db:open($db)", "db", Database.NAME);
+    texts = db.query("db:open($db)//text() ! string()", "db", Database.NAME);
+  }
+
+  /**
+   * Serializes the document.
+   * @return number of bytes
+   * @throws IOException I/O exception
+   */
+  @Benchmark
+  public long document() throws IOException {
+    return Database.serialize(document);
+  }
+
+  /**
+   * Serializes strings.
+   * @return number of bytes
+   * @throws IOException I/O exception
+   */
+  @Benchmark
+  public long strings() throws IOException {
+    return Database.serialize(texts);
+  }
+}
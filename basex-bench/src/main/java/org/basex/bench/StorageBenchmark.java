@@ -0,0 +1,89 @@
+package org.basex.bench;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.data.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+/**
+ * Benchmarks for reading the table and the text heaps of a disk-based database
+ * ({@link org.basex.io.random.TableDiskAccess}).
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageBenchmark {
+  /** Number of random accesses per invocation. */
+  private static final int ACCESSES = 10000;
+
+  /** Random pre values. */
+  private int[] pres;
+
+  /**
+   * Chooses random pre values.
+   * @param db database
+   */
+  @Setup(Level.Trial)
+  public void setup(final Database db) {
+    final Random rnd = new Random(0);
+    final int size = db.data.meta.size;
+    pres = new int[ACCESSES];
+    for(int p = 0; p < ACCESSES; p++) pres[p] = rnd.nextInt(size);
+  }
+
+  /**
+   * Scans the table sequentially and reads kinds, sizes and name ids.
+   * @param db database
+   * @return checksum
+   */
+  @Benchmark
+  public long scan(final Database db) {
+    final Data data = db.data;
+    final int size = data.meta.size;
+    long sum = 0;
+    for(int pre = 0; pre < size; pre++) {
+      final int kind = data.kind(pre);
+      sum += data.size(pre, kind);
+      if(kind == Data.ELEM) sum += data.nameId(pre);
+    }
+    return sum;
+  }
+
+  /**
+   * Walks from random nodes to the root.
+   * @param db database
+   * @return checksum
+   */
+  @Benchmark
+  public long parents(final Database db) {
+    final Data data = db.data;
+    long sum = 0;
+    for(final int p : pres) {
+      for(int pre = p; pre != -1; pre = data.parent(pre, data.kind(pre))) sum += pre;
+    }
+    return sum;
+  }
+
+  /**
+   * Reads the values of random text and attribute nodes.
+   * @param db database
+   * @param bh black hole
+   */
+  @Benchmark
+  public void texts(final Database db, final Blackhole bh) {
+    final Data data = db.data;
+    for(final int pre : pres) {
+      final int kind = data.kind(pre);
+      if(kind == Data.TEXT) bh.consume(data.text(pre, true));
+      else if(kind == Data.ATTR) bh.consume(data.text(pre, false));
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package org.basex.bench;
+
+import java.io.*;
+import java.util.concurrent.*;
+
+import org.basex.query.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * End-to-end benchmarks: XMark queries, which are compiled, evaluated and serialized.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XMarkBenchmark {
+  /** Queries (adapted from the XMark benchmark). */
+  private static final String[] QUERIES = {
+    // Q1: exact match
+    "for $b in /site/people/person[@id = 'person0'] return $b/name/text()",
+    // Q2: ordered access
+    "for $b in /site/open_auctions/open_auction return <increase>{ $b/bidder[1]/increase/text() }"
+      + "</increase>",
+    // Q5: casting
+    "count(for $i in /site/closed_auctions/closed_auction where $i/price/text() >= 40 "
+      + "return $i/price)",
+    // Q6: regular path expressions
+    "for $b in //site/regions return count($b//item)",
+    // Q8: join on values
+    "for $p in /site/people/person let $a := for $t in /site/closed_auctions/closed_auction "
+      + "where $t/buyer/@person = $p/@id return $t "
+      + "return <item person='{ $p/name/text() }'>{ count($a) }</item>",
+    // Q14: full-text search
+    "for $i in /site//item where contains(string(exactly-one($i/description)), 'gold') "
+      + "return $i/name/text()",
+    // Q17: missing elements
+    "for $a in /site/people/person where empty($a/profile/@income) "
+      + "return <person>{ $a/name/text() }</person>",
+    // Q19: sorting
+    "for $b in /site/regions//item let $k := $b/name/text() order by $b/location return "
+      + "<item name='{ $k }'>{ $b/location/text() }</item>",
+    // Q20: aggregation
+    "let $p := /site/people/person/profile return <result><preferred>{ count($p[@income >= 100000])"
+      + " }</preferred><standard>{ count($p[@income < 100000 and @income >= 30000]) }</standard>"
+      + "<challenge>{ count($p[@income < 30000]) }</challenge><na>{ count(/site/people/person"
+      + "[empty(profile/@income)]) }</na></result>",
+  };
+
+  /** Query number (offset in the query array). */
+  @Param({ "0", "1", "2", "3", "4", "5", "6", "7", "8" })
+  public int query;
+
+  /**
+   * Runs a query.
+   * @param db database
+   * @return number of serialized bytes
+   * @throws QueryException query exception
+   * @throws IOException I/O exception
+   */
+  @Benchmark
+  public long query(final Database db) throws QueryException, IOException {
+    return Database.serialize(db.query(QUERIES[query]));
+  }
+}
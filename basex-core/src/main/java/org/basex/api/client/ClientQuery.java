@@ -1,6 +1,7 @@
 package org.basex.api.client;
 
 import java.io.*;
+import java.util.concurrent.*;
 
 import org.basex.api.dom.*;
 import org.basex.core.*;
@@ -24,8 +25,8 @@ import org.basex.util.*;
 public class ClientQuery extends Query {
   /** Client session. */
   final ClientSession cs;
-  /** Query id. */
-  final String id;
+  /** Response with the query id. */
+  private final ClientResponse id;
 
   /**
    * Standard constructor.
@@ -38,27 +39,38 @@ public class ClientQuery extends Query {
       throws IOException {
     cs = session;
     out = output;
-    id = session.exec(ServerCmd.QUERY, query, null);
+    // the query id will be requested when it is needed for the first time
+    id = session.execAsync(ServerCmd.QUERY, query, null, false);
+  }
+
+  /**
+   * Returns the query id.
+   * @return query id
+   * @throws IOException I/O exception
+   */
+  private String id() throws IOException {
+    return id.value();
   }
 
   @Override
   public String info() throws IOException {
-    return cs.exec(ServerCmd.INFO, id, null);
+    return cs.exec(ServerCmd.INFO, id(), null);
   }
 
   @Override
   public String options() throws IOException {
-    return cs.exec(ServerCmd.OPTIONS, id, null);
+    return cs.exec(ServerCmd.OPTIONS, id(), null);
   }
 
   @Override
   public boolean updating() throws IOException {
-    return Boolean.parseBoolean(cs.exec(ServerCmd.UPDATING, id, null));
+    return Boolean.parseBoolean(cs.exec(ServerCmd.UPDATING, id(), null));
   }
 
   @Override
   public void bind(final String name, final Object value, final String type) throws IOException {
     cache = null;
+    pending = false;
 
     final Object vl = value  instanceof BXNode ? ((BXNode) value).getNode() : value;
     String t = type == null ? "" : type;
@@ -89,7 +101,7 @@ public class ClientQuery extends Query {
 
     final ServerCmd cmd = name == null ? ServerCmd.CONTEXT : ServerCmd.BIND;
     final String n = name == null ? "" : name + '\0';
-    cs.exec(cmd, id + '\0' + n + v + '\0' + t, null);
+    cs.exec(cmd, id() + '\0' + n + v + '\0' + t, null);
   }
 
   @Override
@@ -99,23 +111,56 @@ public class ClientQuery extends Query {
 
   @Override
   public String execute() throws IOException {
-    return cs.exec(ServerCmd.EXEC, id, out);
+    pending = false;
+    return cs.exec(ServerCmd.EXEC, id(), out);
   }
 
+  /**
+   * Sends a request for executing the query without waiting for the response.
+   * The result will always be returned as string.
+   * @return result of the query
+   * @throws IOException I/O exception
+   */
+  public Future<String> executeAsync() throws IOException {
+    pending = false;
+    return cs.execAsync(ServerCmd.EXEC, id(), null, false);
+  }
+
+  /**
+   * Closes the query. The request is pipelined: the response will be read together with the
+   * response of the next request, and errors will be reported by the next synchronous request.
+   * @throws IOException I/O exception
+   */
   @Override
   public void close() throws IOException {
-    cs.exec(ServerCmd.CLOSE, id, null);
+    pending = false;
+    cs.execAsync(ServerCmd.CLOSE, id(), null, true);
   }
 
   @Override
   public void cache(final boolean full) throws IOException {
-    cs.sout.write((full ? ServerCmd.FULL : ServerCmd.RESULTS).code);
-    cs.send(id);
-    cs.sout.flush();
-
-    @SuppressWarnings("resource")
-    final BufferInput bi = new BufferInput(cs.sin);
-    cache(bi, full);
-    if(!ClientSession.ok(bi)) throw new BaseXException(bi.readString());
+    // retrieve results in batches if limits have been specified
+    final boolean batch = !full && (batchItems > 0 || batchBytes > 0);
+    final String qid = id();
+    cs.submit(new ClientResponse(cs, qid) {
+      @Override
+      void send() throws IOException {
+        cs.sout.write((batch ? ServerCmd.FETCH : full ? ServerCmd.FULL : ServerCmd.RESULTS).code);
+        cs.send(qid);
+        if(batch) {
+          cs.send(Integer.toString(batchItems));
+          cs.send(Long.toString(batchBytes));
+        }
+      }
+
+      @Override
+      String read(final BufferInput in) throws IOException {
+        cache(in, full);
+        pending = false;
+        if(!ClientSession.ok(in)) throw new BaseXException(in.readString());
+        pending = batch && in.read() == 1;
+        return null;
+      }
+    }).value();
   }
 }
@@ -0,0 +1,137 @@
+package org.basex.api.client;
+
+import java.io.*;
+import java.util.concurrent.*;
+
+import org.basex.core.*;
+import org.basex.io.in.*;
+
+/**
+ * Response of a request that has been sent to the server by a {@link ClientSession}.
+ * As requests are pipelined, the response will be read when its result is requested,
+ * or when the result of a subsequent request is requested.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+abstract class ClientResponse implements Future<String> {
+  /** Client session. */
+  final ClientSession cs;
+  /** Maximum number of bytes of the request. */
+  final long size;
+
+  /** Indicates if errors will be reported by the next synchronous request. */
+  boolean deferred;
+  /** Result. */
+  private String result;
+  /** Error. */
+  private IOException error;
+  /** Indicates if the response has been read. */
+  private volatile boolean done;
+
+  /**
+   * Constructor.
+   * @param cs client session
+   * @param args string arguments of the request (used to compute the maximum request size)
+   */
+  ClientResponse(final ClientSession cs, final String... args) {
+    this.cs = cs;
+    // command byte, UTF-8 encoded strings (max. 3 bytes per char), terminating zero bytes
+    long sz = 1;
+    for(final String arg : args) sz += arg.length() * 3L + 1;
+    size = sz;
+  }
+
+  /**
+   * Sends the request. The output stream will be flushed by the caller.
+   * @throws IOException I/O exception
+   */
+  abstract void send() throws IOException;
+
+  /**
+   * Reads the response.
+   * @param in server input
+   * @return result
+   * @throws IOException I/O exception
+   */
+  abstract String read(BufferInput in) throws IOException;
+
+  /**
+   * Reads the response from the server input and assigns the result or error.
+   * @param in server input
+   * @throws IOException I/O exception that invalidates the session
+   */
+  final void receive(final BufferInput in) throws IOException {
+    try {
+      result = read(in);
+    } catch(final BaseXException ex) {
+      // error returned by the server: the session can still be used
+      error = ex;
+      if(deferred) cs.error(ex);
+    } catch(final IOException ex) {
+      error = ex;
+      throw ex;
+    } finally {
+      done = true;
+    }
+  }
+
+  /**
+   * Assigns an error, which invalidates the response.
+   * @param ex exception
+   */
+  final void fail(final IOException ex) {
+    error = ex;
+    done = true;
+  }
+
+  /**
+   * Waits for the response and returns the result. Errors of previous pipelined requests,
+   * whose results have not been requested, will be reported first.
+   * @return result
+   * @throws IOException I/O exception
+   */
+  final String value() throws IOException {
+    cs.await(this, -1);
+    cs.checkError();
+    if(error != null) throw error;
+    return result;
+  }
+
+  @Override
+  public final String get() throws ExecutionException {
+    try {
+      return value();
+    } catch(final IOException ex) {
+      throw new ExecutionException(ex);
+    }
+  }
+
+  @Override
+  public final String get(final long timeout, final TimeUnit unit)
+      throws ExecutionException, TimeoutException {
+    try {
+      if(!cs.await(this, unit.toMillis(timeout))) throw new TimeoutException();
+      if(error != null) throw error;
+      return result;
+    } catch(final IOException ex) {
+      throw new ExecutionException(ex);
+    }
+  }
+
+  @Override
+  public final boolean isDone() {
+    return done;
+  }
+
+  @Override
+  public final boolean cancel(final boolean interrupt) {
+    // requests cannot be cancelled once they have been sent
+    return false;
+  }
+
+  @Override
+  public final boolean isCancelled() {
+    return false;
+  }
+}
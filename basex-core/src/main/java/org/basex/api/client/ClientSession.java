@@ -2,6 +2,9 @@ package org.basex.api.client;
 
 import java.io.*;
 import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
 
 import org.basex.core.*;
 import org.basex.core.parse.Commands.Cmd;
@@ -25,17 +28,43 @@ import org.basex.util.*;
  * command to the server.</li>
  * </ul>
  *
+ * <p>Requests can be pipelined: {@link #executeAsync(String)} and
+ * {@link ClientQuery#executeAsync()} send a request without waiting for the response of
+ * previous requests. As the server processes the requests of a session one by one,
+ * the responses are read in the order in which the requests were sent. The number of pending
+ * responses is limited: if the limit is reached, the oldest responses are read before the next
+ * request is sent. Otherwise, the server could block while sending responses, and stop reading
+ * requests. Errors of pipelined requests whose results are not requested (such as closing a
+ * query) are reported by the next synchronous request.</p>
+ *
  * @author BaseX Team 2005-17, BSD License
  * @author Christian Gruen
  */
 public class ClientSession extends Session {
+  /** Maximum number of pending responses. */
+  private static final int MAX_PENDING = 1 << 5;
+  /**
+   * Maximum number of bytes of pipelined requests. Requests will only be sent without reading
+   * pending responses if they fit into the socket buffers: otherwise, the client might block
+   * while sending a request, and the server might block while sending a previous response.
+   */
+  private static final long MAX_BYTES = 1 << 15;
+
   /** Server output (buffered). */
   final PrintOutput sout;
-  /** Server input. */
-  final InputStream sin;
+  /** Server input (buffered). */
+  final BufferInput sin;
 
   /** Socket reference. */
   private final Socket socket;
+  /** Responses that have not been read yet, in the order in which the requests were sent. */
+  private final ArrayDeque<ClientResponse> responses = new ArrayDeque<>();
+  /** Maximum number of bytes of the requests whose responses have not been read yet. */
+  private long pending;
+  /** Lock for reading responses. */
+  private final ReentrantLock reader = new ReentrantLock();
+  /** Error of a pipelined request that has not been reported yet (can be {@code null}). */
+  private IOException error;
 
   /**
    * Constructor, specifying login data.
@@ -97,11 +126,12 @@ public class ClientSession extends Session {
     } catch(final IllegalArgumentException ex) {
       throw new BaseXException(ex);
     }
-    sin = socket.getInputStream();
+    // requests and responses are buffered and flushed explicitly
+    socket.setTcpNoDelay(true);
+    sin = new BufferInput(socket.getInputStream());
 
     // receive server response
-    final BufferInput bi = new BufferInput(sin);
-    final String[] response = Strings.split(bi.readString(), ':');
+    final String[] response = Strings.split(sin.readString(), ':');
     final String code, nonce;
     if(response.length > 1) {
       // support for digest authentication
@@ -120,7 +150,7 @@ public class ClientSession extends Session {
     sout.flush();
 
     // receive success flag
-    if(!ok(bi)) throw new LoginException();
+    if(!ok(sin)) throw new LoginException();
   }
 
   @Override
@@ -155,9 +185,17 @@ public class ClientSession extends Session {
 
   @Override
   protected void execute(final String command, final OutputStream output) throws IOException {
-    send(command);
-    sout.flush();
-    receive(output);
+    command(command, output).value();
+  }
+
+  /**
+   * Sends a command to the server without waiting for the response.
+   * @param command command to be parsed
+   * @return result of the command
+   * @throws IOException I/O exception
+   */
+  public Future<String> executeAsync(final String command) throws IOException {
+    return command(command, new ArrayOutput());
   }
 
   @Override
@@ -166,29 +204,126 @@ public class ClientSession extends Session {
   }
 
   /**
-   * Sends the specified stream to the server.
-   * @param input input stream
+   * Sends a command and returns the response.
+   * @param command command to be parsed
+   * @param output output stream for the result
+   * @return response
    * @throws IOException I/O exception
    */
-  private void send(final InputStream input) throws IOException {
-    final ServerOutput so = new ServerOutput(sout);
-    for(int b; (b = input.read()) != -1;) so.write(b);
-    sout.write(0);
-    sout.flush();
-    receive(null);
+  private ClientResponse command(final String command, final OutputStream output)
+      throws IOException {
+    return submit(new ClientResponse(this, command) {
+      @Override
+      void send() throws IOException {
+        ClientSession.this.send(command);
+      }
+
+      @Override
+      String read(final BufferInput in) throws IOException {
+        ClientSession.receive(in, output);
+        info(in);
+        return output instanceof ArrayOutput ? output.toString() : null;
+      }
+    });
   }
 
   /**
    * Receives the info string.
-   * @param output output stream to send result to. If {@code null}, no result will be requested
+   * @param in server input
    * @throws IOException I/O exception
    */
-  @SuppressWarnings("resource")
-  private void receive(final OutputStream output) throws IOException {
-    final BufferInput bi = new BufferInput(sin);
-    if(output != null) receive(bi, output);
-    info = bi.readString();
-    if(!ok(bi)) throw new BaseXException(info);
+  private void info(final BufferInput in) throws IOException {
+    info = in.readString();
+    if(!ok(in)) throw new BaseXException(info);
+  }
+
+  /**
+   * Sends a request to the server and registers the response, which will be read as soon
+   * as its result, or the result of a subsequent request, is requested. If the maximum number
+   * of pending responses or the maximum size of pending requests is reached, the oldest
+   * responses will be read first.
+   * @param response response
+   * @return response
+   * @throws IOException I/O exception
+   */
+  final ClientResponse submit(final ClientResponse response) throws IOException {
+    while(true) {
+      final ClientResponse oldest;
+      synchronized(responses) {
+        if(responses.isEmpty() || responses.size() < MAX_PENDING &&
+            pending + response.size <= MAX_BYTES) {
+          response.send();
+          sout.flush();
+          responses.add(response);
+          pending += response.size;
+          return response;
+        }
+        oldest = responses.peek();
+      }
+      await(oldest, -1);
+    }
+  }
+
+  /**
+   * Registers the error of a pipelined request whose result will not be requested.
+   * @param ex exception
+   */
+  final synchronized void error(final IOException ex) {
+    if(error == null) error = ex;
+  }
+
+  /**
+   * Throws the error of a previous pipelined request, if any.
+   * @throws IOException I/O exception
+   */
+  final synchronized void checkError() throws IOException {
+    final IOException ex = error;
+    if(ex != null) {
+      error = null;
+      throw ex;
+    }
+  }
+
+  /**
+   * Waits until the specified response has been read.
+   * The responses of all previous requests will be read as well.
+   * @param response response
+   * @param timeout maximum time to wait for other threads that are reading responses
+   *   (milliseconds; {@code -1}: no timeout)
+   * @return {@code false} if the timeout was exceeded
+   * @throws IOException I/O exception
+   */
+  final boolean await(final ClientResponse response, final long timeout) throws IOException {
+    if(response.isDone()) return true;
+    try {
+      if(timeout < 0) reader.lock();
+      else if(!reader.tryLock(timeout, TimeUnit.MILLISECONDS)) return false;
+    } catch(final InterruptedException ex) {
+      throw new InterruptedIOException(ex.getMessage());
+    }
+    try {
+      while(!response.isDone()) {
+        final ClientResponse next;
+        synchronized(responses) {
+          next = responses.poll();
+          pending -= next.size;
+        }
+        try {
+          next.receive(sin);
+        } catch(final IOException ex) {
+          // stream is corrupt: invalidate all pending responses
+          synchronized(responses) {
+            for(final ClientResponse rsp : responses) rsp.fail(ex);
+            responses.clear();
+            pending = 0;
+          }
+          throw ex;
+        }
+      }
+    } finally {
+      reader.unlock();
+    }
+    return true;
   }
 
   /**
@@ -211,9 +346,29 @@ public class ClientSession extends Session {
   private void send(final ServerCmd command, final InputStream input, final String... args)
       throws IOException {
 
-    sout.write(command.code);
-    for(final String arg : args) send(arg);
-    send(input);
+    // read pending responses first: otherwise, the server may block while sending them
+    final ClientResponse last;
+    synchronized(responses) {
+      last = responses.peekLast();
+    }
+    if(last != null) await(last, -1);
+
+    submit(new ClientResponse(this, args) {
+      @Override
+      void send() throws IOException {
+        sout.write(command.code);
+        for(final String arg : args) ClientSession.this.send(arg);
+        final ServerOutput so = new ServerOutput(sout);
+        for(int b; (b = input.read()) != -1;) so.write(b);
+        sout.write(0);
+      }
+
+      @Override
+      String read(final BufferInput in) throws IOException {
+        info(in);
+        return null;
+      }
+    }).value();
   }
 
   /**
@@ -245,18 +400,40 @@ public class ClientSession extends Session {
    * @return string
    * @throws IOException I/O exception
    */
-  @SuppressWarnings("resource")
   String exec(final ServerCmd command, final String arg, final OutputStream output)
       throws IOException {
+    return execAsync(command, arg, output, false).value();
+  }
 
-    final OutputStream o = output == null ? new ArrayOutput() : output;
-    sout.write(command.code);
-    send(arg);
-    sout.flush();
-    final BufferInput bi = new BufferInput(sin);
-    receive(bi, o);
-    if(!ok(bi)) throw new BaseXException(bi.readString());
-    return o.toString();
+  /**
+   * Sends a server command without waiting for the response.
+   * @param command server command
+   * @param arg argument
+   * @param output target output stream (if {@code null}, the result will be returned as string)
+   * @param deferred report errors with the next synchronous request
+   * @return response
+   * @throws IOException I/O exception
+   */
+  ClientResponse execAsync(final ServerCmd command, final String arg, final OutputStream output,
+      final boolean deferred) throws IOException {
+
+    final ClientResponse response = new ClientResponse(this, arg) {
+      @Override
+      void send() throws IOException {
+        sout.write(command.code);
+        ClientSession.this.send(arg);
+      }
+
+      @Override
+      String read(final BufferInput in) throws IOException {
+        final OutputStream o = output == null ? new ArrayOutput() : output;
+        ClientSession.receive(in, o);
+        if(!ok(in)) throw new BaseXException(in.readString());
+        return o.toString();
+      }
+    };
+    response.deferred = deferred;
+    return submit(response);
   }
 
   @Override
@@ -2,6 +2,7 @@ package org.basex.api.client;
 
 import java.io.*;
 
+import org.basex.core.*;
 import org.basex.io.in.*;
 import org.basex.query.value.type.*;
 import org.basex.query.value.type.Type.ID;
@@ -16,6 +17,9 @@ import org.basex.util.list.*;
  * stream that has been specified via the constructor or via
  * {@link Session#setOutputStream(OutputStream)}.</p>
  *
+ * <p>By default, all results will be cached by {@link #more()}. With {@link #batch(int, long)},
+ * client queries can be instructed to retrieve results in batches.</p>
+ *
  * @author BaseX Team 2005-17, BSD License
  * @author Christian Gruen
  */
@@ -24,6 +28,12 @@ public abstract class Query implements Closeable {
   protected OutputStream out;
   /** Cached results. */
   protected TokenList cache;
+  /** Maximum number of items per batch ({@code 0}: no limit). */
+  protected int batchItems;
+  /** Maximum number of bytes per batch ({@code 0}: no limit). */
+  protected long batchBytes;
+  /** Indicates if more results can be retrieved. */
+  protected boolean pending;
 
   /** Cached result types. */
   private ByteList types;
@@ -72,13 +82,32 @@ public abstract class Query implements Closeable {
    * @throws IOException I/O exception
    */
   public boolean more() throws IOException {
-    if(cache == null) cache(false);
-    if(pos < cache.size()) return true;
-    cache = null;
-    types = null;
+    do {
+      if(cache == null) cache(false);
+      if(pos < cache.size()) return true;
+      cache = null;
+      types = null;
+    } while(pending);
     return false;
   }
 
+  /**
+   * Specifies how many results will be retrieved at a time by {@link #more()}.
+   * If at least one limit is specified, the next results will only be computed and sent
+   * after all cached results have been consumed. The query will be kept open, and its locks
+   * will be held, until all results have been returned, or until the query is closed:
+   * meanwhile, no other commands or queries can be evaluated by the same session. If the
+   * next results are not requested within the query timeout ({@link StaticOptions#TIMEOUT}),
+   * the query will be closed by the server. Batches are only supported by client queries.
+   * @param items maximum number of items per batch ({@code 0}: no limit)
+   * @param bytes maximum number of bytes per batch ({@code 0}: no limit; the last item of a
+   *   batch will always be returned completely)
+   */
+  public final void batch(final int items, final long bytes) {
+    batchItems = Math.max(0, items);
+    batchBytes = Math.max(0, bytes);
+  }
+
   /**
    * Caches the query result.
    * @param full retrieve full type information
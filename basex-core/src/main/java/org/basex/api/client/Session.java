@@ -21,8 +21,8 @@ import org.basex.io.out.*;
 public abstract class Session implements Closeable {
   /** Client output stream. */
   protected OutputStream out;
-  /** Command info. */
-  protected String info = "";
+  /** Command info (may be assigned by other threads if requests are pipelined). */
+  protected volatile String info = "";
 
   /**
    * Executes a {@link Command} and returns the result as string or serializes
@@ -6,6 +6,7 @@ import static org.basex.util.Token.*;
 
 import java.io.*;
 
+import org.basex.core.*;
 import org.basex.core.jobs.*;
 import org.basex.data.*;
 import org.basex.index.name.*;
@@ -25,6 +26,17 @@ import org.basex.util.list.*;
  * @author Christian Gruen
  */
 public abstract class Builder extends Job {
+  /** Event: opening document. */
+  static final int OPEN_DOC = 8;
+  /** Event: closing document. */
+  static final int CLOSE_DOC = 9;
+  /** Event: opening element. */
+  static final int OPEN_ELEM = 10;
+  /** Event: empty element. */
+  static final int EMPTY_ELEM = 11;
+  /** Event: closing element. */
+  static final int CLOSE_ELEM = 12;
+
   /** Tree structure. */
   final PathIndex path = new PathIndex();
   /** Namespace index. */
@@ -52,6 +64,8 @@ public abstract class Builder extends Job {
   private final IntList elemStack = new IntList();
   /** Current tree height. */
   private int level;
+  /** Pipe to the parser thread ({@code null} if the input is parsed in the current thread). */
+  private ParserPipe pipe;
 
   /**
    * Constructor.
@@ -74,7 +88,16 @@ public abstract class Builder extends Job {
     Util.debug(shortInfo() + DOTS);
     try {
       // add document node and parse document
-      parser.parse(this);
+      if(parser.options.get(MainOptions.ASYNCPARSE)) {
+        pipe = new ParserPipe(this, parser);
+        try {
+          pipe.run();
+        } finally {
+          pipe = null;
+        }
+      } else {
+        parser.parse(this);
+      }
     } finally {
       parser.close();
     }
@@ -89,10 +112,7 @@ public abstract class Builder extends Job {
    * @throws IOException I/O exception
    */
   public final void openDoc(final byte[] value) throws IOException {
-    path.index(0, Data.DOC, level);
-    parStack.set(level++, meta.size);
-    addDoc(value);
-    nspaces.open();
+    event(OPEN_DOC, value, null, null);
   }
 
   /**
@@ -100,10 +120,7 @@ public abstract class Builder extends Job {
    * @throws IOException I/O exception
    */
   public final void closeDoc() throws IOException {
-    final int pre = parStack.get(--level);
-    setSize(pre, meta.size - pre);
-    ++meta.ndocs;
-    nspaces.close(meta.size);
+    event(CLOSE_DOC, null, null, null);
   }
 
   /**
@@ -114,8 +131,7 @@ public abstract class Builder extends Job {
    * @throws IOException I/O exception
    */
   public final void openElem(final byte[] name, final Atts att, final Atts nsp) throws IOException {
-    addElem(name, att, nsp);
-    ++level;
+    event(OPEN_ELEM, name, att, nsp);
   }
 
   /**
@@ -127,10 +143,7 @@ public abstract class Builder extends Job {
    */
   public final void emptyElem(final byte[] name, final Atts att, final Atts nsp)
       throws IOException {
-    addElem(name, att, nsp);
-    final int pre = parStack.get(level);
-    nspaces.close(pre);
-    if(att.size() > IO.MAXATTS) setSize(pre, meta.size - pre);
+    event(EMPTY_ELEM, name, att, nsp);
   }
 
   /**
@@ -138,11 +151,7 @@ public abstract class Builder extends Job {
    * @throws IOException I/O exception
    */
   public final void closeElem() throws IOException {
-    checkStop();
-    --level;
-    final int pre = parStack.get(level);
-    setSize(pre, meta.size - pre);
-    nspaces.close(pre);
+    event(CLOSE_ELEM, null, null, null);
   }
 
   /**
@@ -151,7 +160,7 @@ public abstract class Builder extends Job {
    * @throws IOException I/O exception
    */
   public final void text(final byte[] value) throws IOException {
-    if(value.length != 0) addText(value, Data.TEXT);
+    if(value.length != 0) event(Data.TEXT, value, null, null);
   }
 
   /**
@@ -160,7 +169,7 @@ public abstract class Builder extends Job {
    * @throws IOException I/O exception
    */
   public final void comment(final byte[] value) throws IOException {
-    addText(value, Data.COMM);
+    event(Data.COMM, value, null, null);
   }
 
   /**
@@ -169,7 +178,7 @@ public abstract class Builder extends Job {
    * @throws IOException I/O exception
    */
   public final void pi(final byte[] pi) throws IOException {
-    addText(pi, Data.PI);
+    event(Data.PI, pi, null, null);
   }
 
   // PROGRESS INFORMATION =====================================================
@@ -255,6 +264,67 @@ public abstract class Builder extends Job {
 
   // PRIVATE METHODS ==========================================================
 
+  /**
+   * Passes on a parser event to the pipe, or processes it.
+   * @param event event type
+   * @param value name or value (can be {@code null})
+   * @param att attributes (can be {@code null})
+   * @param nsp namespaces (can be {@code null})
+   * @throws IOException I/O exception
+   */
+  private void event(final int event, final byte[] value, final Atts att, final Atts nsp)
+      throws IOException {
+    if(pipe != null) pipe.add(event, value, att, nsp);
+    else process(event, value, att, nsp);
+  }
+
+  /**
+   * Processes a parser event.
+   * @param event event type
+   * @param value name or value (can be {@code null})
+   * @param att attributes (can be {@code null})
+   * @param nsp namespaces (can be {@code null})
+   * @throws IOException I/O exception
+   */
+  final void process(final int event, final byte[] value, final Atts att, final Atts nsp)
+      throws IOException {
+
+    final int pre;
+    switch(event) {
+      case OPEN_DOC:
+        path.index(0, Data.DOC, level);
+        parStack.set(level++, meta.size);
+        addDoc(value);
+        nspaces.open();
+        break;
+      case CLOSE_DOC:
+        pre = parStack.get(--level);
+        setSize(pre, meta.size - pre);
+        ++meta.ndocs;
+        nspaces.close(meta.size);
+        break;
+      case OPEN_ELEM:
+        addElem(value, att, nsp);
+        ++level;
+        break;
+      case EMPTY_ELEM:
+        addElem(value, att, nsp);
+        pre = parStack.get(level);
+        nspaces.close(pre);
+        if(att.size() > IO.MAXATTS) setSize(pre, meta.size - pre);
+        break;
+      case CLOSE_ELEM:
+        checkStop();
+        --level;
+        pre = parStack.get(level);
+        setSize(pre, meta.size - pre);
+        nspaces.close(pre);
+        break;
+      default:
+        addText(value, (byte) event);
+    }
+  }
+
   /**
    * Adds an element node to the storage.
    * @param name element name
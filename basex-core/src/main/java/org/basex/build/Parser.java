@@ -122,7 +122,8 @@ public abstract class Parser extends Job {
     switch(mp) {
       case HTML: p = new HtmlParser(source, options); break;
       case TEXT: p = new TextParser(source, options); break;
-      case JSON: p = new JsonParser(source, options); break;
+      case JSON: p = options.get(MainOptions.JSONPARSER).get(JsonParserOptions.LINES) ?
+        new JsonLinesParser(source, options) : new JsonParser(source, options); break;
       case CSV:  p = new CsvParser(source, options); break;
       default:   p = options.get(MainOptions.INTPARSE) ? new XMLParser(source, options) :
         new SAXWrapper(source, options); break;
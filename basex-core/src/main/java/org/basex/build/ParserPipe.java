@@ -0,0 +1,164 @@
+package org.basex.build;
+
+import java.io.*;
+import java.util.concurrent.*;
+
+import org.basex.core.jobs.*;
+import org.basex.util.*;
+
+/**
+ * Runs a parser in a separate thread. The parser events are collected in batches and passed on
+ * to the builder via a bounded queue, so tokenization and the construction of the database
+ * tables can overlap.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+final class ParserPipe {
+  /** Number of events per batch. */
+  private static final int BATCH = 1 << 12;
+  /** Maximum number of queued batches. */
+  private static final int CAPACITY = 16;
+  /** Empty attributes (shared by all events without attributes or namespaces). */
+  private static final Atts EMPTY = new Atts();
+
+  /** Queued batches. */
+  private final ArrayBlockingQueue<Batch> queue = new ArrayBlockingQueue<>(CAPACITY);
+  /** Builder. */
+  private final Builder builder;
+  /** Parser. */
+  private final Parser parser;
+  /** Indicates if the builder has stopped consuming events. */
+  private volatile boolean stopped;
+  /** Current batch (only accessed by the parser thread). */
+  private Batch batch = new Batch();
+
+  /**
+   * Constructor.
+   * @param builder builder
+   * @param parser parser
+   */
+  ParserPipe(final Builder builder, final Parser parser) {
+    this.builder = builder;
+    this.parser = parser;
+  }
+
+  /**
+   * Parses the input in a separate thread and processes the parser events in the current thread.
+   * @throws IOException I/O exception
+   */
+  void run() throws IOException {
+    final Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        parse();
+      }
+    }, Util.className(parser));
+    thread.setDaemon(true);
+    thread.start();
+    try {
+      while(true) {
+        final Batch b = queue.take();
+        final int size = b.size;
+        for(int i = 0; i < size; i++) {
+          builder.process(b.events[i], b.values[i], b.atts[i], b.nsps[i]);
+        }
+        if(b.last) {
+          final Throwable th = b.error;
+          if(th == null) break;
+          if(th instanceof IOException) throw (IOException) th;
+          if(th instanceof RuntimeException) throw (RuntimeException) th;
+          if(th instanceof Error) throw (Error) th;
+          throw new IOException(th);
+        }
+      }
+    } catch(final InterruptedException ex) {
+      throw new JobException();
+    } finally {
+      // stop parser thread (required if an error was raised by the builder)
+      stopped = true;
+      queue.clear();
+      try {
+        thread.join();
+      } catch(final InterruptedException ex) {
+        Util.debug(ex);
+      }
+    }
+  }
+
+  /**
+   * Adds a parser event.
+   * @param event event type
+   * @param value name or value (can be {@code null})
+   * @param att attributes (can be {@code null})
+   * @param nsp namespaces (can be {@code null})
+   */
+  void add(final int event, final byte[] value, final Atts att, final Atts nsp) {
+    final Batch b = batch;
+    final int i = b.size;
+    b.events[i] = event;
+    b.values[i] = value;
+    // attributes and namespaces will be reused by the parser
+    if(att != null) b.atts[i] = att.isEmpty() ? EMPTY : att.copy();
+    if(nsp != null) b.nsps[i] = nsp.isEmpty() ? EMPTY : nsp.copy();
+    b.size = i + 1;
+    if(b.size == BATCH) {
+      send(b);
+      batch = new Batch();
+    }
+  }
+
+  /**
+   * Parses the input. Called by the parser thread.
+   */
+  private void parse() {
+    Throwable error = null;
+    try {
+      parser.parse(builder);
+    } catch(final Throwable th) {
+      error = th;
+    }
+    if(stopped) return;
+    final Batch b = batch;
+    b.last = true;
+    b.error = error;
+    try {
+      send(b);
+    } catch(final JobException ex) {
+      Util.debug(ex);
+    }
+  }
+
+  /**
+   * Sends a batch to the builder. Blocks if the queue is full.
+   * @param b batch
+   */
+  private void send(final Batch b) {
+    if(stopped) throw new JobException();
+    try {
+      while(!queue.offer(b, 100, TimeUnit.MILLISECONDS)) {
+        if(stopped) throw new JobException();
+      }
+    } catch(final InterruptedException ex) {
+      throw new JobException();
+    }
+  }
+
+  /** Batch of parser events. */
+  private static final class Batch {
+    /** Event types. */
+    private final int[] events = new int[BATCH];
+    /** Names or values. */
+    private final byte[][] values = new byte[BATCH][];
+    /** Attributes. */
+    private final Atts[] atts = new Atts[BATCH];
+    /** Namespaces. */
+    private final Atts[] nsps = new Atts[BATCH];
+    /** Number of events. */
+    private int size;
+    /** Indicates if this is the last batch. */
+    private boolean last;
+    /** Error raised by the parser (can be {@code null}). */
+    private Throwable error;
+  }
+}
@@ -0,0 +1,180 @@
+package org.basex.build.json;
+
+import static org.basex.util.Token.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.build.*;
+import org.basex.build.json.JsonOptions.JsonFormat;
+import org.basex.core.*;
+import org.basex.core.jobs.*;
+import org.basex.io.*;
+import org.basex.io.in.*;
+import org.basex.io.parse.json.*;
+import org.basex.io.serial.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+
+/**
+ * This class parses files in the JSON Lines format (one JSON value per line) and converts them
+ * to XML. The input is streamed: lines are grouped into chunks, which are converted in parallel,
+ * and the resulting records are appended to the database as child elements of the root element.
+ * The number of chunks in memory is bounded.
+ *
+ * <p>Records are converted to nodes, which are then passed on to the builder, instead of feeding
+ * the events of the JSON parser directly into the builder: the builder can only be fed
+ * sequentially, in document order, whereas the chunks are converted in parallel. The memory
+ * consumed by the intermediate nodes is limited by the number of chunks.</p>
+ *
+ * <p>The parser is chosen if the {@link JsonParserOptions#LINES} option is enabled.</p>
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class JsonLinesParser extends SingleParser {
+  /** Name of the root element. */
+  private static final byte[] ROOT = token("json-lines");
+  /** Maximum number of lines per chunk. */
+  private static final int LINES = 1 << 10;
+  /** Maximum number of bytes per chunk. */
+  private static final int BYTES = 1 << 20;
+  /** Error message for non-XML results. */
+  private static final String NO_XML_X = "JSON records cannot be stored as XML: %.";
+
+  /** JSON parser options. */
+  private final JsonParserOptions jopts;
+
+  /**
+   * Constructor.
+   * @param source document source
+   * @param opts database options
+   */
+  public JsonLinesParser(final IO source, final MainOptions opts) {
+    this(source, opts, opts.get(MainOptions.JSONPARSER));
+  }
+
+  /**
+   * Constructor.
+   * @param source document source
+   * @param opts database options
+   * @param jopts parser options
+   */
+  public JsonLinesParser(final IO source, final MainOptions opts,
+      final JsonParserOptions jopts) {
+    super(source, opts);
+    // single records are converted with the standard converters
+    this.jopts = new JsonParserOptions(jopts);
+    this.jopts.set(JsonParserOptions.LINES, false);
+  }
+
+  @Override
+  protected void parse() throws IOException {
+    // only XML representations can be stored
+    final JsonFormat format = jopts.get(JsonOptions.FORMAT);
+    if(format == JsonFormat.MAP) throw new BuildException(NO_XML_X, format);
+
+    final int threads = Runtime.getRuntime().availableProcessors();
+    final ExecutorService pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+      @Override
+      public Thread newThread(final Runnable r) {
+        final Thread thread = new Thread(r, Util.className(JsonLinesParser.this));
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    final ArrayDeque<Future<ArrayList<Item>>> chunks = new ArrayDeque<>();
+    final Serializer ser = new BuilderSerializer(builder);
+
+    builder.openElem(ROOT, atts, nsp);
+    try(NewlineInput nli = new NewlineInput(source)) {
+      nli.encoding(jopts.get(JsonParserOptions.ENCODING));
+      final TokenBuilder tb = new TokenBuilder();
+      boolean more = true;
+      for(int line = 1; more;) {
+        // read next chunk
+        final Chunk chunk = new Chunk(line);
+        for(int size = 0; size < BYTES && chunk.lines.size() < LINES;) {
+          more = nli.readLine(tb);
+          if(!more) break;
+          chunk.lines.add(tb.toArray());
+          size += tb.size();
+          line++;
+        }
+        if(!chunk.lines.isEmpty()) chunks.add(pool.submit(chunk));
+        // add converted records (in order) if all workers are busy or if the input is consumed
+        while(!chunks.isEmpty() && (chunks.size() > threads << 1 || !more)) {
+          builder.checkStop();
+          for(final Item item : get(chunks.poll())) {
+            if(item.type == NodeType.DOC) {
+              for(final ANode child : ((ANode) item).children()) ser.serialize(child);
+            } else {
+              ser.serialize(item);
+            }
+          }
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    builder.closeElem();
+  }
+
+  /**
+   * Returns the records of a converted chunk.
+   * @param future future result
+   * @return records
+   * @throws IOException I/O exception
+   */
+  private static ArrayList<Item> get(final Future<ArrayList<Item>> future) throws IOException {
+    try {
+      return future.get();
+    } catch(final InterruptedException ex) {
+      throw new JobException();
+    } catch(final ExecutionException ex) {
+      final Throwable th = ex.getCause();
+      if(th instanceof IOException) throw (IOException) th;
+      if(th instanceof RuntimeException) throw (RuntimeException) th;
+      throw new IOException(th);
+    }
+  }
+
+  /** Chunk of lines to be converted. */
+  private final class Chunk implements Callable<ArrayList<Item>> {
+    /** Lines. */
+    private final ArrayList<byte[]> lines = new ArrayList<>();
+    /** Number of the first line. */
+    private final int first;
+
+    /**
+     * Constructor.
+     * @param first number of the first line
+     */
+    Chunk(final int first) {
+      this.first = first;
+    }
+
+    @Override
+    public ArrayList<Item> call() throws IOException {
+      final String path = source.path();
+      final ArrayList<Item> items = new ArrayList<>(lines.size());
+      final int ls = lines.size();
+      for(int l = 0; l < ls; l++) {
+        // skip empty lines
+        final byte[] line = lines.get(l);
+        if(trim(line).length == 0) continue;
+        try {
+          final Item item = JsonConverter.get(jopts).convert(line, path);
+          if(!(item instanceof ANode)) throw new BuildException(NO_XML_X, item.type);
+          items.add(item);
+        } catch(final IOException ex) {
+          throw new BuildException("Line %: %", first + l, ex.getLocalizedMessage());
+        }
+      }
+      return items;
+    }
+  }
+}
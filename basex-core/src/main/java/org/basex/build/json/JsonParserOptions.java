@@ -24,6 +24,8 @@ public final class JsonParserOptions extends JsonOptions {
   public static final BooleanOption VALIDATE = new BooleanOption("validate", false);
   /** Option: encoding (custom). */
   public static final StringOption ENCODING = new StringOption("encoding");
+  /** Option: parse one JSON value per line (custom). */
+  public static final BooleanOption LINES = new BooleanOption("lines", false);
 
   /** Duplicate handling. */
   public enum JsonDuplicates {
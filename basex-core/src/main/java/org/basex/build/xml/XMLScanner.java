@@ -33,6 +33,23 @@ final class XMLScanner extends Job {
   private static final byte[] QUESTION = { '?' };
   /** Ampersand entity. */
   private static final byte[] AMPER = { '&' };
+  /** ASCII characters that can be copied in bulk from text content. */
+  private static final boolean[] TEXT_CHARS = new boolean[128];
+  /** ASCII characters that can be copied in bulk from attribute values. */
+  private static final boolean[] ATT_CHARS = new boolean[128];
+  /** ASCII characters that can be copied in bulk from names. */
+  private static final boolean[] NAME_CHARS = new boolean[128];
+
+  static {
+    for(int c = ' '; c < 128; c++) {
+      TEXT_CHARS[c] = c != '<' && c != '&' && c != ']';
+      ATT_CHARS[c] = c != '<' && c != '&' && c != '\'' && c != '"';
+      NAME_CHARS[c] = isChar(c);
+    }
+    TEXT_CHARS['\t'] = true;
+    TEXT_CHARS['\n'] = true;
+    ATT_CHARS['\t'] = true;
+  }
 
   /** Scanning states. */
   private enum Scan {
@@ -235,7 +252,10 @@ final class XMLScanner extends Job {
     } else if(isStartChar(c)) {
       // scan name of attribute or element...
       type = scan == Scan.ATT ? Type.ATTNAME : Type.ELEMNAME;
-      do token.add(c); while(isChar(c = nextChar()));
+      do {
+        token.add(c);
+        ascii(token, NAME_CHARS);
+      } while(isChar(c = nextChar()));
       prev(1);
       scan = Scan.ATT;
     } else {
@@ -280,6 +300,7 @@ final class XMLScanner extends Job {
         else if(!input.add(r, false)) throw error(RECENT);
       } else {
         token.add(c);
+        ascii(token, ATT_CHARS);
       }
     } while((c = consume()) != quote);
   }
@@ -318,6 +339,7 @@ final class XMLScanner extends Job {
           }
           // add character to cached content
           token.add(c);
+          ascii(token, TEXT_CHARS);
         }
       }
       c = consume();
@@ -549,6 +571,15 @@ final class XMLScanner extends Job {
     return ch;
   }
 
+  /**
+   * Copies a run of ASCII characters to the specified token builder.
+   * @param tb token builder
+   * @param chars flags for all ASCII characters that may be copied
+   */
+  private void ascii(final TokenBuilder tb, final boolean[] chars) {
+    if(!pe) input.ascii(tb, chars);
+  }
+
   /**
    * Jumps the specified number of characters back.
    * @param num number of characters
@@ -622,7 +653,10 @@ final class XMLScanner extends Job {
       prev(1);
       return null;
     }
-    do name.add(c); while(isChar(c = nextChar()));
+    do {
+      name.add(c);
+      ascii(name, NAME_CHARS);
+    } while(isChar(c = nextChar()));
     prev(1);
     return name.finish();
   }
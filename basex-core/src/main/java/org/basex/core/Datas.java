@@ -9,12 +9,33 @@ import org.basex.util.*;
 /**
  * This class organizes currently opened databases.
  *
+ * Disk-based databases that are not pinned anymore will be kept open for a while.
+ * They will be closed if they have not been pinned again after a timeout, if the
+ * maximum number of unused databases is exceeded, or if memory gets scarce.
+ *
  * @author BaseX Team 2005-17, BSD License
  * @author Christian Gruen
  */
 public final class Datas {
-  /** Pinned databases (data instance, number of pins). */
+  /** Opened databases (data instance, number of pins). */
   private final IdentityHashMap<Data, Integer> list = new IdentityHashMap<>();
+  /** Unused databases (in the order in which they have been unpinned). */
+  private final LinkedHashMap<Data, Long> unused = new LinkedHashMap<>();
+  /** Maximum number of unused databases. */
+  private final int max;
+  /** Timeout for closing unused databases (ms). */
+  private final long timeout;
+  /** Timer for closing unused databases (started when the first database is kept open). */
+  private Timer timer;
+
+  /**
+   * Constructor.
+   * @param sopts static options
+   */
+  Datas(final StaticOptions sopts) {
+    max = Math.max(0, sopts.get(StaticOptions.DBCACHE));
+    timeout = Math.max(0, sopts.get(StaticOptions.DBCACHETIMEOUT)) * 1000L;
+  }
 
   /**
    * Pins and returns a database with the specified name, or returns {@code null}.
@@ -26,6 +47,7 @@ public final class Datas {
     if(entry == null) return null;
 
     final Data data = entry.getKey();
+    unused.remove(data);
     list.put(data, entry.getValue() + 1);
     return data;
   }
@@ -36,22 +58,39 @@ public final class Datas {
    */
   public synchronized void pin(final Data data) {
     final Integer pins = list.get(data);
+    // new instance: close unused database with the same name
+    if(pins == null) close(data.meta.name);
+    unused.remove(data);
     list.put(data, pins == null ? 1 : pins + 1);
   }
 
   /**
-   * Unpins a data reference and closes the database if no references exist anymore.
+   * Unpins a data reference. If no references exist anymore, the database will either be
+   * closed, or kept open for subsequent requests.
    * @param data data reference
    */
   public synchronized void unpin(final Data data) {
     final Integer pins = list.get(data);
     // main-memory instances are not pinned
-    if(pins == null) return;
+    if(pins == null || pins == 0) return;
 
     final int p = pins;
     if(p == 1) {
-      data.close();
-      list.remove(data);
+      if(data.inMemory() || data.closed() || max == 0 || timeout == 0 || scarce()) {
+        data.close();
+        list.remove(data);
+      } else {
+        // keep database open; write pending changes to disk
+        data.flush(true);
+        list.put(data, 0);
+        unused.put(data, System.currentTimeMillis());
+        // close the least recently used databases
+        final Iterator<Data> iter = unused.keySet().iterator();
+        while(unused.size() > max) {
+          close(iter.next(), iter);
+        }
+        if(timer == null) start();
+      }
     } else {
       list.put(data, p - 1);
     }
@@ -59,10 +98,12 @@ public final class Datas {
 
   /**
    * Checks if the database with the specified name is pinned.
+   * A database that is opened, but not pinned anymore, will be closed.
    * @param name name of the database
    * @return result of check
    */
   synchronized boolean pinned(final String name) {
+    close(name);
     return get(name) != null;
   }
 
@@ -77,12 +118,98 @@ public final class Datas {
     return entry == null ? 0 : entry.getValue();
   }
 
+  /**
+   * Returns the number of opened databases.
+   * @return number of databases
+   */
+  public synchronized int opened() {
+    return list.size();
+  }
+
+  /**
+   * Returns the number of opened databases that are not pinned anymore.
+   * @return number of databases
+   */
+  public synchronized int unused() {
+    return unused.size();
+  }
+
+  /**
+   * Closes the database with the specified name if it is opened, but not pinned anymore.
+   * Must be called before the files of a database are modified.
+   * @param name name of the database
+   */
+  public synchronized void close(final String name) {
+    final Iterator<Data> iter = unused.keySet().iterator();
+    while(iter.hasNext()) {
+      final Data data = iter.next();
+      if(eq(data.meta.name, name)) close(data, iter);
+    }
+  }
+
   /**
    * Closes all data references.
    */
   synchronized void close() {
+    // the timer will not be restarted
+    if(timer != null) timer.cancel();
     for(final Data data : list.keySet()) data.close();
     list.clear();
+    unused.clear();
+  }
+
+  /**
+   * Closes an unused database.
+   * @param data data reference
+   * @param iter iterator over unused databases, pointing to the data reference
+   */
+  private void close(final Data data, final Iterator<?> iter) {
+    iter.remove();
+    list.remove(data);
+    data.close();
+  }
+
+  /**
+   * Starts a timer that periodically closes databases that have not been used since the
+   * timeout. Databases will be closed at most 1.5 times the timeout after they were unpinned.
+   */
+  private void start() {
+    final long period = Math.max(1, timeout / 2);
+    timer = new Timer(true);
+    timer.schedule(new TimerTask() {
+      @Override
+      public void run() {
+        sweep();
+      }
+    }, period, period);
+  }
+
+  /**
+   * Closes databases that have not been used since the timeout.
+   */
+  private synchronized void sweep() {
+    final long time = System.currentTimeMillis() - timeout;
+    final Iterator<Entry<Data, Long>> iter = unused.entrySet().iterator();
+    while(iter.hasNext()) {
+      final Entry<Data, Long> entry = iter.next();
+      // entries are ordered by time: skip remaining entries
+      if(entry.getValue() > time) break;
+      close(entry.getKey(), iter);
+    }
+  }
+
+  /**
+   * Checks if the available memory is getting scarce.
+   * In this case, all unused databases will be closed.
+   * @return result of check
+   */
+  private boolean scarce() {
+    final Runtime rt = Runtime.getRuntime();
+    if(Performance.memory() < rt.maxMemory() / 5 * 4) return false;
+
+    final Iterator<Data> iter = unused.keySet().iterator();
+    while(iter.hasNext()) close(iter.next(), iter);
+    return true;
   }
 
   /**
@@ -92,9 +219,18 @@ public final class Datas {
    */
   private Entry<Data, Integer> get(final String name) {
     for(final Entry<Data, Integer> entry : list.entrySet()) {
-      final String db = entry.getKey().meta.name;
-      if(Prop.CASE ? db.equals(name) : db.equalsIgnoreCase(name)) return entry;
+      if(eq(entry.getKey().meta.name, name)) return entry;
     }
     return null;
   }
+
+  /**
+   * Compares two database names.
+   * @param db name of a database
+   * @param name name to be compared
+   * @return result of check
+   */
+  private static boolean eq(final String db, final String name) {
+    return Prop.CASE ? db.equals(name) : db.equalsIgnoreCase(name);
+  }
 }
@@ -35,6 +35,8 @@ public final class MainOptions extends Options {
   public static final BooleanOption SKIPCORRUPT = new BooleanOption("SKIPCORRUPT", false);
   /** Flag for adding remaining files as raw files. */
   public static final BooleanOption ADDRAW = new BooleanOption("ADDRAW", false);
+  /** Flag for parsing input in a separate thread while the database is built. */
+  public static final BooleanOption ASYNCPARSE = new BooleanOption("ASYNCPARSE", false);
   /** Define CSV parser options. */
   public static final OptionsOption<CsvParserOptions> CSVPARSER =
       new OptionsOption<>("CSVPARSER", new CsvParserOptions());
@@ -81,6 +83,8 @@ public final class MainOptions extends Options {
   public static final BooleanOption TOKENINDEX = new BooleanOption("TOKENINDEX", false);
   /** Flag for creating a full-text index. */
   public static final BooleanOption FTINDEX = new BooleanOption("FTINDEX", false);
+  /** Flag for creating an n-gram index. */
+  public static final BooleanOption NGRAMINDEX = new BooleanOption("NGRAMINDEX", false);
 
   /** Text index: names to include. */
   public static final StringOption TEXTINCLUDE = new StringOption("TEXTINCLUDE", "");
@@ -90,6 +94,8 @@ public final class MainOptions extends Options {
   public static final StringOption TOKENINCLUDE = new StringOption("TOKENINCLUDE", "");
   /** Full-text index: names to include. */
   public static final StringOption FTINCLUDE = new StringOption("FTINCLUDE", "");
+  /** N-gram index: names to include. */
+  public static final StringOption NGRAMINCLUDE = new StringOption("NGRAMINCLUDE", "");
 
   /** Maximum length of index entries. */
   public static final NumberOption MAXLEN = new NumberOption("MAXLEN", 96);
@@ -99,6 +105,8 @@ public final class MainOptions extends Options {
   public static final BooleanOption UPDINDEX = new BooleanOption("UPDINDEX", false);
   /** Flag for automatic index updates. */
   public static final BooleanOption AUTOOPTIMIZE = new BooleanOption("AUTOOPTIMIZE", false);
+  /** Flag for creating posting lists of element names. */
+  public static final BooleanOption ELEMINDEX = new BooleanOption("ELEMINDEX", false);
   /** Index split size. */
   public static final NumberOption SPLITSIZE = new NumberOption("SPLITSIZE", 0);
 
@@ -159,6 +167,8 @@ public final class MainOptions extends Options {
   public static final BooleanOption DOTPLAN = new BooleanOption("DOTPLAN", false);
   /** Compact dot representation. */
   public static final BooleanOption DOTCOMPACT = new BooleanOption("DOTCOMPACT", false);
+  /** Profiles the evaluation of expressions and prints the annotated query plan. */
+  public static final BooleanOption PROFPLAN = new BooleanOption("PROFPLAN", false);
 
   /** Flushes the database after each update. */
   public static final BooleanOption AUTOFLUSH = new BooleanOption("AUTOFLUSH", true);
@@ -0,0 +1,396 @@
+package org.basex.core;
+
+import static org.basex.util.Token.*;
+
+import java.math.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import org.basex.index.*;
+import org.basex.util.*;
+
+/**
+ * This class provides counters and histograms for monitoring the runtime behavior of BaseX.
+ * The metrics are global, as most of them are updated by components that have no reference to
+ * the database context (buffers, indexes, serializers). Gauges (opened databases, jobs) are
+ * computed when the metrics are requested.
+ *
+ * The metrics can be returned in a plain-text exposition format, which can be processed by
+ * common monitoring systems:
+ * <pre>
+ * # HELP basex_queries_seconds Query evaluation time.
+ * # TYPE basex_queries_seconds histogram
+ * basex_queries_seconds_bucket{le="0.001"} 12
+ * ...
+ * </pre>
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class Metrics {
+  /** Registered metrics. */
+  private static final ArrayList<Metric> METRICS = new ArrayList<>();
+
+  /** Query evaluation time. */
+  public static final Histogram QUERIES = new Histogram("basex_queries_seconds",
+      "Query evaluation time (parsing, compilation, evaluation, serialization).");
+  /** Waiting time for locks. */
+  public static final Histogram LOCK_WAITS = new Histogram("basex_lock_wait_seconds",
+      "Time spent waiting for locks.");
+  /** Waiting time for locks, by locking phase. */
+  public static final Histogram LOCK_PHASES = new Histogram("basex_lock_phase_wait_seconds",
+      "Time spent waiting for locks, by locking phase.", "phase");
+  /** Waiting time for locks, by lock string. */
+  public static final Histogram LOCK_STRINGS = new Histogram("basex_lock_string_wait_seconds",
+      "Time spent waiting for locks, by lock string (databases, user-defined locks).", "lock",
+      100);
+  /** Buffer hits. */
+  public static final Counter BUFFER_HITS = new Counter("basex_buffer_hits_total",
+      "Number of accesses to buffered blocks of database files.");
+  /** Buffer misses. */
+  public static final Counter BUFFER_MISSES = new Counter("basex_buffer_misses_total",
+      "Number of blocks read from database files.");
+  /** Index lookups. */
+  public static final Counter INDEX_LOOKUPS = new Counter("basex_index_lookups_total",
+      "Number of index lookups.", "type", IndexType.values());
+  /** Serialized bytes. */
+  public static final Counter SERIALIZED = new Counter("basex_serialized_bytes_total",
+      "Number of serialized bytes.");
+
+  /** Private constructor. */
+  private Metrics() { }
+
+  /**
+   * Returns all metrics in the plain-text exposition format.
+   * @param ctx database context
+   * @return metrics
+   */
+  public static byte[] get(final Context ctx) {
+    final TokenBuilder tb = new TokenBuilder();
+    synchronized(METRICS) {
+      for(final Metric metric : METRICS) metric.write(tb);
+    }
+    gauge(tb, "basex_databases_opened", "Number of opened databases.", ctx.datas.opened());
+    gauge(tb, "basex_databases_unused", "Number of opened, but unused databases.",
+        ctx.datas.unused());
+    gauge(tb, "basex_jobs_active", "Number of queued or running jobs.", ctx.jobs.active.size());
+    gauge(tb, "basex_jobs_queued", "Number of jobs waiting for locks.", ctx.locking.queued());
+    gauge(tb, "basex_sessions", "Number of client sessions.", ctx.sessions.size());
+    return tb.finish();
+  }
+
+  /**
+   * Writes a gauge.
+   * @param tb token builder
+   * @param name name
+   * @param help description
+   * @param value value
+   */
+  private static void gauge(final TokenBuilder tb, final String name, final String help,
+      final long value) {
+    header(tb, name, help, "gauge");
+    tb.add(name).add(' ').add(token(value)).add('\n');
+  }
+
+  /**
+   * Writes the header of a metric.
+   * @param tb token builder
+   * @param name name
+   * @param help description
+   * @param type type
+   */
+  private static void header(final TokenBuilder tb, final String name, final String help,
+      final String type) {
+    tb.add("# HELP ").add(name).add(' ').add(help).add('\n');
+    tb.add("# TYPE ").add(name).add(' ').add(type).add('\n');
+  }
+
+  /** Abstract metric. */
+  abstract static class Metric {
+    /** Name. */
+    final String name;
+    /** Description. */
+    final String help;
+
+    /**
+     * Constructor, registering the metric.
+     * @param name name
+     * @param help description
+     */
+    Metric(final String name, final String help) {
+      this.name = name;
+      this.help = help;
+      synchronized(METRICS) {
+        METRICS.add(this);
+      }
+    }
+
+    /**
+     * Writes the metric.
+     * @param tb token builder
+     */
+    abstract void write(TokenBuilder tb);
+  }
+
+  /** Counter, with optional label values. */
+  public static final class Counter extends Metric {
+    /** Label name ({@code null} if no label is assigned). */
+    private final String label;
+    /** Label values. */
+    private final Object[] values;
+    /** Counts (one per label value). */
+    private final AtomicLongArray counts;
+
+    /**
+     * Constructor.
+     * @param name name
+     * @param help description
+     */
+    Counter(final String name, final String help) {
+      this(name, help, null, new Object[1]);
+    }
+
+    /**
+     * Constructor.
+     * @param name name
+     * @param help description
+     * @param label label name
+     * @param values label values (lower-case string representations will be output)
+     */
+    Counter(final String name, final String help, final String label, final Object[] values) {
+      super(name, help);
+      this.label = label;
+      this.values = values;
+      counts = new AtomicLongArray(values.length);
+    }
+
+    /**
+     * Increments the counter.
+     */
+    public void inc() {
+      counts.incrementAndGet(0);
+    }
+
+    /**
+     * Adds a value to the counter.
+     * @param value value to be added
+     */
+    public void add(final long value) {
+      if(value != 0) counts.addAndGet(0, value);
+    }
+
+    /**
+     * Increments the counter for the specified label value.
+     * @param value label value
+     */
+    public void inc(final Enum<?> value) {
+      counts.incrementAndGet(value.ordinal());
+    }
+
+    /**
+     * Returns the current count.
+     * @return count
+     */
+    public long get() {
+      long sum = 0;
+      final int cl = counts.length();
+      for(int c = 0; c < cl; c++) sum += counts.get(c);
+      return sum;
+    }
+
+    @Override
+    void write(final TokenBuilder tb) {
+      header(tb, name, help, "counter");
+      final int cl = counts.length();
+      for(int c = 0; c < cl; c++) {
+        tb.add(name);
+        if(label != null) {
+          tb.add('{').add(label).add("=\"");
+          tb.add(values[c].toString().toLowerCase(Locale.ENGLISH)).add("\"}");
+        }
+        tb.add(' ').add(token(counts.get(c))).add('\n');
+      }
+    }
+  }
+
+  /** Histogram for measured times, with an optional label. */
+  public static final class Histogram extends Metric {
+    /** Label value for all values that exceed the maximum number of label values. */
+    public static final String OTHER = "other";
+    /** Upper bounds of the buckets (nano seconds). */
+    private static final long[] BOUNDS = {
+      100000L, 1000000L, 5000000L, 10000000L, 50000000L, 100000000L, 500000000L,
+      1000000000L, 5000000000L, 10000000000L
+    };
+    /** Label name ({@code null} if no label is assigned). */
+    private final String label;
+    /** Maximum number of label values ({@code 0}: no limit). */
+    private final int max;
+    /** Buckets, indexed by label values (empty string if no label is assigned). */
+    private final ConcurrentHashMap<String, Buckets> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     * @param name name
+     * @param help description
+     */
+    Histogram(final String name, final String help) {
+      this(name, help, null);
+    }
+
+    /**
+     * Constructor. Label values will be registered when they are observed for the first time.
+     * @param name name
+     * @param help description
+     * @param label label name
+     */
+    Histogram(final String name, final String help, final String label) {
+      this(name, help, label, 0);
+    }
+
+    /**
+     * Constructor. Label values will be registered when they are observed for the first time.
+     * If the maximum number of values has been reached, times of new values will be
+     * assigned to the {@link #OTHER} value.
+     * @param name name
+     * @param help description
+     * @param label label name
+     * @param max maximum number of label values ({@code 0}: no limit)
+     */
+    Histogram(final String name, final String help, final String label, final int max) {
+      super(name, help);
+      this.label = label;
+      this.max = max;
+    }
+
+    /**
+     * Adds a measured time.
+     * @param nano time in nano seconds
+     */
+    public void observe(final long nano) {
+      observe("", nano);
+    }
+
+    /**
+     * Adds a measured time for the specified label value.
+     * @param value label value
+     * @param nano time in nano seconds
+     */
+    public void observe(final String value, final long nano) {
+      Buckets b = buckets.get(value);
+      if(b == null) {
+        // limit number of label values (may be exceeded by concurrent observations)
+        final String v = max > 0 && buckets.size() >= max ? OTHER : value;
+        final Buckets nb = new Buckets();
+        b = buckets.putIfAbsent(v, nb);
+        if(b == null) b = nb;
+      }
+      b.observe(nano);
+    }
+
+    /**
+     * Returns the number of measured times.
+     * @return count
+     */
+    public long count() {
+      long count = 0;
+      for(final Buckets b : buckets.values()) count += b.count();
+      return count;
+    }
+
+    /**
+     * Returns the number of measured times for the specified label value.
+     * If the maximum number of label values has been reached, the times of new values will
+     * be counted by {@link #OTHER}.
+     * @param value label value
+     * @return count
+     */
+    public long count(final String value) {
+      final Buckets b = buckets.get(value);
+      return b == null ? 0 : b.count();
+    }
+
+    @Override
+    void write(final TokenBuilder tb) {
+      header(tb, name, help, "histogram");
+      if(label == null) {
+        final Buckets b = buckets.get("");
+        (b != null ? b : new Buckets()).write(tb, name, "");
+      } else {
+        final TreeMap<String, Buckets> map = new TreeMap<>(buckets);
+        for(final Map.Entry<String, Buckets> entry : map.entrySet()) {
+          entry.getValue().write(tb, name, label + "=\"" + escape(entry.getKey()) + "\",");
+        }
+      }
+    }
+
+    /**
+     * Escapes a label value.
+     * @param value label value
+     * @return escaped value
+     */
+    private static String escape(final String value) {
+      return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Returns a string representation of the specified nano seconds in seconds.
+     * @param nano nano seconds
+     * @return seconds
+     */
+    private static String seconds(final long nano) {
+      return BigDecimal.valueOf(nano, 9).stripTrailingZeros().toPlainString();
+    }
+
+    /** Buckets of a single label value. */
+    private static final class Buckets {
+      /** Counts of the buckets (non-cumulative; last bucket: infinite upper bound). */
+      private final AtomicLongArray counts = new AtomicLongArray(BOUNDS.length + 1);
+      /** Sum of all measured times (nano seconds). */
+      private final AtomicLong sum = new AtomicLong();
+
+      /**
+       * Adds a measured time.
+       * @param nano time in nano seconds
+       */
+      void observe(final long nano) {
+        int b = 0;
+        while(b < BOUNDS.length && nano > BOUNDS[b]) b++;
+        counts.incrementAndGet(b);
+        sum.addAndGet(nano);
+      }
+
+      /**
+       * Returns the number of measured times.
+       * @return count
+       */
+      long count() {
+        long count = 0;
+        final int cl = counts.length();
+        for(int c = 0; c < cl; c++) count += counts.get(c);
+        return count;
+      }
+
+      /**
+       * Writes the buckets.
+       * @param tb token builder
+       * @param name name of the metric
+       * @param labels label string (empty, or terminated with a comma)
+       */
+      void write(final TokenBuilder tb, final String name, final String labels) {
+        long count = 0;
+        final int bl = BOUNDS.length;
+        for(int b = 0; b <= bl; b++) {
+          count += counts.get(b);
+          tb.add(name).add("_bucket{").add(labels).add("le=\"");
+          tb.add(b < bl ? seconds(BOUNDS[b]) : "+Inf").add("\"} ").add(token(count)).add('\n');
+        }
+        final String suffix = labels.isEmpty() ? " " :
+          '{' + labels.substring(0, labels.length() - 1) + "} ";
+        tb.add(name).add("_sum").add(suffix).add(seconds(sum.get())).add('\n');
+        tb.add(name).add("_count").add(suffix).add(token(count)).add('\n');
+      }
+    }
+  }
+}
@@ -36,8 +36,14 @@ public final class StaticOptions extends Options {
   public static final BooleanOption LANGKEYS = new BooleanOption("LANGKEYS", false);
   /** Locking strategy. */
   public static final BooleanOption FAIRLOCK = new BooleanOption("FAIRLOCK", false);
+  /** Defer exclusive database locks of updating queries until updates are applied. */
+  public static final BooleanOption DEFERLOCK = new BooleanOption("DEFERLOCK", false);
   /** Timeout (seconds) for remembering result of asynchronous queries. */
   public static final NumberOption CACHETIMEOUT = new NumberOption("CACHETIMEOUT", 3600);
+  /** Maximum number of unused databases that remain opened; deactivated if set to 0. */
+  public static final NumberOption DBCACHE = new NumberOption("DBCACHE", 8);
+  /** Timeout (seconds) for closing unused databases; deactivated if set to 0. */
+  public static final NumberOption DBCACHETIMEOUT = new NumberOption("DBCACHETIMEOUT", 60);
 
   /** Comment: written to options file. */
   public static final Comment C_CLIENT = new Comment("Client/Server Architecture");
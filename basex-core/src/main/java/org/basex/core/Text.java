@@ -288,7 +288,7 @@ public interface Text {
     LI + CmdCreate.DATABASE + " [" + S_NAME + "] ([" + S_INPUT + "]):"  + NL +
     "  " + lang("c_create21", S_NAME, S_INPUT) + NL +
     LI + CmdCreate.INDEX + " [" + CmdIndex.TEXT + '|' + CmdIndex.ATTRIBUTE + '|' +
-      CmdIndex.TOKEN + '|' + CmdIndex.FULLTEXT + "]:" + NL +
+      CmdIndex.TOKEN + '|' + CmdIndex.FULLTEXT + '|' + CmdIndex.NGRAM + "]:" + NL +
     "  " + lang("c_create23") + NL +
     LI + CmdCreate.USER + " [" + S_NAME + "] ([" + S_PW + "]):" + NL +
     "  " + lang("c_create24")
@@ -355,7 +355,7 @@ public interface Text {
     LI + CmdDrop.DATABASE + " [" + S_NAME + "]:" + NL +
     "  " + lang("c_drop21") + NL +
     LI + CmdDrop.INDEX + " [" + CmdIndex.TEXT + '|' + CmdIndex.ATTRIBUTE + '|' +
-      CmdIndex.TOKEN + '|' + CmdIndex.FULLTEXT + "]:" + NL +
+      CmdIndex.TOKEN + '|' + CmdIndex.FULLTEXT + '|' + CmdIndex.NGRAM + "]:" + NL +
     "  " + lang("c_drop22") + NL +
     LI + CmdDrop.USER + " [" + S_NAME + "] (" + ON + " [pattern]): " + NL +
       "  " + lang("c_drop23")
@@ -538,6 +538,8 @@ public interface Text {
   String INDEX_TOKENS_D = lang("index_tokens") + DOTS;
   /** Create full-text index. */
   String INDEX_FULLTEXT_D = lang("index_fulltext") + DOTS;
+  /** Create n-gram index. */
+  String INDEX_NGRAMS_D = lang("index_ngrams") + DOTS;
 
   /** Database created. */
   String DB_CREATED_X_X = lang("db_created_%_%");
@@ -792,6 +794,10 @@ public interface Text {
   String READS = lang("reads");
   /** "Writes". */
   String WRITES = lang("writes");
+  /** "Wait". */
+  String WAIT = lang("wait");
+  /** "Waiting for". */
+  String WAITING = lang("waiting");
   /** External Variables. */
   String EXTERNAL_VARIABLES = lang("external_variables");
 
@@ -833,6 +839,8 @@ public interface Text {
   String PATH_INDEX = lang("path_index");
   /** Info on token index. */
   String TOKEN_INDEX = lang("token_index");
+  /** Info on n-gram index. */
+  String NGRAM_INDEX = lang("ngram_index");
 
   /** Info on elements. */
   String ELEMENTS = lang("elements");
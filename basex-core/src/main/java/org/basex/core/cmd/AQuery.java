@@ -70,6 +70,7 @@ public abstract class AQuery extends Command {
             qp = null;
             popJob();
           }
+          final long start = System.nanoTime();
           init(query, context);
 
           if(r == 0) plan(false);
@@ -100,6 +101,11 @@ public abstract class AQuery extends Command {
           }
           qp.close();
           info.serializing += perf.time();
+          Metrics.QUERIES.observe(System.nanoTime() - start);
+          if(r == 0 && qp.qc.profiled()) {
+            info(NL + QUERY_PLAN + COL);
+            info(qp.plan().serialize().toString());
+          }
         }
         return info(info.toString(qp, out.size(), hits, options.get(MainOptions.QUERYINFO)));
 
@@ -223,8 +229,8 @@ public abstract class AQuery extends Command {
         }
       }
 
-      // show XML plan
-      if(options.get(MainOptions.XMLPLAN)) {
+      // show XML plan (profiled plans will be shown after evaluation)
+      if(options.get(MainOptions.XMLPLAN) && !options.get(MainOptions.PROFPLAN)) {
         info(NL + QUERY_PLAN + COL);
         info(qp.plan().serialize().toString());
       }
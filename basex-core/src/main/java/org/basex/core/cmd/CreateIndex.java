@@ -10,6 +10,7 @@ import org.basex.core.parse.Commands.*;
 import org.basex.core.users.*;
 import org.basex.data.*;
 import org.basex.index.*;
+import org.basex.index.name.*;
 import org.basex.util.ft.*;
 
 /**
@@ -51,6 +52,9 @@ public final class CreateIndex extends ACreate {
       data.meta.diacritics = options.get(MainOptions.DIACRITICS);
       data.meta.language = Language.get(options);
       data.meta.stopwords = options.get(MainOptions.STOPWORDS);
+    } else if(ci == CmdIndex.NGRAM) {
+      type = IndexType.NGRAM;
+      data.meta.createngram = true;
     } else {
       return error(UNKNOWN_CMD_X, this);
     }
@@ -82,6 +86,8 @@ public final class CreateIndex extends ACreate {
     if(data.meta.createattr) create(IndexType.ATTRIBUTE, data, cmd);
     if(data.meta.createtoken) create(IndexType.TOKEN, data, cmd);
     if(data.meta.createft) create(IndexType.FULLTEXT, data, cmd);
+    if(data.meta.createngram) create(IndexType.NGRAM, data, cmd);
+    if(data.meta.elemindex) ElemIndex.build(data);
   }
 
   /**
@@ -88,6 +88,8 @@ public final class InfoIndex extends AInfo {
         return info(TOKEN_INDEX, IndexType.TOKEN, data, options, data.meta.tokenindex);
       case FULLTEXT:
         return info(FULLTEXT_INDEX, IndexType.FULLTEXT, data, options, data.meta.ftindex);
+      case NGRAM:
+        return info(NGRAM_INDEX, IndexType.NGRAM, data, options, data.meta.ngramindex);
       default:
         return Token.token(LI + NOT_AVAILABLE);
     }
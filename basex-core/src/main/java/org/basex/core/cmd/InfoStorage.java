@@ -1,5 +1,6 @@
 package org.basex.core.cmd;
 
+import static org.basex.core.Text.*;
 import static org.basex.util.Strings.*;
 
 import java.io.*;
@@ -39,6 +40,8 @@ public final class InfoStorage extends AInfo {
     }
     dp.add(start, end);
     out.print(dp.finish());
+    // summarize free space of heap files
+    if(first.isEmpty() && !data.inMemory()) out.print(NL + ((DiskData) data).freeSpace());
     return true;
   }
 
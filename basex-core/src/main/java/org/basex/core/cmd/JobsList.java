@@ -43,6 +43,8 @@ public final class JobsList extends Command {
     table.header.add(END);
     table.header.add(READS);
     table.header.add(WRITES);
+    table.header.add(WAIT);
+    table.header.add(WAITING);
 
     final JobPool jobs = context.jobs;
     for(final byte[] key : ids(context)) {
@@ -100,6 +102,10 @@ public final class JobsList extends Command {
     tl.add(jt != null && jt.end != Long.MAX_VALUE ? Dtm.get(jt.end).string(null) : EMPTY);
     tl.add(jc.locks.reads.toString());
     tl.add(jc.locks.writes.toString());
+    final long wait = jc.locks.waited();
+    final String waiting = jc.locks.waiting();
+    tl.add(wait >= 0 ? DTDur.get(wait / 1000000).string(null) : EMPTY);
+    tl.add(waiting != null ? token(waiting) : EMPTY);
     tl.add(chop(normalize(token(jc.toString())), max));
     return tl;
   }
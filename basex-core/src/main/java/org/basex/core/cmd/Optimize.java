@@ -8,6 +8,7 @@ import org.basex.core.*;
 import org.basex.core.users.*;
 import org.basex.data.*;
 import org.basex.index.*;
+import org.basex.index.name.*;
 import org.basex.index.stats.*;
 import org.basex.util.list.*;
 
@@ -41,13 +42,16 @@ public final class Optimize extends ACreate {
     return update(data, new Code() {
       @Override
       boolean run() throws IOException {
-        // reassign autooptimize flag
+        // reassign autooptimize and element index flags
         final boolean autooptimize = options.get(MainOptions.AUTOOPTIMIZE);
-        if(autooptimize != data.meta.autooptimize) {
+        final boolean elemindex = options.get(MainOptions.ELEMINDEX);
+        if(autooptimize != data.meta.autooptimize || elemindex != data.meta.elemindex) {
           data.meta.autooptimize = autooptimize;
+          data.meta.elemindex = elemindex;
           data.meta.dirty = true;
         }
         optimize(data, Optimize.this);
+        if(!data.inMemory()) ((DiskData) data).compact();
         return info(DB_OPTIMIZED_X, meta.name, jc().performance);
       }
     });
@@ -89,7 +93,7 @@ public final class Optimize extends ACreate {
    * @throws IOException I/O Exception during index rebuild
    */
   public static void optimize(final Data data, final Optimize cmd) throws IOException {
-    optimize(data, false, false, false, false, cmd);
+    optimize(data, false, false, false, false, false, cmd);
   }
 
   /**
@@ -99,15 +103,18 @@ public final class Optimize extends ACreate {
    * @param enforceAttr enforce creation or deletion of attribute index
    * @param enforceToken enforce creation or deletion of token index
    * @param enforceFt enforce creation or deletion of full-text index
+   * @param enforceNGram enforce creation or deletion of n-gram index
    * @param cmd calling command instance (may be {@code null})
    * @throws IOException I/O Exception during index rebuild
    */
   public static void optimize(final Data data, final boolean enforceText, final boolean enforceAttr,
-      final boolean enforceToken, final boolean enforceFt, final Optimize cmd) throws IOException {
+      final boolean enforceToken, final boolean enforceFt, final boolean enforceNGram,
+      final Optimize cmd) throws IOException {
 
     // initialize structural indexes
     final MetaData meta = data.meta;
-    if(!meta.uptodate) {
+    final boolean uptodate = meta.uptodate;
+    if(!uptodate) {
       data.paths.init();
       data.elemNames.init();
       data.attrNames.init();
@@ -156,11 +163,16 @@ public final class Optimize extends ACreate {
       meta.uptodate = true;
     }
 
+    // create or drop posting lists of element names
+    if(!meta.elemindex) ElemIndex.drop(data);
+    else if(!uptodate || data.elemIndex == null) ElemIndex.build(data);
+
     // rebuild value indexes
     optimize(IndexType.TEXT, data, meta.createtext, enforceText, cmd);
     optimize(IndexType.ATTRIBUTE, data, meta.createattr, enforceAttr, cmd);
     optimize(IndexType.TOKEN, data, meta.createtoken, enforceToken, cmd);
     optimize(IndexType.FULLTEXT, data, meta.createft, enforceFt, cmd);
+    optimize(IndexType.NGRAM, data, meta.createngram, enforceNGram, cmd);
   }
 
   /**
@@ -199,6 +211,7 @@ public final class Optimize extends ACreate {
       if(data.meta.textindex) optimize(IndexType.TEXT, data, true, true, null);
       if(data.meta.attrindex) optimize(IndexType.ATTRIBUTE, data, true, true, null);
       if(data.meta.tokenindex) optimize(IndexType.TOKEN, data, true, true, null);
+      if(data.meta.ngramindex) optimize(IndexType.NGRAM, data, true, true, null);
     }
   }
 }
@@ -95,10 +95,13 @@ public final class OptimizeAll extends ACreate {
     options.set(MainOptions.ATTRINDEX, ometa.attrindex);
     options.set(MainOptions.TOKENINDEX, ometa.tokenindex);
     options.set(MainOptions.FTINDEX, ometa.ftindex);
+    options.set(MainOptions.NGRAMINDEX, ometa.ngramindex);
     options.set(MainOptions.TEXTINCLUDE, ometa.textinclude);
     options.set(MainOptions.ATTRINCLUDE, ometa.attrinclude);
     options.set(MainOptions.TOKENINCLUDE, ometa.tokeninclude);
     options.set(MainOptions.FTINCLUDE, ometa.ftinclude);
+    options.set(MainOptions.NGRAMINCLUDE, ometa.ngraminclude);
+    options.set(MainOptions.ELEMINDEX, ometa.elemindex);
     // adopt original full-text index options
     options.set(MainOptions.STEMMING, ometa.stemming);
     options.set(MainOptions.CASESENS, ometa.casesens);
@@ -124,6 +127,7 @@ public final class OptimizeAll extends ACreate {
       if(cmd != null) cmd.popJob();
     }
     Close.close(odata, context);
+    context.datas.close(name);
 
     // adopt original meta data, create new index structures
     final MetaData nmeta = ndata.meta;
@@ -131,6 +135,7 @@ public final class OptimizeAll extends ACreate {
     nmeta.createattr = ometa.createattr;
     nmeta.createtoken = ometa.createtoken;
     nmeta.createft = ometa.createft;
+    nmeta.createngram = ometa.createngram;
     nmeta.original = ometa.original;
     nmeta.filesize = ometa.filesize;
     nmeta.time = ometa.time;
@@ -5,6 +5,7 @@ import static org.basex.util.Prop.*;
 import java.util.*;
 import java.util.Map.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 import java.util.concurrent.locks.*;
 
 import org.basex.core.*;
@@ -20,6 +21,13 @@ import org.basex.util.*;
  *
  * This class prevents locking deadlocks by sorting all strings.
  *
+ * If {@link StaticOptions#DEFERLOCK} is enabled, updating queries will only acquire shared locks
+ * for the databases to be updated, and exclusive locks will be acquired before the updates are
+ * applied (see {@link #upgrade()}). Jobs that update the same databases are serialized by
+ * additional update locks, which are acquired before all other local locks. Locks are only
+ * deferred if all local locks of a job refer to databases: otherwise, the exclusive locks that
+ * are acquired later on might violate the sorted order of other locks held by the job.
+ *
  * Locks can only be released by the same thread which acquired it.
  *
  * Locking methods are not synchronized to each other. The user must make sure not to call them in
@@ -48,8 +56,13 @@ public final class Locking {
   /** Special lock identifier for repository commands. */
   public static final String REPO = PREFIX + "REPO";
 
+  /** Prefix for update locks (see {@link StaticOptions#DEFERLOCK}). */
+  private static final String UPDATE = PREFIX + "UPDATE:";
+
   /** Fair ordering policy; prevents starvation, but reduces parallelism. */
   private final boolean fair;
+  /** Defer exclusive database locks of updating queries until updates are applied. */
+  private final boolean defer;
 
   /** Locks assigned to threads. */
   private final ConcurrentMap<Long, Locks> locked = new ConcurrentHashMap<>();
@@ -67,6 +80,8 @@ public final class Locking {
   private int localWriters;
   /** Number of running global readers. */
   private int globalReaders;
+  /** Number of jobs that are waiting for locks. */
+  private final AtomicInteger queued = new AtomicInteger();
 
   /**
    * Constructor.
@@ -74,6 +89,7 @@ public final class Locking {
    */
   public Locking(final StaticOptions soptions) {
     fair = soptions.get(StaticOptions.FAIRLOCK);
+    defer = soptions.get(StaticOptions.DEFERLOCK);
     globalLocks = new ReentrantReadWriteLock(fair);
     final int parallel = Math.max(soptions.get(StaticOptions.PARALLEL), 1);
     queue = fair ? new FairLockQueue(parallel) : new NonfairLockQueue(parallel);
@@ -110,37 +126,172 @@ public final class Locking {
     if(locked.containsKey(id)) throw new IllegalMonitorStateException("Thread holds locks: " + id);
     locked.put(id, locks);
 
-    // queue job if the job limit has been reached
-    final LockList reads = locks.reads, writes = locks.writes;
-    final boolean write = writes.locking(), read = reads.locking(), lock = read || write;
-    queue.acquire(id, read, write);
-
-    // apply exclusive lock (global write), or shared lock otherwise
-    if(lock) (writes.global() ? globalLocks.writeLock() : globalLocks.readLock()).lock();
+    final long start = System.nanoTime();
+    locks.requested = start;
+    queued.incrementAndGet();
+    try {
+      // queue job if the job limit has been reached
+      final LockList reads = locks.reads, writes = locks.writes;
+      final boolean write = writes.locking(), read = reads.locking(), lock = read || write;
+      long time = start;
+      locks.waiting = Phase.QUEUE.lock;
+      queue.acquire(id, read, write);
+      if(lock) time = Phase.QUEUE.waited(time);
 
-    synchronized(globalLock) {
-      // local write locks: wait for completion of global readers
-      if(writes.local()) {
-        while(globalReaders > 0) globalLock.wait();
-        localWriters++;
+      // apply exclusive lock (global write), or shared lock otherwise
+      if(lock) {
+        locks.waiting = Phase.GLOBAL.lock;
+        (writes.global() ? globalLocks.writeLock() : globalLocks.readLock()).lock();
+        time = Phase.GLOBAL.waited(time);
       }
-      // global read lock: wait for completion of local writers (excluding the current job)
-      if(reads.global()) {
-        while(localWriters > 1 || localWriters == 1 && !writes.local()) globalLock.wait();
-        globalReaders++;
+
+      locks.waiting = Phase.LOCAL.lock;
+      synchronized(globalLock) {
+        // local write locks: wait for completion of global readers
+        if(writes.local()) {
+          while(globalReaders > 0) globalLock.wait();
+          localWriters++;
+        }
+        // global read lock: wait for completion of local writers (excluding the current job)
+        if(reads.global()) {
+          while(localWriters > 1 || localWriters == 1 && !writes.local()) globalLock.wait();
+          globalReaders++;
+        }
       }
+      if(writes.local() || reads.global()) time = Phase.LOCAL.waited(time);
+
+      // assign update locks (serialize writers if exclusive locks are deferred)
+      locks.updates = defer && writes.local();
+      locks.deferred = locks.updates && locks.deferrable && databases(reads) &&
+          databases(writes);
+      locks.upgraded = false;
+      if(locks.updates) time = Phase.UPDATES.waited(lock(locks, true, time), time);
+
+      // assign locks in sorted order (to ensure that write locks will be assigned first)
+      if(reads.local() || writes.local()) Phase.STRINGS.waited(lock(locks, false, time), time);
+    } finally {
+      locks.waiting = null;
+      queued.decrementAndGet();
     }
+    final long waited = System.nanoTime() - start;
+    locks.waited = waited;
+    Metrics.LOCK_WAITS.observe(waited);
+  }
 
-    // assign locks in sorted order (to ensure that write locks will be assigned first)
+  /**
+   * Assigns local locks in sorted order.
+   * @param locks locks
+   * @param updates assign update locks
+   * @param start start time (nano seconds)
+   * @return end time (nano seconds)
+   */
+  private long lock(final Locks locks, final boolean updates, final long start) {
+    final LockList reads = locks.reads, writes = locks.writes;
+    long time = start;
     int w = 0, r = 0;
     final int rs = reads.size(), ws = writes.size();
     while(r < rs || w < ws) {
-      if(w < ws && (r == rs || writes.get(w).compareTo(reads.get(r)) <= 0)) {
-        pin(writes.get(w++)).writeLock().lock();
-      } else {
-        pin(reads.get(r++)).readLock().lock();
-      }
+      // write locks are assigned first
+      final boolean write = w < ws && (r == rs || writes.get(w).compareTo(reads.get(r)) <= 0);
+      final String string = write ? writes.get(w++) : reads.get(r++);
+      final String key = updates ? update(locks, string, write) : string;
+      if(key == null) continue;
+
+      locks.waiting = key;
+      final LocalReadWriteLock lock = pin(key);
+      final boolean exclusive = write && (updates || !deferred(locks, string));
+      (exclusive ? lock.writeLock() : lock.readLock()).lock();
+      final long end = System.nanoTime();
+      Metrics.LOCK_STRINGS.observe(key, end - time);
+      time = end;
+    }
+    return time;
+  }
+
+  /**
+   * Acquires the exclusive locks that have been deferred for the current job.
+   * Must be called before the updates of a job are applied.
+   * Nothing will be done if the job has no deferred locks.
+   */
+  public void upgrade() {
+    final Locks locks = locked.get(Thread.currentThread().getId());
+    if(locks == null || !locks.deferred || locks.upgraded) return;
+
+    // release shared locks of the databases to be updated
+    final long start = System.nanoTime();
+    final LockList writes = locks.writes;
+    for(final String string : writes) {
+      if(deferred(locks, string)) unpin(string).readLock().unlock();
+    }
+    locks.upgraded = true;
+    // acquire exclusive locks in sorted order: writers of the same databases are serialized
+    // by their update locks, and the remaining shared locks will never be upgraded
+    final int ws = writes.size();
+    long time = start;
+    for(int w = 0; w < ws; w++) {
+      final String string = writes.get(w);
+      if(!database(string)) continue;
+      locks.waiting = string;
+      pin(string).writeLock().lock();
+      final long end = System.nanoTime();
+      Metrics.LOCK_STRINGS.observe(string, end - time);
+      time = end;
+    }
+    locks.waiting = null;
+    locks.waited += Phase.UPGRADE.waited(time, start) - start;
+  }
+
+  /**
+   * Returns the key of the update lock for the specified lock string.
+   * Update locks are assigned to databases that are updated. If exclusive locks are deferred,
+   * they will also be assigned to the databases that are read.
+   * @param locks locks
+   * @param string lock string
+   * @param write write flag
+   * @return key, or {@code null} if no update lock is required
+   */
+  private static String update(final Locks locks, final String string, final boolean write) {
+    return database(string) && (write || locks.deferred) ? UPDATE + string : null;
+  }
+
+  /**
+   * Checks if the exclusive lock for the specified string is currently deferred.
+   * @param locks locks
+   * @param string lock string
+   * @return result of check
+   */
+  private static boolean deferred(final Locks locks, final String string) {
+    return locks.deferred && !locks.upgraded && database(string);
+  }
+
+  /**
+   * Checks if the specified lock string references a database.
+   * @param string lock string
+   * @return result of check
+   */
+  private static boolean database(final String string) {
+    return !string.startsWith(PREFIX) && !string.startsWith(USER_PREFIX) &&
+        !string.startsWith(MODULE_PREFIX);
+  }
+
+  /**
+   * Checks if all strings of the specified list reference databases.
+   * @param list lock list
+   * @return result of check
+   */
+  private static boolean databases(final LockList list) {
+    for(final String string : list) {
+      if(!database(string)) return false;
     }
+    return true;
+  }
+
+  /**
+   * Returns the number of jobs that are waiting for locks.
+   * @return number of jobs
+   */
+  public int queued() {
+    return queued.get();
   }
 
   /**
@@ -154,7 +305,21 @@ public final class Locking {
 
     // release all local locks
     for(final String string : reads) unpin(string).readLock().unlock();
-    for(final String string : writes) unpin(string).writeLock().unlock();
+    for(final String string : writes) {
+      final LocalReadWriteLock rwl = unpin(string);
+      (deferred(locks, string) ? rwl.readLock() : rwl.writeLock()).unlock();
+    }
+    // release update locks
+    if(locks.updates) {
+      for(final String string : reads) {
+        final String key = update(locks, string, false);
+        if(key != null) unpin(key).readLock().unlock();
+      }
+      for(final String string : writes) {
+        final String key = update(locks, string, true);
+        if(key != null) unpin(key).writeLock().unlock();
+      }
+    }
 
     // allow next global reader to resume
     synchronized(globalLock) {
@@ -211,6 +376,47 @@ public final class Locking {
     }
   }
 
+  /** Locking phases. */
+  private enum Phase {
+    /** Job queue (limited by {@link StaticOptions#PARALLEL}). */
+    QUEUE,
+    /** Global read/write lock. */
+    GLOBAL,
+    /** Local writers waiting for global readers, and vice versa. */
+    LOCAL,
+    /** Update locks of writing jobs (see {@link StaticOptions#DEFERLOCK}). */
+    UPDATES,
+    /** Locks on single strings. */
+    STRINGS,
+    /** Exclusive locks of jobs with deferred locks (see {@link StaticOptions#DEFERLOCK}). */
+    UPGRADE;
+
+    /** Lock identifier, shown for jobs that are waiting in this phase. */
+    final String lock = PREFIX + name();
+    /** Label of the phase. */
+    final String label = name().toLowerCase(Locale.ENGLISH);
+
+    /**
+     * Records the time spent in this phase.
+     * @param start start time (nano seconds)
+     * @return end time (nano seconds)
+     */
+    long waited(final long start) {
+      return waited(System.nanoTime(), start);
+    }
+
+    /**
+     * Records the time spent in this phase.
+     * @param end end time (nano seconds)
+     * @param start start time (nano seconds)
+     * @return end time
+     */
+    long waited(final long end, final long start) {
+      Metrics.LOCK_PHASES.observe(label, end - start);
+      return end;
+    }
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder(NL).append("Locking").append(NL);
@@ -15,6 +15,25 @@ public final class Locks {
   /** Write locks. */
   public final LockList writes = new LockList();
 
+  /**
+   * Indicates if the exclusive database locks of the job can be deferred until its updates
+   * are applied (see {@link StaticOptions#DEFERLOCK}).
+   */
+  public boolean deferrable;
+
+  /** Indicates if update locks have been assigned. */
+  boolean updates;
+  /** Indicates if exclusive database locks have been deferred. */
+  boolean deferred;
+  /** Indicates if deferred exclusive locks have been acquired. */
+  boolean upgraded;
+  /** Phase or lock string the job is currently waiting for ({@code null} if not waiting). */
+  volatile String waiting;
+  /** Start of the lock acquisition (nano seconds; {@code 0} if not requested yet). */
+  volatile long requested;
+  /** Time spent waiting for locks (nano seconds; {@code -1} if locks are being acquired). */
+  volatile long waited = -1;
+
   /**
    * Finalizes locks. Replaces context references with current database, sorts entries,
    * removes duplicates, assigns global read lock if global write lock exists.
@@ -34,6 +53,24 @@ public final class Locks {
     reads.remove(writes);
   }
 
+  /**
+   * Returns the phase or lock string the job is currently waiting for.
+   * @return phase or lock string, or {@code null} if the job is not waiting
+   */
+  public String waiting() {
+    return waiting;
+  }
+
+  /**
+   * Returns the time spent waiting for locks. If locks are still being acquired,
+   * the time elapsed since the request will be returned.
+   * @return time in nano seconds, or {@code -1} if no locks have been requested yet
+   */
+  public long waited() {
+    final long w = waited, r = requested;
+    return w != -1 ? w : r != 0 ? System.nanoTime() - r : -1;
+  }
+
   @Override
   public String toString() {
     return "Reads: " + reads + ", Writes: " + writes;
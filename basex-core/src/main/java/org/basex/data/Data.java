@@ -100,6 +100,10 @@ public abstract class Data {
   public ValueIndex tokenIndex;
   /** Full-text index. */
   public ValueIndex ftIndex;
+  /** N-gram index. */
+  public ValueIndex ngramIndex;
+  /** Posting lists of element names (can be {@code null}). */
+  public ElemIndex elemIndex;
 
   /** Indicates if distances are to be updated. */
   public boolean updateDists = true;
@@ -175,7 +179,9 @@ public abstract class Data {
    * @return index iterator
    */
   public final IndexIterator iter(final IndexToken token) {
-    return index(token.type()).iter(token);
+    final IndexType type = token.type();
+    Metrics.INDEX_LOOKUPS.inc(type);
+    return index(type).iter(token);
   }
 
   /**
@@ -211,6 +217,7 @@ public abstract class Data {
       case ATTRIBUTE: return attrIndex;
       case TOKEN:     return tokenIndex;
       case FULLTEXT:  return ftIndex;
+      case NGRAM:     return ngramIndex;
       case PATH:      return paths;
       default:        throw Util.notExpected();
     }
@@ -523,18 +530,22 @@ public abstract class Data {
       } else {
         // update element name
         final IntList pres = new IntList();
-        // update text index
-        if(meta.updindex && meta.textindex) {
+        // update text indexes
+        if(meta.updindex && (meta.textindex || meta.ngramindex)) {
           final int last = pre + sz;
           for(int curr = pre + attSize(pre, kind); curr < last; curr += size(curr, kind(curr))) {
             if(kind(curr) == TEXT) pres.add(curr);
           }
-          textIndex.delete(new ValueCache(pres, IndexType.TEXT, this));
+          if(meta.textindex) textIndex.delete(new ValueCache(pres, IndexType.TEXT, this));
+          if(meta.ngramindex) ngramIndex.delete(new ValueCache(pres, IndexType.NGRAM, this));
         }
         table.write1(pre, 3, uriId);
         final int nameId = elemNames.put(name);
         table.write2(nsPre, 1, (nsFlag || nsFlag(nsPre) ? 1 << 15 : 0) | nameId);
-        if(!pres.isEmpty()) textIndex.add(new ValueCache(pres, IndexType.TEXT, this));
+        if(!pres.isEmpty()) {
+          if(meta.textindex) textIndex.add(new ValueCache(pres, IndexType.TEXT, this));
+          if(meta.ngramindex) ngramIndex.add(new ValueCache(pres, IndexType.NGRAM, this));
+        }
       }
     }
   }
@@ -1059,6 +1070,7 @@ public abstract class Data {
       if(meta.textindex) textIndex.delete(new ValueCache(pre, size, IndexType.TEXT, this));
       if(meta.attrindex) attrIndex.delete(new ValueCache(pre, size, IndexType.ATTRIBUTE, this));
       if(meta.tokenindex) tokenIndex.delete(new ValueCache(pre, size, IndexType.TOKEN, this));
+      if(meta.ngramindex) ngramIndex.delete(new ValueCache(pre, size, IndexType.NGRAM, this));
       if(id != -1) idmap.delete(pre, id, -size);
     }
   }
@@ -1077,6 +1089,7 @@ public abstract class Data {
       if(meta.textindex) textIndex.add(new ValueCache(pre, size, IndexType.TEXT, this));
       if(meta.attrindex) attrIndex.add(new ValueCache(pre, size, IndexType.ATTRIBUTE, this));
       if(meta.tokenindex) tokenIndex.add(new ValueCache(pre, size, IndexType.TOKEN, this));
+      if(meta.ngramindex) ngramIndex.add(new ValueCache(pre, size, IndexType.NGRAM, this));
     }
   }
 
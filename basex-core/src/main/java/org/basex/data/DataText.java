@@ -12,7 +12,7 @@ public interface DataText {
   // META DATA ====================================================================================
 
   /** Database version; older version cannot open these instances. */
-  String STORAGE = "8.6";
+  String STORAGE = "8.6.3";
   /** Index version; older version cannot open indexes of these instances. */
   String ISTORAGE = "8.6";
 
@@ -36,6 +36,8 @@ public interface DataText {
   String DBUPDIDX = "UPDINDEX";
   /** Automatic optimization. */
   String DBAUTOOPT = "AUTOOPT";
+  /** Posting lists of element names. */
+  String DBELMIDX = "ELMINDEX";
   /** Text index. */
   String DBTXTIDX = "TXTINDEX";
   /** Attribute index. */
@@ -44,6 +46,8 @@ public interface DataText {
   String DBTOKIDX = "TOKINDEX";
   /** Full-text index. */
   String DBFTXIDX = "FTXINDEX";
+  /** N-gram index. */
+  String DBNGRIDX = "NGRINDEX";
   /** Text index: names. */
   String DBTXTINC = "TXTINC";
   /** Attribute index: names. */
@@ -52,6 +56,8 @@ public interface DataText {
   String DBTOKINC = "TOKINC";
   /** Full-text index: names. */
   String DBFTXINC = "FTXINC";
+  /** N-gram index: names. */
+  String DBNGRINC = "NGRINC";
   /** Full-text stemming. */
   String DBFTST = "FTSTEM";
   /** Full-text language. */
@@ -62,6 +68,10 @@ public interface DataText {
   String DBFTCS = "FTCS";
   /** Full-text diacritics removal. */
   String DBFTDC = "FTDC";
+  /** Full-text index: number of indexed texts. */
+  String DBFTXTXT = "FTXTEXTS";
+  /** Full-text index: accumulated length of indexed texts. */
+  String DBFTXLEN = "FTXLENGTH";
   /** Maximum length of index entries. */
   String DBMAXLEN = "MAXLEN";
   /** Maximum number of categories. */
@@ -84,6 +94,8 @@ public interface DataText {
   String DBCRTTOK = "CRTTOK";
   /** Recreate full-text index. */
   String DBCRTFTX = "CRTFTX";
+  /** Recreate n-gram index. */
+  String DBCRTNGR = "CRTNGR";
 
   /** Full-text wildcards indexing (legacy, obsolete). */
   String DBWCIDX = "WCINDEX";
@@ -113,6 +125,8 @@ public interface DataText {
   String DATAATV = "atv";
   /** Database - Token index. */
   String DATATOK = "tok";
+  /** Database - N-gram index. */
+  String DATANGR = "ngr";
   /** Database - Full-text index. */
   String DATAFTX = "ftx";
   /** Database - Stopword list. */
@@ -123,6 +137,8 @@ public interface DataText {
   String DATAPTH = "pth";
   /** Database - ID->PRE mapping. */
   String DATAIDP = "idp";
+  /** Database - Posting lists of element names. */
+  String DATAELM = "elm";
 
   // XML SERIALIZATION ============================================================================
 
@@ -272,4 +288,10 @@ public interface DataText {
   byte[] TABLEURI = token("URI");
   /** Table kinds. */
   byte[][] TABLEKINDS = tokens("DOC ", "ELEM", "TEXT", "ATTR", "COMM", "PI  ");
+  /** Free space of texts. */
+  String TABLETXTF = "Texts";
+  /** Free space of attribute values. */
+  String TABLEATVF = "Attribute values";
+  /** Free space of heap files. */
+  String TABLEFREE_X_X_X = "%: % free, % reclaimed";
 }
@@ -19,6 +19,7 @@ import org.basex.io.in.DataInput;
 import org.basex.io.out.DataOutput;
 import org.basex.io.random.*;
 import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * This class stores and organizes the database table and the index structures
@@ -34,6 +35,10 @@ public final class DiskData extends Data {
   private DataAccess texts;
   /** Values access file. */
   private DataAccess values;
+  /** Free space of texts. */
+  private FreeSpace textSpace;
+  /** Free space of attribute values. */
+  private FreeSpace valueSpace;
 
   /**
    * Default constructor, called from {@link Open#open}.
@@ -65,12 +70,15 @@ public final class DiskData extends Data {
       if(meta.textindex) textIndex = new UpdatableDiskValues(this, IndexType.TEXT);
       if(meta.attrindex) attrIndex = new UpdatableDiskValues(this, IndexType.ATTRIBUTE);
       if(meta.tokenindex) tokenIndex = new UpdatableDiskValues(this, IndexType.TOKEN);
+      if(meta.ngramindex) ngramIndex = new UpdatableDiskValues(this, IndexType.NGRAM);
     } else {
       if(meta.textindex) textIndex = new DiskValues(this, IndexType.TEXT);
       if(meta.attrindex) attrIndex = new DiskValues(this, IndexType.ATTRIBUTE);
       if(meta.tokenindex) tokenIndex = new DiskValues(this, IndexType.TOKEN);
+      if(meta.ngramindex) ngramIndex = new DiskValues(this, IndexType.NGRAM);
     }
     if(meta.ftindex) ftIndex = new FTIndex(this);
+    if(meta.elemindex && meta.dbfile(DATAELM).exists()) elemIndex = new ElemIndex(this);
   }
 
   /**
@@ -103,6 +111,8 @@ public final class DiskData extends Data {
     table = new TableDiskAccess(meta, false);
     texts = new DataAccess(meta.dbfile(DATATXT));
     values = new DataAccess(meta.dbfile(DATAATV));
+    textSpace = new FreeSpace(texts, meta.dbfile(DATATXT + 'f'));
+    valueSpace = new FreeSpace(values, meta.dbfile(DATAATV + 'f'));
   }
 
   /**
@@ -110,6 +120,8 @@ public final class DiskData extends Data {
    * @throws IOException I/O exception
    */
   private void write() throws IOException {
+    textSpace.write();
+    valueSpace.write();
     if(!meta.dirty) return;
 
     try(DataOutput out = new DataOutput(meta.dbfile(DATAINF))) {
@@ -143,6 +155,8 @@ public final class DiskData extends Data {
       close(IndexType.ATTRIBUTE);
       close(IndexType.TOKEN);
       close(IndexType.FULLTEXT);
+      close(IndexType.NGRAM);
+      if(elemIndex != null) elemIndex.close();
     } catch(final IOException ex) {
       Util.stack(ex);
     }
@@ -167,7 +181,8 @@ public final class DiskData extends Data {
     close(type);
     final IndexBuilder ib;
     switch(type) {
-      case TEXT: case ATTRIBUTE: case TOKEN: ib = new DiskValuesBuilder(this, type); break;
+      case TEXT: case ATTRIBUTE: case TOKEN: case NGRAM:
+        ib = new DiskValuesBuilder(this, type); break;
       case FULLTEXT: ib = new FTBuilder(this); break;
       default: throw Util.notExpected();
     }
@@ -198,6 +213,7 @@ public final class DiskData extends Data {
       case ATTRIBUTE: attrIndex = index; break;
       case TOKEN:     tokenIndex = index; break;
       case FULLTEXT:  ftIndex = index; break;
+      case NGRAM:     ngramIndex = index; break;
       default:        break;
     }
   }
@@ -307,14 +323,76 @@ public final class DiskData extends Data {
     return false;
   }
 
+  /**
+   * Returns information on the free space of the heap files.
+   * @return info string
+   */
+  public String freeSpace() {
+    return Util.info(TABLEFREE_X_X_X, TABLETXTF, Performance.format(textSpace.free()),
+        Performance.format(textSpace.reclaimed())) + NL +
+        Util.info(TABLEFREE_X_X_X, TABLEATVF, Performance.format(valueSpace.free()),
+        Performance.format(valueSpace.reclaimed())) + NL;
+  }
+
+  /**
+   * Compacts the heap files by moving all entries to the beginning of the files.
+   */
+  public void compact() {
+    compact(true);
+    compact(false);
+  }
+
+  /**
+   * Compacts the specified heap file.
+   * @param text texts or attribute values
+   */
+  private void compact(final boolean text) {
+    final FreeSpace space = text ? textSpace : valueSpace;
+    if(space.free() == 0) return;
+
+    // collect references to all entries, sorted by their offsets
+    final IntList pres = new IntList();
+    final LongList offs = new LongList();
+    final int size = meta.size;
+    for(int pre = 0; pre < size; pre++) {
+      final int k = kind(pre);
+      if(k == ELEM || (k == ATTR) == text) continue;
+      final long ref = textRef(pre);
+      if(number(ref)) continue;
+      pres.add(pre);
+      offs.add(ref & IO.OFFCOMP - 1);
+    }
+    final int[] order = Array.createOrder(offs.toArray(), true);
+
+    // move entries
+    final DataAccess store = text ? texts : values;
+    final long length = store.length();
+    long pos = 0;
+    for(final int o : order) {
+      final int pre = pres.get(o);
+      final long ref = textRef(pre), off = ref & IO.OFFCOMP - 1;
+      final int l = store.readNum(off), sz = l + (int) (store.cursor() - off);
+      if(off != pos) {
+        final byte[] entry = store.readBytes(off, sz);
+        store.cursor(pos);
+        store.writeBytes(entry, 0, sz);
+        textRef(pre, compressed(ref) ? pos | IO.OFFCOMP : pos);
+      }
+      pos += sz;
+    }
+    store.length(pos);
+    space.clear(length - pos);
+    meta.dirty = true;
+  }
+
   // UPDATE OPERATIONS ========================================================
 
   @Override
   protected void delete(final int pre, final boolean text) {
     // old entry (offset or value)
     final long old = textRef(pre);
-    // fill unused space with zero-bytes
-    if(!number(old)) (text ? texts : values).free(old & IO.OFFCOMP - 1, 0);
+    // register unused space
+    if(!number(old)) (text ? textSpace : valueSpace).free(old & IO.OFFCOMP - 1);
   }
 
   @Override
@@ -323,32 +401,23 @@ public final class DiskData extends Data {
     indexDelete(pre, -1, 1);
 
     // reference to heap file
-    final DataAccess store = kind == ATTR ? values : texts;
-    // old entry (offset or value)
+    final boolean text = kind != ATTR;
+    final DataAccess store = text ? texts : values;
+    final FreeSpace space = text ? textSpace : valueSpace;
+    // old entry (offset or value): invalidate it if it was not inlined
     final long oldRef = textRef(pre);
+    if(!number(oldRef)) space.free(oldRef & IO.OFFCOMP - 1);
 
     // check if new entry is numeric and can be inlined
     final long v = toSimpleInt(value);
     if(v != Integer.MIN_VALUE) {
-      // invalidate old entry if it was not inlined
-      if(!number(oldRef)) store.free(oldRef & IO.OFFCOMP - 1, 0);
       // inline integer value
       textRef(pre, v | IO.OFFNUM);
     } else {
-      // otherwise, try to compress new value
+      // otherwise, try to compress new value and choose inserting position
       final byte[] val = Compress.pack(value);
-
-      // choose inserting position
-      final long off;
-      if(number(oldRef)) {
-        // old entry was numeric: append new entry to heap file
-        off = store.length();
-      } else {
-        // otherwise, compute inserting position and invalidate old entry
-        final int vl = val.length;
-        off = store.free(oldRef & IO.OFFCOMP - 1, vl + Num.length(vl));
-      }
-
+      final int vl = val.length;
+      final long off = space.alloc(vl + Num.length(vl));
       store.writeToken(off, val);
       textRef(pre, val == value ? off : off | IO.OFFCOMP);
     }
@@ -365,8 +434,9 @@ public final class DiskData extends Data {
 
     // store text to heap file
     final DataAccess store = text ? texts : values;
-    final long off = store.length();
     final byte[] val = Compress.pack(value);
+    final int vl = val.length;
+    final long off = (text ? textSpace : valueSpace).alloc(vl + Num.length(vl));
     store.writeToken(off, val);
     return val == value ? off : off | IO.OFFCOMP;
   }
@@ -74,7 +74,7 @@ public final class MemData extends Data {
   public void createIndex(final IndexType type, final Command cmd) throws IOException {
     final IndexBuilder ib;
     switch(type) {
-      case TEXT: case ATTRIBUTE: case TOKEN:
+      case TEXT: case ATTRIBUTE: case TOKEN: case NGRAM:
         ib = new MemValuesBuilder(this, type); break;
       case FULLTEXT:
         throw new BaseXException(NO_MAINMEM);
@@ -95,6 +95,7 @@ public final class MemData extends Data {
       case TEXT:      break;
       case ATTRIBUTE: break;
       case TOKEN:     break;
+      case NGRAM:     break;
       case FULLTEXT:  throw new BaseXException(NO_MAINMEM);
       default:        throw Util.notExpected();
     }
@@ -113,6 +114,7 @@ public final class MemData extends Data {
       case ATTRIBUTE: attrIndex = index; break;
       case TOKEN:     tokenIndex = index; break;
       case FULLTEXT:  ftIndex = index; break;
+      case NGRAM:     ngramIndex = index; break;
       default:        break;
     }
   }
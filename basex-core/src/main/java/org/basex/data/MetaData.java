@@ -46,11 +46,15 @@ public final class MetaData {
   public boolean tokenindex;
   /** Indicates if a full-text index exists. */
   public boolean ftindex;
+  /** Indicates if an n-gram index exists. */
+  public boolean ngramindex;
 
   /** Flag for activated automatic index update. */
   public boolean updindex;
   /** Flag for automatic index updating. */
   public boolean autooptimize;
+  /** Flag for maintaining posting lists of element names. */
+  public boolean elemindex;
 
   /** Indicates if the text index is to be recreated. */
   public boolean createtext;
@@ -60,6 +64,8 @@ public final class MetaData {
   public boolean createtoken;
   /** Indicates if the full-text index is to be recreated. */
   public boolean createft;
+  /** Indicates if the n-gram index is to be recreated. */
+  public boolean createngram;
   /** Text index: names to include. */
   public String textinclude = "";
   /** Attribute index: names to include. */
@@ -68,6 +74,8 @@ public final class MetaData {
   public String tokeninclude = "";
   /** Full-text index: names to include. */
   public String ftinclude = "";
+  /** N-gram index: names to include. */
+  public String ngraminclude = "";
 
   /** Flag for full-text stemming. */
   public boolean stemming;
@@ -77,6 +85,10 @@ public final class MetaData {
   public boolean diacritics;
   /** Full-text stopword file. */
   public String stopwords = "";
+  /** Number of texts in the full-text index. */
+  public int fttexts;
+  /** Accumulated length of all texts in the full-text index. */
+  public long ftlength;
 
   /** Maximum number of categories. */
   public int maxcats;
@@ -128,11 +140,13 @@ public final class MetaData {
     createattr = options.get(MainOptions.ATTRINDEX);
     createtoken = options.get(MainOptions.TOKENINDEX);
     createft = options.get(MainOptions.FTINDEX);
+    createngram = options.get(MainOptions.NGRAMINDEX);
     diacritics = options.get(MainOptions.DIACRITICS);
     stemming = options.get(MainOptions.STEMMING);
     casesens = options.get(MainOptions.CASESENS);
     updindex = options.get(MainOptions.UPDINDEX);
     autooptimize = options.get(MainOptions.AUTOOPTIMIZE);
+    elemindex = options.get(MainOptions.ELEMINDEX);
     maxlen = options.get(MainOptions.MAXLEN);
     maxcats = options.get(MainOptions.MAXCATS);
     stopwords = options.get(MainOptions.STOPWORDS);
@@ -141,6 +155,7 @@ public final class MetaData {
     attrinclude = options.get(MainOptions.ATTRINCLUDE);
     tokeninclude = options.get(MainOptions.TOKENINCLUDE);
     ftinclude = options.get(MainOptions.FTINCLUDE);
+    ngraminclude = options.get(MainOptions.NGRAMINCLUDE);
     splitsize = options.get(MainOptions.SPLITSIZE);
   }
 
@@ -292,6 +307,7 @@ public final class MetaData {
       case ATTRIBUTE: return attrindex;
       case TOKEN:     return tokenindex;
       case FULLTEXT:  return ftindex;
+      case NGRAM:     return ngramindex;
       default:        throw Util.notExpected();
     }
   }
@@ -307,6 +323,7 @@ public final class MetaData {
       case ATTRIBUTE: attrindex = exists; break;
       case TOKEN:     tokenindex = exists; break;
       case FULLTEXT:  ftindex = exists; break;
+      case NGRAM:     ngramindex = exists; break;
       default:        throw Util.notExpected();
     }
   }
@@ -322,6 +339,7 @@ public final class MetaData {
       case ATTRIBUTE: return attrinclude;
       case TOKEN:     return tokeninclude;
       case FULLTEXT:  return ftinclude;
+      case NGRAM:     return ngraminclude;
       default:        throw Util.notExpected();
     }
   }
@@ -337,6 +355,7 @@ public final class MetaData {
       case ATTRIBUTE: attrinclude = options.get(MainOptions.ATTRINCLUDE); break;
       case TOKEN:     tokeninclude = options.get(MainOptions.TOKENINCLUDE); break;
       case FULLTEXT:  ftinclude = options.get(MainOptions.FTINCLUDE); break;
+      case NGRAM:     ngraminclude = options.get(MainOptions.NGRAMINCLUDE); break;
       default:        throw Util.notExpected();
     }
   }
@@ -367,6 +386,8 @@ public final class MetaData {
         else if(k.equals(DBNDOCS))    ndocs        = toInt(v);
         else if(k.equals(DBSCTYPE))   scoring      = toInt(v);
         else if(k.equals(DBMAXLEN))   maxlen       = toInt(v);
+        else if(k.equals(DBFTXTXT))   fttexts      = toInt(v);
+        else if(k.equals(DBFTXLEN))   ftlength     = toLong(v);
         else if(k.equals(DBMAXCATS))  maxcats      = toInt(v);
         else if(k.equals(DBLASTID))   lastid       = toInt(v);
         else if(k.equals(DBTIME))     time         = toLong(v);
@@ -374,19 +395,23 @@ public final class MetaData {
         else if(k.equals(DBFTDC))     diacritics   = toBool(v);
         else if(k.equals(DBUPDIDX))   updindex     = toBool(v);
         else if(k.equals(DBAUTOOPT))  autooptimize = toBool(v);
+        else if(k.equals(DBELMIDX))   elemindex    = toBool(v);
         else if(k.equals(DBTXTIDX))   textindex    = toBool(v);
         else if(k.equals(DBATVIDX))   attrindex    = toBool(v);
         else if(k.equals(DBTOKIDX))   tokenindex   = toBool(v);
         else if(k.equals(DBFTXIDX))   ftindex      = toBool(v);
+        else if(k.equals(DBNGRIDX))   ngramindex   = toBool(v);
         else if(k.equals(DBTXTINC))   textinclude  = v;
         else if(k.equals(DBATVINC))   attrinclude  = v;
         else if(k.equals(DBTOKINC))   tokeninclude = v;
         else if(k.equals(DBFTXINC))   ftinclude    = v;
+        else if(k.equals(DBNGRINC))   ngraminclude = v;
         else if(k.equals(DBSPLITS))   splitsize    = toInt(v);
         else if(k.equals(DBCRTTXT))   createtext   = toBool(v);
         else if(k.equals(DBCRTATV))   createattr   = toBool(v);
         else if(k.equals(DBCRTTOK))   createtoken  = toBool(v);
         else if(k.equals(DBCRTFTX))   createft     = toBool(v);
+        else if(k.equals(DBCRTNGR))   createngram  = toBool(v);
         else if(k.equals(DBWCIDX))    wcindex      = toBool(v);
         else if(k.equals(DBFTST))     stemming     = toBool(v);
         else if(k.equals(DBFTCS))     casesens     = toBool(v);
@@ -422,23 +447,29 @@ public final class MetaData {
     writeInfo(out, DBSIZE,     size);
     writeInfo(out, DBUPDIDX,   updindex);
     writeInfo(out, DBAUTOOPT,  autooptimize);
+    writeInfo(out, DBELMIDX,   elemindex);
     writeInfo(out, DBTXTIDX,   textindex);
     writeInfo(out, DBATVIDX,   attrindex);
     writeInfo(out, DBTOKIDX,   tokenindex);
     writeInfo(out, DBFTXIDX,   ftindex);
+    writeInfo(out, DBNGRIDX,   ngramindex);
     writeInfo(out, DBTXTINC,   textinclude);
     writeInfo(out, DBATVINC,   attrinclude);
     writeInfo(out, DBTOKINC,   tokeninclude);
     writeInfo(out, DBFTXINC,   ftinclude);
+    writeInfo(out, DBNGRINC,   ngraminclude);
     writeInfo(out, DBSPLITS,   splitsize);
     writeInfo(out, DBCRTTXT,   createtext);
     writeInfo(out, DBCRTATV,   createattr);
     writeInfo(out, DBCRTTOK,   createtoken);
     writeInfo(out, DBCRTFTX,   createft);
+    writeInfo(out, DBCRTNGR,   createngram);
     writeInfo(out, DBFTST,     stemming);
     writeInfo(out, DBFTCS,     casesens);
     writeInfo(out, DBFTDC,     diacritics);
     writeInfo(out, DBFTSW,     stopwords);
+    writeInfo(out, DBFTXTXT,   fttexts);
+    writeInfo(out, DBFTXLEN,   ftlength);
     writeInfo(out, DBMAXLEN,   maxlen);
     writeInfo(out, DBMAXCATS,  maxcats);
     writeInfo(out, DBUPTODATE, uptodate);
@@ -459,6 +490,7 @@ public final class MetaData {
       textindex = false;
       attrindex = false;
       tokenindex = false;
+      ngramindex = false;
     }
     ftindex = false;
   }
@@ -85,6 +85,11 @@ public enum MetaProp {
     public Boolean value(final MetaData meta) { return meta.ftindex; }
   },
   /** Property. */
+  NGRAMINDEX(true) {
+    @Override
+    public Boolean value(final MetaData meta) { return meta.ngramindex; }
+  },
+  /** Property. */
   TEXTINCLUDE(true) {
     @Override
     public String value(final MetaData meta) { return meta.textinclude; }
@@ -105,6 +110,11 @@ public enum MetaProp {
     public String value(final MetaData meta) { return meta.ftinclude; }
   },
   /** Property. */
+  NGRAMINCLUDE(true) {
+    @Override
+    public String value(final MetaData meta) { return meta.ngraminclude; }
+  },
+  /** Property. */
   LANGUAGE(true) {
     @Override
     public String value(final MetaData meta) { return meta.language.toString(); }
@@ -140,6 +150,11 @@ public enum MetaProp {
     public Boolean value(final MetaData meta) { return meta.autooptimize; }
   },
   /** Property. */
+  ELEMINDEX(true) {
+    @Override
+    public Boolean value(final MetaData meta) { return meta.elemindex; }
+  },
+  /** Property. */
   MAXCATS(true) {
     @Override
     public Integer value(final MetaData meta) { return meta.maxcats; }
@@ -58,7 +58,7 @@ public abstract class IndexBuilder extends Job {
     splitSize = (int) Math.min(Integer.MAX_VALUE, (long) data.meta.splitsize * splitFactor());
     size = data.meta.size;
     includeNames = new IndexNames(type, data);
-    text = type == IndexType.TEXT || type == IndexType.FULLTEXT;
+    text = type.text();
 
     // run garbage collection if memory maximum is already reached
     if(Performance.memory() >= maxMem) clean();
@@ -170,6 +170,7 @@ public abstract class IndexBuilder extends Job {
       case ATTRIBUTE: return INDEX_ATTRIBUTES_D;
       case TOKEN: return INDEX_TOKENS_D;
       case FULLTEXT: return INDEX_FULLTEXT_D;
+      case NGRAM: return INDEX_NGRAMS_D;
       default: throw Util.notExpected();
     }
   }
@@ -1,5 +1,7 @@
 package org.basex.index;
 
+import static org.basex.util.Token.*;
+
 import java.util.*;
 
 /**
@@ -22,7 +24,38 @@ public enum IndexType {
   /** Token index. */
   TOKEN,
   /** Full-text index. */
-  FULLTEXT;
+  FULLTEXT,
+  /** N-gram index. */
+  NGRAM;
+
+  /** Length of n-gram index keys. */
+  public static final int NGRAM_LENGTH = 3;
+
+  /**
+   * Indicates if texts or attribute values are split into multiple keys.
+   * @return result of check
+   */
+  public boolean tokenize() {
+    return this == TOKEN || this == NGRAM;
+  }
+
+  /**
+   * Indicates if the index refers to text nodes.
+   * @return result of check
+   */
+  public boolean text() {
+    return this == TEXT || this == FULLTEXT || this == NGRAM;
+  }
+
+  /**
+   * Returns the distinct keys of a text or attribute value.
+   * Must only be called for index types that tokenize their input.
+   * @param value text or attribute value
+   * @return distinct keys
+   */
+  public byte[][] keys(final byte[] value) {
+    return this == NGRAM ? distinctNGrams(value, NGRAM_LENGTH) : distinctTokens(value);
+  }
 
   @Override
   public String toString() {
@@ -27,6 +27,10 @@ public final class FTBuilder extends IndexBuilder {
   private final FTLexer lexer;
   /** Number of indexed tokens. */
   private long ntok;
+  /** Number of indexed texts. */
+  private int ntexts;
+  /** Accumulated length of indexed texts. */
+  private long nlength;
 
   /**
    * Constructor.
@@ -64,7 +68,10 @@ public final class FTBuilder extends IndexBuilder {
 
         // current lexer position
         final StopWords sw = lexer.ftOpt().sw;
-        lexer.init(data.text(pre, true));
+        final byte[] text = data.text(pre, true);
+        lexer.init(text);
+        ntexts++;
+        nlength += text.length;
         int pos = -1;
         while(lexer.hasNext()) {
           final byte[] tok = lexer.nextToken();
@@ -85,6 +92,9 @@ public final class FTBuilder extends IndexBuilder {
       // finalize partial or all index structures
       write(splits > 0);
 
+      // statistics for scoring
+      data.meta.fttexts = ntexts;
+      data.meta.ftlength = nlength;
       finishIndex();
       return new FTIndex(data);
 
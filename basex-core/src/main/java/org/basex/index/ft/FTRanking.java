@@ -0,0 +1,309 @@
+package org.basex.index.ft;
+
+import java.util.*;
+
+import org.basex.data.*;
+import org.basex.index.query.*;
+import org.basex.util.*;
+import org.basex.util.ft.*;
+import org.basex.util.list.*;
+
+/**
+ * <p>This class returns the best-scored texts for a number of full-text index tokens.
+ * Texts are scored via {@link Scoring#bm25}. The number of texts that contain a token
+ * is derived from its index entries, and the average text length is taken from the
+ * meta data of the database.</p>
+ *
+ * <p>The MaxScore strategy is applied to skip texts that cannot be part of the result:
+ * Tokens are sorted by their maximum score. As soon as the requested number of results
+ * has been found, tokens with the lowest maximum scores will only be looked up for texts
+ * that are found via the remaining tokens. Texts are only fully scored (which includes
+ * reading their length) if their maximum score exceeds the current threshold.</p>
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class FTRanking {
+  /** Data reference. */
+  private final Data data;
+  /** Maximum number of results. */
+  private final int max;
+  /** Indicates if all tokens must be found in a text. */
+  private final boolean all;
+  /** Posting lists. */
+  private final ArrayList<Postings> postings = new ArrayList<>();
+
+  /** Pre values of the best texts (min heap). */
+  private int[] pres = {};
+  /** Scores of the best texts (min heap). */
+  private double[] scores = {};
+  /** Number of texts in the heap. */
+  private int size;
+
+  /**
+   * Constructor.
+   * @param data data reference
+   * @param max maximum number of results
+   * @param all indicates if all tokens must be found in a text
+   */
+  public FTRanking(final Data data, final int max, final boolean all) {
+    this.data = data;
+    this.max = Math.max(0, max);
+    this.all = all;
+  }
+
+  /**
+   * Adds the index entries of a token.
+   * @param iter index iterator
+   */
+  public void add(final FTIndexIterator iter) {
+    final IntList pr = new IntList(), tf = new IntList();
+    while(iter.more()) {
+      pr.add(iter.pre());
+      tf.add(iter.matches().size());
+    }
+    final int n = data.meta.fttexts > 0 ? data.meta.fttexts : data.meta.size;
+    postings.add(new Postings(pr.finish(), tf.finish(), Scoring.idf(pr.size(), n)));
+  }
+
+  /**
+   * Computes the best-scored texts.
+   * @return number of results
+   */
+  public int rank() {
+    final int tl = postings.size();
+    if(max == 0 || tl == 0) return 0;
+
+    // sort tokens by maximum scores, accumulate maximum scores
+    final Postings[] pst = postings.toArray(new Postings[tl]);
+    Arrays.sort(pst, new Comparator<Postings>() {
+      @Override
+      public int compare(final Postings p1, final Postings p2) {
+        return Double.compare(p1.max, p2.max);
+      }
+    });
+    final double[] acc = new double[tl];
+    long texts = all ? Long.MAX_VALUE : 0;
+    for(int t = 0; t < tl; t++) {
+      // texts must contain all tokens: abort if one token is not found
+      final int pl = pst[t].pres.length;
+      if(all && pl == 0) return 0;
+      texts = all ? Math.min(texts, pl) : texts + pl;
+      acc[t] = (t == 0 ? 0 : acc[t - 1]) + pst[t].max;
+    }
+    // size of the heap: number of requested results, limited by the number of candidate texts
+    final int hs = (int) Math.min(max, texts);
+    pres = new int[hs];
+    scores = new double[hs];
+    if(hs == 0) return 0;
+
+    final MetaData meta = data.meta;
+    final double avg = meta.fttexts > 0 ? (double) meta.ftlength / meta.fttexts : 0;
+    final boolean[] found = new boolean[tl];
+    // scores below or equal to the threshold will be ignored
+    double threshold = -1;
+    // index of first essential token
+    int ess = 0;
+
+    while(true) {
+      // choose next candidate from the essential tokens
+      int pre = Integer.MAX_VALUE;
+      for(int t = ess; t < tl; t++) {
+        final Postings p = pst[t];
+        if(p.c < p.pres.length) pre = Math.min(pre, p.pres[p.c]);
+      }
+      if(pre == Integer.MAX_VALUE) break;
+
+      double bound = 0;
+      int hits = 0;
+      for(int t = ess; t < tl; t++) {
+        final Postings p = pst[t];
+        found[t] = p.c < p.pres.length && p.pres[p.c] == pre;
+        if(found[t]) {
+          bound += p.max;
+          hits++;
+        }
+      }
+      // probe non-essential tokens, skip text as soon as threshold cannot be exceeded
+      for(int t = ess - 1; t >= 0; t--) {
+        found[t] = false;
+        if(bound + acc[t] <= threshold) {
+          bound = -1;
+          break;
+        }
+        found[t] = pst[t].skip(pre);
+        if(found[t]) {
+          bound += pst[t].max;
+          hits++;
+        }
+      }
+
+      if(bound > threshold && (!all || hits == tl)) {
+        // compute exact score
+        final int len = data.textLen(pre, true);
+        double score = 0;
+        for(int t = 0; t < tl; t++) {
+          if(found[t]) score += Scoring.bm25(pst[t].idf, pst[t].tf(), len, avg);
+        }
+        if(size < hs || score > scores[0]) {
+          push(pre, score);
+          if(size == hs) {
+            threshold = scores[0];
+            while(ess < tl && acc[ess] <= threshold) ess++;
+          }
+        }
+      }
+
+      // advance essential tokens
+      for(int t = ess; t < tl; t++) {
+        final Postings p = pst[t];
+        if(p.c < p.pres.length && p.pres[p.c] == pre) p.c++;
+      }
+    }
+    sort();
+    return size;
+  }
+
+  /**
+   * Returns the pre value of the specified result.
+   * @param i index of result (sorted by descending scores)
+   * @return pre value
+   */
+  public int pre(final int i) {
+    return pres[i];
+  }
+
+  /**
+   * Returns the score of the specified result.
+   * @param i index of result (sorted by descending scores)
+   * @return score
+   */
+  public double score(final int i) {
+    return scores[i];
+  }
+
+  /**
+   * Adds a result to the min heap. If the heap is full, the worst result will be replaced.
+   * @param pre pre value
+   * @param score score
+   */
+  private void push(final int pre, final double score) {
+    int i;
+    if(size < pres.length) {
+      // sift up
+      i = size++;
+      while(i > 0) {
+        final int p = i - 1 >>> 1;
+        if(!worse(pre, score, pres[p], scores[p])) break;
+        pres[i] = pres[p];
+        scores[i] = scores[p];
+        i = p;
+      }
+    } else {
+      // replace root, sift down
+      i = 0;
+      while(true) {
+        int c = (i << 1) + 1;
+        if(c >= size) break;
+        if(c + 1 < size && worse(pres[c + 1], scores[c + 1], pres[c], scores[c])) c++;
+        if(!worse(pres[c], scores[c], pre, score)) break;
+        pres[i] = pres[c];
+        scores[i] = scores[c];
+        i = c;
+      }
+    }
+    pres[i] = pre;
+    scores[i] = score;
+  }
+
+  /**
+   * Checks if the first result is ranked lower than the second one.
+   * If scores are equal, the result with the larger pre value is ranked lower.
+   * @param pre1 first pre value
+   * @param score1 first score
+   * @param pre2 second pre value
+   * @param score2 second score
+   * @return result of check
+   */
+  private static boolean worse(final int pre1, final double score1, final int pre2,
+      final double score2) {
+    return score1 < score2 || score1 == score2 && pre1 > pre2;
+  }
+
+  /**
+   * Sorts the results by descending scores and ascending pre values.
+   */
+  private void sort() {
+    final Integer[] order = new Integer[size];
+    for(int i = 0; i < size; i++) order[i] = i;
+    final int[] pr = pres.clone();
+    final double[] sc = scores.clone();
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(final Integer i1, final Integer i2) {
+        final int c = Double.compare(sc[i2], sc[i1]);
+        return c != 0 ? c : Integer.compare(pr[i1], pr[i2]);
+      }
+    });
+    for(int i = 0; i < size; i++) {
+      pres[i] = pr[order[i]];
+      scores[i] = sc[order[i]];
+    }
+  }
+
+  /**
+   * Index entries of a single token.
+   */
+  private static final class Postings {
+    /** Distinct pre values (sorted). */
+    private final int[] pres;
+    /** Number of occurrences of the token in the texts. */
+    private final int[] tfs;
+    /** Inverse document frequency. */
+    private final double idf;
+    /** Maximum score. */
+    private final double max;
+    /** Cursor. */
+    private int c;
+
+    /**
+     * Constructor.
+     * @param pres pre values
+     * @param tfs token frequencies
+     * @param idf inverse document frequency
+     */
+    private Postings(final int[] pres, final int[] tfs, final double idf) {
+      this.pres = pres;
+      this.tfs = tfs;
+      this.idf = idf;
+      max = Scoring.bm25Max(idf);
+    }
+
+    /**
+     * Moves the cursor to the first entry that is equal to or greater than the specified value.
+     * @param pre pre value
+     * @return {@code true} if the value was found
+     */
+    private boolean skip(final int pre) {
+      final int s = pres.length;
+      if(c < s && pres[c] < pre) {
+        final int i = Arrays.binarySearch(pres, c, s, pre);
+        c = i < 0 ? -i - 1 : i;
+      }
+      return c < s && pres[c] == pre;
+    }
+
+    /**
+     * Returns the token frequency at the current cursor position.
+     * @return token frequency
+     */
+    private int tf() {
+      return tfs[c];
+    }
+
+    @Override
+    public String toString() {
+      return Util.className(this) + '[' + pres.length + " entries]";
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package org.basex.index.name;
+
+import static org.basex.data.DataText.*;
+
+import java.io.*;
+
+import org.basex.data.*;
+import org.basex.io.out.DataOutput;
+import org.basex.io.random.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * This class provides the sorted pre values of all elements with a specific name (posting lists).
+ * The lists are built from the table of a database. They will only be consulted if the
+ * structural indexes of the database are up-to-date.
+ *
+ * The lists of disk-based databases are stored in a single file. The file starts with the
+ * number of names and the offsets of all lists. Each list is stored as the number of entries,
+ * followed by the compressed distances between the pre values.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class ElemIndex {
+  /** Posting lists (main-memory databases). */
+  private final int[][] lists;
+  /** Offsets of the posting lists (disk-based databases). */
+  private final long[] offsets;
+  /** Disk access (disk-based databases). */
+  private final DataAccess da;
+
+  /**
+   * Constructor for main-memory lists.
+   * @param lists posting lists
+   */
+  private ElemIndex(final int[][] lists) {
+    this.lists = lists;
+    offsets = null;
+    da = null;
+  }
+
+  /**
+   * Constructor, opening the posting lists of a disk-based database.
+   * @param data data reference
+   * @throws IOException I/O exception
+   */
+  public ElemIndex(final Data data) throws IOException {
+    da = new DataAccess(data.meta.dbfile(DATAELM));
+    final int ids = da.readNum();
+    offsets = new long[ids + 1];
+    for(int i = 0; i <= ids; i++) offsets[i] = da.read5();
+    lists = null;
+  }
+
+  /**
+   * Builds the posting lists and assigns them to the specified database.
+   * @param data data reference
+   * @throws IOException I/O exception
+   */
+  public static void build(final Data data) throws IOException {
+    drop(data);
+
+    final int ids = data.elemNames.size() + 1, size = data.meta.size;
+    final IntList[] pres = new IntList[ids];
+    for(int pre = 0; pre < size; pre++) {
+      if(data.kind(pre) != Data.ELEM) continue;
+      final int id = data.nameId(pre);
+      if(pres[id] == null) pres[id] = new IntList();
+      pres[id].add(pre);
+    }
+
+    if(data.inMemory()) {
+      final int[][] lists = new int[ids][];
+      for(int i = 0; i < ids; i++) lists[i] = pres[i] == null ? new int[0] : pres[i].finish();
+      data.elemIndex = new ElemIndex(lists);
+    } else {
+      // compute offsets of the lists (including end offset)
+      final long[] offs = new long[ids + 1];
+      long off = Num.length(ids) + (ids + 1) * 5L;
+      for(int i = 0; i < ids; i++) {
+        if(pres[i] == null) pres[i] = new IntList(1);
+        offs[i] = off;
+        final IntList il = pres[i];
+        final int is = il.size();
+        off += Num.length(is);
+        for(int p = 0, c = 0; p < is; p++) {
+          final int pre = il.get(p);
+          off += Num.length(pre - c);
+          c = pre;
+        }
+      }
+      offs[ids] = off;
+
+      try(DataOutput out = new DataOutput(data.meta.dbfile(DATAELM))) {
+        out.writeNum(ids);
+        for(final long o : offs) out.write5(o);
+        for(final IntList il : pres) out.writeDiffs(il);
+      }
+      data.elemIndex = new ElemIndex(data);
+    }
+  }
+
+  /**
+   * Closes and deletes the posting lists of the specified database.
+   * @param data data reference
+   */
+  public static void drop(final Data data) {
+    if(data.elemIndex != null) {
+      data.elemIndex.close();
+      data.elemIndex = null;
+    }
+    if(!data.inMemory()) data.meta.dbfile(DATAELM).delete();
+  }
+
+  /**
+   * Returns the number of elements with the specified name.
+   * @param id id of element name
+   * @return number of elements
+   */
+  public int size(final int id) {
+    if(lists != null) return id < lists.length ? lists[id].length : 0;
+    return id < offsets.length - 1 ? da.readNum(offsets[id]) : 0;
+  }
+
+  /**
+   * Returns the sorted pre values of all elements with the specified name.
+   * @param id id of element name
+   * @return pre values
+   */
+  public int[] pres(final int id) {
+    if(lists != null) return id < lists.length ? lists[id] : new int[0];
+    if(id >= offsets.length - 1) return new int[0];
+
+    synchronized(da) {
+      da.cursor(offsets[id]);
+      final int s = da.readNum();
+      final int[] pres = new int[s];
+      for(int p = 0, pre = 0; p < s; p++) {
+        pre += da.readNum();
+        pres[p] = pre;
+      }
+      return pres;
+    }
+  }
+
+  /**
+   * Closes the posting lists.
+   */
+  public void close() {
+    if(da != null) da.close();
+  }
+
+  @Override
+  public String toString() {
+    return Util.className(this) + '[' + (lists != null ? lists.length : offsets.length - 1) + ']';
+  }
+}
@@ -133,6 +133,29 @@ public final class PathIndex implements Index {
     return out;
   }
 
+  /**
+   * Returns the path node of the specified element or document node.
+   * Called during query evaluation.
+   * @param pre pre value
+   * @return path node, or {@code null} if the node cannot be assigned to a path node
+   */
+  public PathNode node(final int pre) {
+    // collect ancestors up to the document node
+    final IntList pres = new IntList();
+    int p = pre, k = data.kind(p);
+    while(k != Data.DOC) {
+      if(k != Data.ELEM) return null;
+      pres.push(p);
+      p = data.parent(p, k);
+      if(p == -1) return null;
+      k = data.kind(p);
+    }
+    // descend from the root node
+    PathNode node = root;
+    while(node != null && !pres.isEmpty()) node = node.child(data.nameId(pres.pop()), Data.ELEM);
+    return node;
+  }
+
   /**
    * Returns all parents of the specified nodes.
    * Called by the query optimizer.
@@ -35,6 +35,10 @@ public final class PathNode {
    *  1: test flag;
    *  2: element can be empty. */
   private byte empty;
+  /** Ids of the element names that occur in the descendants of this node (lazy assignment).
+   *  The array is completely built before it is assigned, and volatile to ensure that
+   *  concurrent readers will only see the complete array. */
+  private volatile BitArray names;
 
   /**
    * Empty constructor.
@@ -177,6 +181,44 @@ public final class PathNode {
     for(final PathNode child : children) child.addDesc(nodes, nm);
   }
 
+  /**
+   * Returns the child node with the specified name and kind.
+   * @param nm name id
+   * @param knd node kind
+   * @return child node, or {@code null}
+   */
+  public PathNode child(final int nm, final byte knd) {
+    for(final PathNode child : children) {
+      if(child.kind == knd && child.name == nm) return child;
+    }
+    return null;
+  }
+
+  /**
+   * Checks if an element with the specified name occurs in the descendants of this node.
+   * @param nm name id
+   * @return result of check
+   */
+  public boolean contains(final int nm) {
+    BitArray ba = names;
+    if(ba == null) {
+      ba = new BitArray();
+      for(final PathNode child : children) child.addNames(ba);
+      names = ba;
+    }
+    return ba.get(nm);
+  }
+
+  /**
+   * Recursively adds the element names of this node and its descendants.
+   * @param ba name ids
+   */
+  private void addNames(final BitArray ba) {
+    if(kind != Data.ELEM) return;
+    ba.set(name);
+    for(final PathNode child : children) child.addNames(ba);
+  }
+
   /**
    * Returns a readable representation of this node.
    * @param data data reference
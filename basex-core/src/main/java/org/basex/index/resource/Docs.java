@@ -16,9 +16,9 @@ import org.basex.util.list.*;
  * <p>This data structure contains references to all document nodes in a database.
  * The document nodes are incrementally updated.</p>
  *
- * <p>If updates are performed, the path order is discarded, as the update would be more expensive
- * in some cases (e.g. when bulk insertions of new documents are performed). A tree structure could
- * be introduced to offer better general performance.</p>
+ * <p>The path order is incrementally updated if single documents are added, deleted or renamed,
+ * and it is stored on disk together with the paths. It is only discarded if a larger number of
+ * documents is inserted at once, as sorting all paths will then be cheaper.</p>
  *
  * @author BaseX Team 2005-17, BSD License
  * @author Christian Gruen
@@ -35,7 +35,7 @@ final class Docs {
   private TokenList pathList;
   /** Mapping for path order (may be {@code null}).
    * This variable should always be requested via {@link #order()}. */
-  private int[] pathOrder;
+  private IntList pathOrder;
   /** Dirty flag. */
   private boolean dirty;
   /** Indicates if a path index is available. */
@@ -67,12 +67,15 @@ final class Docs {
   void write(final DataOutput out) throws IOException {
     out.writeDiffs(docs());
     if(dirty && pathIndex) {
-      // retrieve paths (must be called before file is opened for writing!)
+      // retrieve paths and order (must be called before file is opened for writing!)
       final TokenList paths = paths();
-      // write paths
+      final IntList order = order();
+      // write paths and order
       try(DataOutput doc = new DataOutput(data.meta.dbfile(DATAPTH))) {
         doc.writeNum(paths.size());
         for(final byte[] path : paths) doc.writeToken(path);
+        doc.writeNum(order.size());
+        for(final int o : order.toArray()) doc.writeNum(o);
       }
       dirty = false;
     }
@@ -106,6 +109,9 @@ final class Docs {
       // try to read paths from disk
       try(DataInput in = new DataInput(data.meta.dbfile(DATAPTH))) {
         pathList = new TokenList(in.readTokens());
+        // path order (not available in databases created with older versions)
+        final int[] order = in.readNums();
+        if(order.length == pathList.size()) pathOrder = new IntList(order);
       } catch(final IOException ignore) { }
     }
 
@@ -129,8 +135,9 @@ final class Docs {
    * Returns the document path order, and initialize the array if necessary.
    * @return path order (internal representation!)
    */
-  private synchronized int[] order() {
-    if(pathOrder == null) pathOrder = Array.createOrder(paths().toArray(), false, true);
+  private synchronized IntList order() {
+    final TokenList paths = paths();
+    if(pathOrder == null) pathOrder = new IntList(Array.createOrder(paths.toArray(), false, true));
     return pathOrder;
   }
 
@@ -162,6 +169,17 @@ final class Docs {
       final byte[][] tmp = new byte[ps][];
       for(int t = 0; t < ps; t++) tmp[t] = normalize(clip.data.text(pres[t] - pre, true));
       paths.insert(i, tmp);
+
+      // update path order, or discard it if it is cheaper to sort all paths
+      final IntList order = pathOrder;
+      if(order != null) {
+        if(ps > 32 - Integer.numberOfLeadingZeros(paths.size())) {
+          pathOrder = null;
+        } else {
+          shift(order, i, ps);
+          for(int t = 0; t < ps; t++) order.insert(index(tmp[t], false), i + t);
+        }
+      }
     }
 
     // insert pre values
@@ -184,7 +202,13 @@ final class Docs {
 
     // pre value points to a document node...
     if(doc >= 0) {
-      if(pathIndex) paths().remove(doc);
+      if(pathIndex) {
+        if(pathOrder != null) {
+          pathOrder.remove(position(doc));
+          shift(pathOrder, doc + 1, -1);
+        }
+        paths().remove(doc);
+      }
       docs.remove(doc);
     }
 
@@ -199,15 +223,24 @@ final class Docs {
    * @param value new name
    */
   void rename(final int pre, final byte[] value) {
-    if(pathIndex) paths().set(docs().sortedIndexOf(pre), normalize(value));
+    if(pathIndex) {
+      final int doc = docs().sortedIndexOf(pre);
+      final byte[] path = normalize(value);
+      if(pathOrder != null) {
+        pathOrder.remove(position(doc));
+        paths().set(doc, path);
+        pathOrder.insert(index(path, false), doc);
+      } else {
+        paths().set(doc, path);
+      }
+    }
     update();
   }
 
   /**
-   * Notifies the meta structures of an update and invalidates the indexes.
+   * Notifies the meta structures of an update.
    */
   private synchronized void update() {
-    pathOrder = null;
     data.meta.dirty = true;
     dirty = true;
   }
@@ -235,13 +268,22 @@ final class Docs {
       pref = concat(exct, SLASH);
     }
 
-    // relevant paths: exact hits and prefixes
+    // relevant paths: exact hits and prefixes (both are stored in contiguous ranges)
     final IntList il = new IntList();
     final TokenList paths = paths();
-    final int ps = paths.size();
-    for(int p = 0; p < ps; p++) {
-      final byte[] pt = paths.get(p);
-      if(eq(pt, exct) || !exact && startsWith(pt, pref)) il.add(docs.get(p));
+    final IntList order = order();
+    final int os = order.size();
+    for(int o = index(exct, true); o < os; o++) {
+      final int p = order.get(o);
+      if(!eq(paths.get(p), exct)) break;
+      il.add(docs.get(p));
+    }
+    if(!exact) {
+      for(int o = index(pref, true); o < os; o++) {
+        final int p = order.get(o);
+        if(!startsWith(paths.get(p), pref)) break;
+        il.add(docs.get(p));
+      }
     }
     return il.sort();
   }
@@ -265,8 +307,9 @@ final class Docs {
    */
   synchronized boolean isDir(final byte[] path) {
     final byte[] pref = concat(path, SLASH);
-    for(final byte[] pth : paths()) if(startsWith(pth, pref)) return true;
-    return false;
+    final IntList order = order();
+    final int o = index(pref, true);
+    return o < order.size() && startsWith(paths().get(order.get(o)), pref);
   }
 
   /**
@@ -303,18 +346,59 @@ final class Docs {
    * @return pre value, or {@code -1}
    */
   private int find(final byte[] path) {
+    final IntList order = order();
+    final int o = index(path, true);
+    if(o == order.size()) return -1;
+    final int p = order.get(o);
+    return eq(paths().get(p), path) ? docs().get(p) : -1;
+  }
+
+  /**
+   * Returns the position in the path order at which the specified path is, or would be, found.
+   * @param path path
+   * @param first return the first position of an existing path, or the position after the last
+   * @return position
+   */
+  private int index(final byte[] path, final boolean first) {
     // binary search
     final TokenList paths = paths();
-    final int[] order = order();
-    int l = 0, h = order.length - 1;
-    while(l <= h) {
+    final IntList order = order();
+    int l = 0, h = order.size();
+    while(l < h) {
       final int m = l + h >>> 1;
-      final int c = diff(paths.get(order[m]), path);
-      if(c == 0) return docs().get(m);
-      if(c < 0) l = m + 1;
-      else h = m - 1;
+      final int c = diff(paths.get(order.get(m)), path);
+      if(c < 0 || c == 0 && !first) l = m + 1;
+      else h = m;
+    }
+    return l;
+  }
+
+  /**
+   * Returns the position of the specified document in the path order.
+   * @param doc offset of the document
+   * @return position
+   */
+  private int position(final int doc) {
+    final IntList order = order();
+    final int os = order.size();
+    for(int o = index(paths().get(doc), true); o < os; o++) {
+      if(order.get(o) == doc) return o;
+    }
+    throw Util.notExpected();
+  }
+
+  /**
+   * Shifts all document offsets in the path order, starting from the specified offset.
+   * @param order path order
+   * @param doc first document offset to be shifted
+   * @param diff difference
+   */
+  private static void shift(final IntList order, final int doc, final int diff) {
+    final int os = order.size();
+    for(int o = 0; o < os; o++) {
+      final int d = order.get(o);
+      if(d >= doc) order.set(o, d + diff);
     }
-    return -1;
   }
 
   /**
@@ -4,6 +4,7 @@ import static org.basex.index.stats.StatsType.*;
 import static org.basex.util.Token.*;
 
 import java.io.*;
+import java.util.*;
 
 import org.basex.data.*;
 import org.basex.io.in.DataInput;
@@ -17,6 +18,11 @@ import org.basex.util.hash.*;
  * @author Christian Gruen
  */
 public final class Stats {
+  /** Maximum number of sampled numeric values. */
+  private static final int SAMPLES = 1 << 8;
+  /** Number of histogram buckets. */
+  private static final int BUCKETS = 1 << 4;
+
   /** Distinct values (value, number of occurrence). */
   public TokenIntMap values;
   /** Minimum value. */
@@ -30,6 +36,14 @@ public final class Stats {
 
   /** Leaf node flag. Indicates if all nodes only have a text node as child. */
   private boolean leaf;
+  /** Bucket boundaries of an equi-depth histogram of numeric values (can be {@code null}). */
+  private double[] histogram;
+  /** Random sample of the numeric values (can be {@code null}). */
+  private double[] sample;
+  /** Number of sampled numeric values ({@code -1}: sampling has been finished). */
+  private long sampled;
+  /** Seed for choosing sampled values. */
+  private long seed = 1;
 
   /**
    * Default constructor.
@@ -64,19 +78,25 @@ public final class Stats {
    * @throws IOException I/O exception
    */
   public Stats(final DataInput in) throws IOException {
-    // 0x10 indicates format introduced with Version 7.1
-    final int t = in.readNum() & 0xF;
+    // 0x10 indicates format introduced with Version 7.1, 0x20 indicates histogram
+    final int f = in.readNum(), t = f & 0xF;
     type = (byte) t;
 
     if(isInteger(t) || isDouble(t)) {
       min = in.readDouble();
       max = in.readDouble();
     }
+    if((f & 0x20) != 0) {
+      final int hl = in.readNum();
+      histogram = new double[hl];
+      for(int h = 0; h < hl; h++) histogram[h] = in.readDouble();
+    }
     if(isCategory(t)) {
       values = new TokenIntMap(in);
     }
     count = in.readNum();
     leaf = in.readBool();
+    sampled = -1;
     // legacy since version 7.1
     in.readDouble();
   }
@@ -97,12 +117,21 @@ public final class Stats {
       }
     }
 
-    // 0x10 indicates format introduced with Version 7.1
-    out.writeNum(type | 0x10);
+    // create histogram from sampled values
+    if(sampled > 0) histogram = isNumeric(type) && !isCategory(type) ? histogram() : null;
+    sample = null;
+    sampled = -1;
+
+    // 0x10 indicates format introduced with Version 7.1, 0x20 indicates histogram
+    out.writeNum(type | 0x10 | (histogram != null ? 0x20 : 0));
     if(isNumeric(type)) {
       out.writeDouble(min);
       out.writeDouble(max);
     }
+    if(histogram != null) {
+      out.writeNum(histogram.length);
+      for(final double h : histogram) out.writeDouble(h);
+    }
     if(isCategory(type)) {
       values.write(out);
     }
@@ -138,6 +167,7 @@ public final class Stats {
         } else {
           if(min > d) min = d;
           if(max < d) max = d;
+          sample(d);
         }
       }
       // try to save new value as double
@@ -145,9 +175,12 @@ public final class Stats {
         final double d = toDouble(value);
         if(Double.isNaN(d)) {
           t = STRING;
+          sample = null;
+          histogram = null;
         } else {
           if(min > d) min = d;
           if(max < d) max = d;
+          sample(d);
         }
       }
     }
@@ -166,6 +199,123 @@ public final class Stats {
     }
   }
 
+  /**
+   * Estimates the fraction of the values that are located in the specified range.
+   * The estimation is based on the distinct values, the histogram, or the minimum and maximum
+   * of the numeric values.
+   * @param mn minimum
+   * @param mx maximum
+   * @return fraction ({@code 1} if no estimation is possible)
+   */
+  public double selectivity(final double mn, final double mx) {
+    if(!isNumeric(type)) return 1;
+    if(mn > max || mx < min || mn > mx) return 0;
+    if(values != null) {
+      long all = 0, found = 0;
+      for(final byte[] value : values) {
+        final int c = values.get(value);
+        final double d = toDouble(value);
+        if(d >= mn && d <= mx) found += c;
+        all += c;
+      }
+      return all == 0 ? 1 : (double) found / all;
+    }
+    // use histogram, or create it from the values that have been sampled so far
+    final double[] hist = histogram != null ? histogram : sampled > 0 ? histogram() : null;
+    if(hist != null) return Math.max(0, cdf(hist, mx, true) - cdf(hist, mn, false));
+    return max == min ? 1 : (Math.min(mx, max) - Math.max(mn, min)) / (max - min);
+  }
+
+  /**
+   * Estimates the fraction of the values that are equal to the specified number.
+   * If the distinct values are unknown, the value is assumed to occur once, unless the histogram
+   * indicates that it is more frequent.
+   * @param value value
+   * @return fraction ({@code 1} if no estimation is possible)
+   */
+  public double selectivity(final double value) {
+    if(!isNumeric(type) || count == 0) return 1;
+    if(values != null || value < min || value > max) return selectivity(value, value);
+    return Math.max(selectivity(value, value), 1d / count);
+  }
+
+  /**
+   * Estimates the fraction of the values that are equal to the specified value.
+   * @param value value
+   * @return fraction ({@code 1} if no estimation is possible)
+   */
+  public double selectivity(final byte[] value) {
+    if(values == null) {
+      // numeric values: compare string with number (non-numeric strings are not estimated)
+      final double d = toDouble(value);
+      return Double.isNaN(d) ? 1 : selectivity(d);
+    }
+    long all = 0;
+    for(final byte[] v : values) all += values.get(v);
+    return all == 0 ? 1 : Math.max(0, values.get(value)) / (double) all;
+  }
+
+  /**
+   * Estimates the fraction of the histogram values that are smaller than (or equal to)
+   * the specified value.
+   * @param hist histogram
+   * @param value value
+   * @param incl include value
+   * @return fraction
+   */
+  private static double cdf(final double[] hist, final double value, final boolean incl) {
+    final int hl = hist.length - 1;
+    if(value < hist[0] || !incl && value == hist[0]) return 0;
+    if(value > hist[hl] || incl && value == hist[hl]) return 1;
+    // find bucket and interpolate
+    int b = 0;
+    while(b < hl - 1 && (incl ? hist[b + 1] <= value : hist[b + 1] < value)) b++;
+    final double lo = hist[b], hi = hist[b + 1];
+    final double part = hi == lo ? incl ? 1 : 0 : (value - lo) / (hi - lo);
+    return (b + part) / hl;
+  }
+
+  /**
+   * Adds a numeric value to the random sample.
+   * @param value value
+   */
+  private void sample(final double value) {
+    // statistics have already been written: drop outdated histogram
+    if(sampled == -1) {
+      histogram = null;
+      return;
+    }
+    if(sample == null) sample = new double[SAMPLES];
+    final long s = sampled++;
+    if(s < SAMPLES) {
+      sample[(int) s] = value;
+    } else {
+      // reservoir sampling (deterministic sequence of pseudo-random numbers)
+      seed ^= seed << 13;
+      seed ^= seed >>> 7;
+      seed ^= seed << 17;
+      final long r = (seed & Long.MAX_VALUE) % sampled;
+      if(r < SAMPLES) sample[(int) r] = value;
+    }
+  }
+
+  /**
+   * Creates an equi-depth histogram from the sampled values.
+   * @return bucket boundaries or {@code null}
+   */
+  private double[] histogram() {
+    final int sl = (int) Math.min(sampled, SAMPLES);
+    if(sl < BUCKETS) return null;
+    final double[] sorted = Arrays.copyOf(sample, sl);
+    Arrays.sort(sorted);
+    final double[] hist = new double[BUCKETS + 1];
+    for(int b = 0; b < BUCKETS; b++) hist[b] = sorted[(int) ((long) b * sl / BUCKETS)];
+    // use exact minimum and maximum
+    hist[0] = min;
+    hist[BUCKETS] = max;
+    return hist;
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder(count + "x");
@@ -369,7 +369,7 @@ public class DiskValues extends ValueIndex {
       for(int i = 0, id = 0; i < sz; i++) {
         id += idxl.readNum();
         // pass over token position
-        if(type == IndexType.TOKEN) idxl.readNum();
+        if(type.tokenize()) idxl.readNum();
         pres.add(pre(id));
       }
     }
@@ -467,8 +467,8 @@ public class DiskValues extends ValueIndex {
    * @return key token
    */
   private byte[] key(final int id) {
-    final byte[] text = data.text(pre(id), type == IndexType.TEXT);
-    return type == IndexType.TOKEN ? distinctTokens(text)[idxl.readNum()] : text;
+    final byte[] text = data.text(pre(id), type.text());
+    return type.tokenize() ? type.keys(text)[idxl.readNum()] : text;
   }
 
   /**
@@ -513,6 +513,7 @@ public class DiskValues extends ValueIndex {
    * @return file suffix
    */
   static String fileSuffix(final IndexType type) {
-    return type == IndexType.TOKEN ? DATATOK : type == IndexType.TEXT ? DATATXT : DATAATV;
+    return type == IndexType.TOKEN ? DATATOK : type == IndexType.NGRAM ? DATANGR :
+      type == IndexType.TEXT ? DATATXT : DATAATV;
   }
 }
@@ -57,7 +57,7 @@ public final class DiskValuesBuilder extends ValuesBuilder {
           final int id = updindex ? data.id(pre) : pre;
           if(tokenize) {
             int pos = 0;
-            for(final byte[] token : distinctTokens(data.text(pre, text))) {
+            for(final byte[] token : type.keys(data.text(pre, text))) {
               index.add(token, id, pos++);
               count++;
             }
@@ -1,7 +1,5 @@
 package org.basex.index.value;
 
-import static org.basex.util.Token.*;
-
 import java.util.*;
 
 import org.basex.data.*;
@@ -51,17 +49,18 @@ public final class ValueCache implements Iterable<byte[]> {
    * @param data data reference
    */
   public ValueCache(final IntList pres, final IndexType type, final Data data) {
-    pos = type == IndexType.TOKEN ? new ArrayList<IntList>() : null;
+    final boolean tokenize = type.tokenize();
+    pos = tokenize ? new ArrayList<IntList>() : null;
 
     final IndexNames in = new IndexNames(type, data);
-    final boolean text = type == IndexType.TEXT;
+    final boolean text = type.text();
     final int pl = pres.size(), kind = text ? Data.TEXT : Data.ATTR;
     for(int p = 0; p < pl; p++) {
       final int pre = pres.get(p);
       if(data.kind(pre) == kind && in.contains(pre, text)) {
-        if(type == IndexType.TOKEN) {
+        if(tokenize) {
           int ps = 0;
-          for(final byte[] token : distinctTokens(data.text(pre, text))) {
+          for(final byte[] token : type.keys(data.text(pre, text))) {
             addId(token, pre, ps++, data);
           }
         } else if(data.textLen(pre, text) <= data.meta.maxlen) {
@@ -56,6 +56,11 @@ public final class NewlineInput extends TextInput {
     return '\n';
   }
 
+  @Override
+  public int ascii(final TokenBuilder tb, final boolean[] chars) {
+    return next == -2 ? super.ascii(tb, chars) : 0;
+  }
+
   /**
    * Reads and returns a single line.
    * @return line or {@code null}
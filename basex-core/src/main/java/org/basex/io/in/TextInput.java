@@ -127,6 +127,31 @@ public class TextInput extends BufferInput {
     return ch;
   }
 
+  /**
+   * Copies a run of ASCII characters from the current buffer to the specified token builder.
+   * This is only done if the input is UTF-8 encoded. The run ends before the first byte that
+   * is not flagged in the specified table, or at the end of the buffer.
+   * @param tb token builder
+   * @param chars flags for all ASCII characters that may be copied (must be valid XML characters)
+   * @return number of copied characters
+   */
+  public int ascii(final TokenBuilder tb, final boolean[] chars) {
+    if(decoder.encoding != UTF8) return 0;
+    final byte[] buf = array;
+    final int s = bpos, e = bsize;
+    int p = s;
+    while(p < e) {
+      final byte b = buf[p];
+      if(b < 0 || !chars[b]) break;
+      p++;
+    }
+    if(p != s) {
+      tb.add(buf, s, p);
+      bpos = p;
+    }
+    return p - s;
+  }
+
   @Override
   public final byte[] content() throws IOException {
     return cache().finish();
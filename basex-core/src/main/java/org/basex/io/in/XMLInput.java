@@ -72,6 +72,32 @@ public class XMLInput extends InputStream {
     return ch;
   }
 
+  /**
+   * Copies a run of ASCII characters from the main input to the specified token builder
+   * (see {@link TextInput#ascii(TokenBuilder, boolean[])}). Nothing is copied if characters
+   * have been pushed back or if entities are being read.
+   * @param tb token builder
+   * @param chars flags for all ASCII characters that may be copied
+   * @return number of copied characters
+   */
+  public int ascii(final TokenBuilder tb, final boolean[] chars) {
+    if(pp != 0 || ip != 0) return 0;
+    final int n = inputs[0].ascii(tb, chars);
+    if(n != 0) {
+      // count newlines, remember most recent characters
+      final int e = tb.size(), s = e - n, l = e - last.length;
+      for(int i = s; i < e; i++) {
+        final byte b = tb.get(i);
+        if(b == '\n') ++line;
+        if(i >= l) {
+          last[lp++] = b;
+          lp &= 0x0F;
+        }
+      }
+    }
+    return n;
+  }
+
   /**
    * Inserts some bytes in the input stream.
    * @param value values to insert
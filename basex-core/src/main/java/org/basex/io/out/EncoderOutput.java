@@ -52,6 +52,11 @@ public final class EncoderOutput extends PrintOutput {
     print(string(token));
   }
 
+  @Override
+  public void print(final byte[] token, final int start, final int end) throws IOException {
+    print(string(token, start, end - start));
+  }
+
   @Override
   public void print(final String string) throws IOException {
     write(string.getBytes(encoding));
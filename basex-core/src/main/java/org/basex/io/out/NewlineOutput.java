@@ -34,6 +34,19 @@ public final class NewlineOutput extends PrintOutput {
     }
   }
 
+  @Override
+  public void print(final byte[] token, final int start, final int end) throws IOException {
+    int s = start;
+    for(int t = start; t < end; t++) {
+      if(token[t] == '\n') {
+        po.print(token, s, t);
+        po.print(newline, 0, newline.length);
+        s = t + 1;
+      }
+    }
+    po.print(token, s, end);
+  }
+
   @Override
   public boolean finished() {
     return po.finished();
@@ -66,6 +66,13 @@ public class PrintOutput extends OutputStream {
     if(size++ < max) os.write(b);
   }
 
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    final long s = size, m = max;
+    if(s < m) os.write(b, off, (int) Math.min(len, m - s));
+    size = s + len;
+  }
+
   /**
    * Prints a single codepoint.
    * @param cp codepoint to be printed
@@ -95,8 +102,19 @@ public class PrintOutput extends OutputStream {
    * @throws IOException I/O exception
    */
   public void print(final byte[] token) throws IOException {
-    final int tl = token.length;
-    for(int t = 0; t < tl; t += cl(token, t)) print(cp(token, t));
+    print(token, 0, token.length);
+  }
+
+  /**
+   * Prints a range of a UTF8 token to the output stream.
+   * The bytes are written in a single chunk.
+   * @param token token to be written
+   * @param start start position
+   * @param end end position
+   * @throws IOException I/O exception
+   */
+  public void print(final byte[] token, final int start, final int end) throws IOException {
+    write(token, start, end - start);
   }
 
   /**
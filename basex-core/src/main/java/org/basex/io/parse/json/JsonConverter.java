@@ -1,5 +1,7 @@
 package org.basex.io.parse.json;
 
+import static org.basex.query.QueryError.*;
+
 import java.io.*;
 
 import org.basex.build.json.*;
@@ -64,11 +66,15 @@ public abstract class JsonConverter {
 
   /**
    * Returns a JSON converter for the given configuration.
+   * Input in the JSON Lines format can only be converted to databases
+   * (see {@link JsonLinesParser}).
    * @param jopts options
    * @return JSON converter
    * @throws QueryIOException query I/O exception
    */
   public static JsonConverter get(final JsonParserOptions jopts) throws QueryIOException {
+    if(jopts.get(JsonParserOptions.LINES)) throw new QueryIOException(
+        BXJS_INVALID_X.get(null, JsonParserOptions.LINES.name(), true));
     switch(jopts.get(JsonOptions.FORMAT)) {
       case JSONML:     return new JsonMLConverter(jopts);
       case ATTRIBUTES: return new JsonAttsConverter(jopts);
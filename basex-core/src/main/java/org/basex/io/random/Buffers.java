@@ -1,5 +1,7 @@
 package org.basex.io.random;
 
+import org.basex.core.*;
+
 /**
  * This class provides a simple, clock-based buffer management.
  *
@@ -11,8 +13,12 @@ final class Buffers {
   private static final int BUFFERS = 1 << 4;
   /** Buffers. */
   private final Buffer[] buf = new Buffer[BUFFERS];
+  /** Maximum number of buffer hits that will be counted before they are added to the metrics. */
+  private static final int MAXHITS = 1 << 16;
   /** Current buffer offset. */
   private int off;
+  /** Number of buffer hits that have not been added to the metrics yet. */
+  private int hits;
 
   /**
    * Constructor.
@@ -45,9 +51,25 @@ final class Buffers {
   boolean cursor(final long p) {
     final int o = off;
     do {
-      if(buf[off].pos == p) return false;
+      if(buf[off].pos == p) {
+        if(++hits == MAXHITS) count();
+        return false;
+      }
     } while((off = off + 1 & BUFFERS - 1) != o);
     off = o + 1 & BUFFERS - 1;
+    // block will be read from disk: update metrics
+    Metrics.BUFFER_MISSES.inc();
+    count();
     return true;
   }
+
+  /**
+   * Adds the number of buffer hits to the metrics.
+   * Like all other methods, it must be called by the thread that holds the monitor of the
+   * owning file access instance.
+   */
+  void count() {
+    Metrics.BUFFER_HITS.add(hits);
+    hits = 0;
+  }
 }
@@ -59,6 +59,7 @@ public final class DataAccess implements Closeable {
   @Override
   public synchronized void close() {
     flush();
+    bm.count();
     try {
       raf.close();
     } catch(final IOException ex) {
@@ -332,49 +333,11 @@ public final class DataAccess implements Closeable {
     writeToken(values, 0, values.length);
   }
 
-  /**
-   * Returns the offset to a free slot for writing an entry with the specified length.
-   * Fills the original space with 0xFF to facilitate future write operations.
-   * @param pos original offset
-   * @param size size of new text entry
-   * @return new offset to store text
-   */
-  public long free(final long pos, final int size) {
-    // old text size (available space)
-    int os = readNum(pos) + (int) (cursor() - pos);
-
-    // extend available space by subsequent zero-bytes
-    cursor(pos + os);
-    for(; pos + os < length && os < size && read() == 0xFF; os++);
-
-    long o = pos;
-    if(pos + os == length) {
-      // entry is placed last: reset file length (discard last entry)
-      length(pos);
-    } else {
-      int t = size;
-      if(os < size) {
-        // gap is too small for new entry...
-        // reset cursor to overwrite entry
-        cursor(pos);
-        t = 0;
-        // place new entry after last entry
-        o = length;
-      } else {
-        // gap is large enough: set cursor to overwrite remaining bytes
-        cursor(pos + size);
-      }
-      // fill gap with 0xFF for future updates
-      while(t++ < os) write(0xFF);
-    }
-    return o;
-  }
-
   /**
    * Sets the file length.
    * @param len file length
    */
-  private synchronized void length(final long len) {
+  public synchronized void length(final long len) {
     if(len != length) {
       changed = true;
       length = len;
@@ -422,8 +385,11 @@ public final class DataAccess implements Closeable {
    */
   private void writeBlock(final Buffer buffer) throws IOException {
     final long pos = buffer.pos, len = Math.min(IO.BLOCKSIZE, length - pos);
-    raf.seek(pos);
-    raf.write(buffer.data, 0, (int) len);
+    // skip blocks that have been truncated
+    if(len > 0) {
+      raf.seek(pos);
+      raf.write(buffer.data, 0, (int) len);
+    }
     buffer.dirty = false;
   }
 
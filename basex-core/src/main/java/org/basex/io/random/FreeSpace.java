@@ -0,0 +1,212 @@
+package org.basex.io.random;
+
+import java.io.*;
+import java.util.*;
+import java.util.Map.Entry;
+
+import org.basex.io.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.DataOutput;
+import org.basex.util.*;
+
+/**
+ * This class manages the unused space of a heap file, which consists of tokens that are
+ * referenced by their offsets. Space of deleted entries is registered as gap, adjacent gaps
+ * are merged, and new entries are placed in the smallest gap in which they fit (best fit).
+ *
+ * The gaps are stored in a separate file, along with the length of the heap file. If the length
+ * does not match when the file is read, the gaps will be discarded.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class FreeSpace {
+  /** Heap file. */
+  private final DataAccess da;
+  /** File with gaps. */
+  private final IOFile file;
+  /** Gaps, sorted by offsets (offset, size). */
+  private final TreeMap<Long, Integer> offsets = new TreeMap<>();
+  /** Gaps, sorted by sizes and offsets. */
+  private final TreeSet<Gap> sizes = new TreeSet<>();
+  /** Number of free bytes. */
+  private long free;
+  /** Number of reclaimed bytes. */
+  private long reclaimed;
+  /** Changed flag. */
+  private boolean changed;
+
+  /**
+   * Constructor. Reads the gaps from the specified file, if it exists.
+   * @param da heap file
+   * @param file file with gaps
+   * @throws IOException I/O exception
+   */
+  public FreeSpace(final DataAccess da, final IOFile file) throws IOException {
+    this.da = da;
+    this.file = file;
+    if(!file.exists()) return;
+
+    try(DataInput in = new DataInput(file)) {
+      final long[] longs = in.readLongs(in.readNum());
+      final int[] sz = in.readNums();
+      // check if heap file has been modified by another instance
+      if(longs.length != sz.length + 2 || longs[0] != da.length()) return;
+      reclaimed = longs[1];
+      for(int g = 0; g < sz.length; g++) add(longs[g + 2], sz[g]);
+    }
+  }
+
+  /**
+   * Registers the space of the entry at the specified offset as unused.
+   * If the entry is placed last, the heap file will be truncated.
+   * @param pos offset of the entry
+   */
+  public void free(final long pos) {
+    final int size = da.readNum(pos) + (int) (da.cursor() - pos);
+    long off = pos;
+    int sz = size;
+
+    // merge with adjacent gaps
+    final Entry<Long, Integer> prev = offsets.floorEntry(off);
+    if(prev != null && prev.getKey() + prev.getValue() == off) {
+      remove(prev.getKey(), prev.getValue());
+      off = prev.getKey();
+      sz += prev.getValue();
+    }
+    final Integer next = offsets.get(pos + size);
+    if(next != null) {
+      remove(pos + size, next);
+      sz += next;
+    }
+
+    if(off + sz == da.length()) {
+      // gap is placed last: truncate file
+      da.length(off);
+      reclaimed += sz;
+    } else {
+      add(off, sz);
+    }
+    changed = true;
+  }
+
+  /**
+   * Returns the offset for storing an entry with the specified size.
+   * @param size size of the entry
+   * @return offset of the smallest gap that is large enough, or end of heap file
+   */
+  public long alloc(final int size) {
+    final Gap gap = sizes.ceiling(new Gap(0, size));
+    if(gap == null) return da.length();
+
+    remove(gap.off, gap.size);
+    if(gap.size > size) add(gap.off + size, gap.size - size);
+    reclaimed += size;
+    changed = true;
+    return gap.off;
+  }
+
+  /**
+   * Returns the number of free bytes.
+   * @return free bytes
+   */
+  public long free() {
+    return free;
+  }
+
+  /**
+   * Returns the number of bytes that have been reclaimed.
+   * @return reclaimed bytes
+   */
+  public long reclaimed() {
+    return reclaimed;
+  }
+
+  /**
+   * Removes all gaps after the heap file has been compacted.
+   * @param bytes number of reclaimed bytes
+   */
+  public void clear(final long bytes) {
+    offsets.clear();
+    sizes.clear();
+    free = 0;
+    reclaimed += bytes;
+    changed = true;
+  }
+
+  /**
+   * Writes the gaps to disk, if they have been changed.
+   * @throws IOException I/O exception
+   */
+  public void write() throws IOException {
+    if(!changed) return;
+
+    final int gs = offsets.size();
+    final long[] longs = new long[gs + 2];
+    final int[] sz = new int[gs];
+    longs[0] = da.length();
+    longs[1] = reclaimed;
+    int g = 0;
+    for(final Entry<Long, Integer> entry : offsets.entrySet()) {
+      longs[g + 2] = entry.getKey();
+      sz[g++] = entry.getValue();
+    }
+    try(DataOutput out = new DataOutput(file)) {
+      out.writeLongs(longs);
+      out.writeNums(sz);
+    }
+    changed = false;
+  }
+
+  /**
+   * Adds a gap.
+   * @param off offset
+   * @param size size
+   */
+  private void add(final long off, final int size) {
+    offsets.put(off, size);
+    sizes.add(new Gap(off, size));
+    free += size;
+  }
+
+  /**
+   * Removes a gap.
+   * @param off offset
+   * @param size size
+   */
+  private void remove(final long off, final int size) {
+    offsets.remove(off);
+    sizes.remove(new Gap(off, size));
+    free -= size;
+  }
+
+  @Override
+  public String toString() {
+    return Util.className(this) + "[gaps: " + offsets.size() + ", free: " + free +
+        ", reclaimed: " + reclaimed + ']';
+  }
+
+  /** Gap, ordered by size and offset. */
+  private static final class Gap implements Comparable<Gap> {
+    /** Offset. */
+    private final long off;
+    /** Size. */
+    private final int size;
+
+    /**
+     * Constructor.
+     * @param off offset
+     * @param size size
+     */
+    private Gap(final long off, final int size) {
+      this.off = off;
+      this.size = size;
+    }
+
+    @Override
+    public int compareTo(final Gap gap) {
+      final int c = Integer.compare(size, gap.size);
+      return c != 0 ? c : Long.compare(off, gap.off);
+    }
+  }
+}
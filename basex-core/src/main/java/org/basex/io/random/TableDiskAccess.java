@@ -126,6 +126,7 @@ public final class TableDiskAccess extends TableAccess {
   @Override
   public synchronized void close() throws IOException {
     flush(true);
+    bm.count();
     file.close();
   }
 
@@ -99,6 +99,11 @@ final class HTMLSerializer extends MarkupSerializer {
     else super.printChar(cp);
   }
 
+  @Override
+  protected boolean plain(final int cp) {
+    return script || cp != 0xA0 && super.plain(cp);
+  }
+
   @Override
   protected void startOpen(final QNm name) throws IOException {
     doctype(null);
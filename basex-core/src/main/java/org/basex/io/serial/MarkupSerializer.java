@@ -151,13 +151,11 @@ abstract class MarkupSerializer extends StandardSerializer {
     final byte[] val = norm(value);
     if(ftp == null) {
       final ArrayList<QNm> qnames = cdata();
-      final int vl = val.length;
       if(qnames.isEmpty() || elems.isEmpty() || !qnames.contains(elems.peek())) {
-        for(int k = 0; k < vl; k += cl(val, k)) {
-          printChar(cp(val, k));
-        }
+        printChars(val);
       } else {
         out.print(CDATA_O);
+        final int vl = val.length;
         int c = 0;
         for(int k = 0; k < vl; k += cl(val, k)) {
           final int cp = cp(val, k);
@@ -271,6 +269,12 @@ abstract class MarkupSerializer extends StandardSerializer {
     }
   }
 
+  @Override
+  protected boolean plain(final int cp) {
+    return map == null && (cp >= ' ' || cp == '\n' || cp == '\t') && cp != '&' && cp != '>' &&
+        cp != '<' && (cp < 0x7F || cp >= 0xA0) && cp != 0x2028;
+  }
+
   /**
    * Prints the document type declaration.
    * @param type document type or {@code null} for html type
@@ -7,6 +7,7 @@ import static org.basex.util.Token.*;
 import java.io.*;
 import java.nio.charset.*;
 
+import org.basex.core.*;
 import org.basex.io.out.*;
 import org.basex.query.*;
 import org.basex.util.*;
@@ -31,6 +32,10 @@ public abstract class OutputSerializer extends Serializer {
   private final int indents;
   /** Tabular character. */
   private final char tab;
+  /** Output stream that counts the written bytes (may differ from {@link #out}). */
+  private final PrintOutput counted;
+  /** Number of bytes that have been written before (will be ignored by the metrics). */
+  private long start;
 
   /**
    * Constructor.
@@ -63,6 +68,8 @@ public abstract class OutputSerializer extends Serializer {
     if(limit != -1) po.setLimit(limit);
 
     final byte[] nl = token(sopts.get(NEWLINE).newline());
+    counted = po;
+    start = po.size();
     if(nl.length != 1 || nl[0] != '\n') po = new NewlineOutput(po, nl);
     out = po;
   }
@@ -80,6 +87,9 @@ public abstract class OutputSerializer extends Serializer {
   @Override
   public void close() throws IOException {
     out.flush();
+    final long size = counted.size();
+    Metrics.SERIALIZED.add(size - start);
+    start = size;
   }
 
   /**
@@ -100,8 +110,36 @@ public abstract class OutputSerializer extends Serializer {
    * @throws IOException I/O exception
    */
   protected final void printChars(final byte[] text) throws IOException {
-    final int al = text.length;
-    for(int a = 0; a < al; a += cl(text, a)) printChar(cp(text, a));
+    final int tl = text.length;
+    if(encoding != Strings.UTF8) {
+      for(int t = 0; t < tl; t += cl(text, t)) printChar(cp(text, t));
+      return;
+    }
+
+    // UTF8: print runs of characters that need no encoding in a single chunk
+    int s = 0;
+    for(int t = 0; t < tl;) {
+      final int b = text[t] & 0xFF, l = cl(text, t);
+      if(b < 0x80 ? plain(b) : b >= 0xC0 && t + l <= tl && plain(cp(text, t))) {
+        t += l;
+      } else {
+        if(s < t) out.print(text, s, t);
+        printChar(cp(text, t));
+        t += l;
+        s = t;
+      }
+    }
+    if(s < tl) out.print(text, s, tl);
+  }
+
+  /**
+   * Checks if the specified codepoint will be printed without being encoded.
+   * Must be overwritten if {@link #printChar(int)} is overwritten.
+   * @param cp codepoint
+   * @return result of check
+   */
+  protected boolean plain(final int cp) {
+    return true;
   }
 
   /**
@@ -147,9 +147,7 @@ public abstract class JsonSerializer extends StandardSerializer {
    */
   protected final void string(final byte[] string) throws IOException {
     out.print('"');
-    final byte[] str = norm(string);
-    final int sl = str.length;
-    for(int s = 0; s < sl; s += cl(str, s)) printChar(cp(str, s));
+    printChars(norm(string));
     out.print('"');
   }
 
@@ -181,6 +179,12 @@ public abstract class JsonSerializer extends StandardSerializer {
     }
   }
 
+  @Override
+  protected final boolean plain(final int cp) {
+    return map == null && (!escape || cp != '\b' && cp != '\f' && cp != '\n' && cp != '\r' &&
+        cp != '\t' && cp != '"' && cp != '/' && cp != '\\');
+  }
+
   @Override
   public void close() throws IOException {
     if(!sep) out.print(JsonConstants.NULL);
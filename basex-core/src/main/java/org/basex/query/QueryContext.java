@@ -137,6 +137,9 @@ public final class QueryContext extends Job implements Closeable {
   /** Indicates if the default serialization parameters are used. */
   private boolean defaultOutput;
 
+  /** Profiler (assigned if profiling is enabled). */
+  private QueryProfiler profiler;
+
   /** Indicates if the query has been compiled. */
   private boolean compiled;
   /** Indicates if the query context has been closed. */
@@ -272,6 +275,7 @@ public final class QueryContext extends Job implements Closeable {
       }
       // set tail call option after assignment database option
       maxCalls = context.options.get(MainOptions.TAILCALLS);
+      if(context.options.get(MainOptions.PROFPLAN)) profiler = new QueryProfiler();
 
       // bind external variables
       vars.bindExternal(this, bindings);
@@ -334,6 +338,9 @@ public final class QueryContext extends Job implements Closeable {
 
       // only perform updates if no parent context exists
       if(updates != null && parent == null) {
+        // acquire exclusive locks if they have been deferred
+        context.locking.upgrade();
+
         // create copies of results that will be modified by an update operation
         final ItemList cache = updates.cache;
         final HashSet<Data> datas = updates.prepare(this);
@@ -391,7 +398,7 @@ public final class QueryContext extends Job implements Closeable {
    */
   public Iter iter(final Expr expr) throws QueryException {
     checkStop();
-    return expr.iter(this);
+    return profiler != null ? profiler.iter(expr, this) : expr.iter(this);
   }
 
   /**
@@ -402,7 +409,7 @@ public final class QueryContext extends Job implements Closeable {
    */
   public Value value(final Expr expr) throws QueryException {
     checkStop();
-    return expr.value(this);
+    return profiler != null ? profiler.value(expr, this) : expr.value(this);
   }
 
   /**
@@ -428,6 +435,7 @@ public final class QueryContext extends Job implements Closeable {
     final LockList read = locks.reads, write = locks.writes;
     read.add(readLocks);
     write.add(writeLocks);
+    locks.deferrable = updating;
     // use global locking if referenced databases cannot be statically determined
     if(root == null || !root.databases(locks, this) ||
        ctxItem != null && !ctxItem.databases(locks, this)) {
@@ -547,6 +555,7 @@ public final class QueryContext extends Job implements Closeable {
 
   /**
    * Creates and returns an XML query plan (expression tree) for this query.
+   * If the query has been profiled, the runtime statistics will be attached to the plan.
    * @return query plan
    */
   public FElem plan() {
@@ -554,8 +563,8 @@ public final class QueryContext extends Job implements Closeable {
     final FElem e = new FElem(QueryText.QUERY_PLAN);
     e.add(QueryText.COMPILED, token(compiled));
     if(root != null) {
-      for(final StaticScope ss : QueryCompiler.usedDecls(root)) ss.plan(e);
-      root.plan(e);
+      for(final StaticScope ss : QueryCompiler.usedDecls(root)) plan(ss, e);
+      plan(root, e);
     } else {
       funcs.plan(e);
       vars.plan(e);
@@ -563,6 +572,24 @@ public final class QueryContext extends Job implements Closeable {
     return e;
   }
 
+  /**
+   * Adds the query plan of the specified scope.
+   * @param scope scope
+   * @param plan root element
+   */
+  private void plan(final StaticScope scope, final FElem plan) {
+    if(profiler != null) profiler.plan(scope, plan);
+    else scope.plan(plan);
+  }
+
+  /**
+   * Indicates whether the query has been profiled.
+   * @return result of check
+   */
+  public boolean profiled() {
+    return profiler != null;
+  }
+
   /**
    * Indicates that the query contains updating expressions.
    */
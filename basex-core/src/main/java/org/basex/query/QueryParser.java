@@ -792,7 +792,8 @@ public class QueryParser extends InputParser {
     qc.modParsed.put(tPath, tUri);
     imports.put(tUri);
 
-    // read module
+    // read module. parsed modules are not cached across queries: their functions, variables
+    // and static context are bound to the current query context
     final String qu;
     try {
       qu = string(io.read());
@@ -0,0 +1,196 @@
+package org.basex.query;
+
+import static org.basex.query.QueryText.*;
+
+import java.util.*;
+
+import org.basex.query.expr.*;
+import org.basex.query.expr.ft.*;
+import org.basex.query.expr.index.*;
+import org.basex.query.expr.path.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.util.*;
+
+/**
+ * This class collects runtime statistics of the expressions of a query: the number of
+ * invocations, the number of returned items, and the time spent for evaluating the
+ * expression and its operands. Only expressions that are evaluated via
+ * {@link QueryContext#iter(Expr)} and {@link QueryContext#value(Expr)} are profiled.
+ * The statistics are attached to the query plan.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class QueryProfiler {
+  /** Profiler, which is assigned while the query plan is created. */
+  private static final ThreadLocal<QueryProfiler> PLAN = new ThreadLocal<>();
+
+  /** Statistics of the evaluated expressions. */
+  private final IdentityHashMap<ExprInfo, Stats> stats = new IdentityHashMap<>();
+
+  /**
+   * Evaluates the specified expression and returns an iterator that updates the statistics.
+   * @param expr expression
+   * @param qc query context
+   * @return iterator
+   * @throws QueryException query exception
+   */
+  Iter iter(final Expr expr, final QueryContext qc) throws QueryException {
+    final Stats st = stats(expr);
+    final long start = System.nanoTime();
+    final Iter iter;
+    try {
+      iter = expr.iter(qc);
+    } finally {
+      st.time += System.nanoTime() - start;
+    }
+    // node iterators will be cast by some expressions
+    if(iter instanceof NodeIter) {
+      final NodeIter ni = (NodeIter) iter;
+      return new NodeIter() {
+        @Override
+        public ANode next() throws QueryException {
+          final long t = System.nanoTime();
+          try {
+            return st.add(ni.next());
+          } finally {
+            st.time += System.nanoTime() - t;
+          }
+        }
+        @Override
+        public ANode get(final long i) {
+          return st.add(ni.get(i));
+        }
+        @Override
+        public long size() {
+          return ni.size();
+        }
+      };
+    }
+    return new Iter() {
+      @Override
+      public Item next() throws QueryException {
+        final long t = System.nanoTime();
+        try {
+          return st.add(iter.next());
+        } finally {
+          st.time += System.nanoTime() - t;
+        }
+      }
+      @Override
+      public Item get(final long i) throws QueryException {
+        return st.add(iter.get(i));
+      }
+      @Override
+      public long size() {
+        return iter.size();
+      }
+      @Override
+      public Value value() throws QueryException {
+        final long t = System.nanoTime();
+        try {
+          return st.add(iter.value());
+        } finally {
+          st.time += System.nanoTime() - t;
+        }
+      }
+    };
+  }
+
+  /**
+   * Evaluates the specified expression and updates the statistics.
+   * @param expr expression
+   * @param qc query context
+   * @return value
+   * @throws QueryException query exception
+   */
+  Value value(final Expr expr, final QueryContext qc) throws QueryException {
+    final Stats st = stats(expr);
+    final long start = System.nanoTime();
+    try {
+      return st.add(expr.value(qc));
+    } finally {
+      st.time += System.nanoTime() - start;
+    }
+  }
+
+  /**
+   * Creates the query plan of the specified scope and attaches the statistics.
+   * @param scope scope
+   * @param plan root element
+   */
+  void plan(final ExprInfo scope, final FElem plan) {
+    PLAN.set(this);
+    try {
+      scope.plan(plan);
+    } finally {
+      PLAN.remove();
+    }
+  }
+
+  /**
+   * Attaches the statistics of an expression to the specified element of the query plan.
+   * Called by {@link ExprInfo} if a profiled query plan is created.
+   * @param expr expression
+   * @param el element
+   */
+  public static void attach(final ExprInfo expr, final FElem el) {
+    final QueryProfiler prof = PLAN.get();
+    if(prof == null) return;
+
+    final Stats st = prof.stats.get(expr);
+    if(st != null) {
+      el.add(CALLS, Token.token(st.calls));
+      el.add(ITEMS, Token.token(st.items));
+      el.add(TIME, Performance.getTime(st.time, 1));
+    }
+    // indicate if nodes are retrieved from an index or by traversing the database
+    final String access = expr instanceof IndexAccess || expr instanceof FTIndexAccess ||
+      expr instanceof StructuralJoin ? INDEX : expr instanceof Step ? SCAN : null;
+    if(access != null) el.add(ACCESS, access);
+  }
+
+  /**
+   * Returns the statistics for the specified expression.
+   * @param expr expression
+   * @return statistics
+   */
+  private Stats stats(final Expr expr) {
+    Stats st = stats.get(expr);
+    if(st == null) {
+      st = new Stats();
+      stats.put(expr, st);
+    }
+    st.calls++;
+    return st;
+  }
+
+  @Override
+  public String toString() {
+    return Util.className(this) + '[' + stats.size() + ']';
+  }
+
+  /** Statistics of an expression. */
+  private static final class Stats {
+    /** Number of invocations. */
+    private long calls;
+    /** Number of returned items. */
+    private long items;
+    /** Evaluation time (nano seconds). */
+    private long time;
+
+    /**
+     * Counts the items of the specified value.
+     * @param value value (can be {@code null})
+     * @param <V> value type
+     * @return value
+     */
+    private <V extends Value> V add(final V value) {
+      if(value != null) items += value.size();
+      return value;
+    }
+  }
+}
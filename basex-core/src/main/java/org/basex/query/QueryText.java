@@ -384,6 +384,12 @@ public interface QueryText {
   /** Query Info. */ String MAX = "max";
   /** Query Info. */ String INF = "inf";
   /** Query Info. */ String TCL = "tailCall";
+  /** Query Info. */ String CALLS = "calls";
+  /** Query Info. */ String ITEMS = "items";
+  /** Query Info. */ String TIME = "time";
+  /** Query Info. */ String ACCESS = "access";
+  /** Query Info. */ String INDEX = "index";
+  /** Query Info. */ String SCAN = "scan";
 
   // OPTIMIZATIONS ================================================================================
 
@@ -408,6 +414,8 @@ public interface QueryText {
   /** Optimization info. */ String OPTINDEX_X_X = "applying % index for %";
   /** Optimization info. */ String OPTNOINDEX = "removing path with no index results";
   /** Optimization info. */ String OPTCHILD_X = "converting % to child steps";
+  /** Optimization info. */ String OPTJOIN_X = "applying structural join to %";
+  /** Optimization info. */ String OPTORDER_X = "reordering predicates of %";
   /** Optimization info. */ String OPTUNROLL_X = "unrolling %";
 
   // MISCELLANEOUS ================================================================================
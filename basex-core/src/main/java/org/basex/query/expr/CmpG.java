@@ -3,14 +3,18 @@ package org.basex.query.expr;
 import static org.basex.query.QueryError.*;
 import static org.basex.query.QueryText.*;
 
+import org.basex.data.*;
 import org.basex.index.*;
+import org.basex.index.stats.*;
 import org.basex.query.*;
 import org.basex.query.expr.CmpV.*;
+import org.basex.query.expr.path.*;
 import org.basex.query.func.*;
 import org.basex.query.func.fn.*;
 import org.basex.query.iter.*;
 import org.basex.query.util.*;
 import org.basex.query.util.collation.*;
+import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
 import org.basex.query.value.type.*;
@@ -328,6 +332,22 @@ public final class CmpG extends Cmp {
     return ii.create(exprs[1], ii.type(expr1, tokenize ? IndexType.TOKEN : null), info, false);
   }
 
+  @Override
+  public double selectivity(final Step step, final Data data) throws QueryException {
+    // only equality comparisons with strings or numbers on default collation can be estimated
+    if(op != OpG.EQ || coll != null || !exprs[1].isValue()) return 1;
+    final Stats stats = step.stats(exprs[0], data);
+    if(stats == null) return 1;
+
+    double sel = 0;
+    for(final Item it : (Value) exprs[1]) {
+      if(it.type.isStringOrUntyped()) sel += stats.selectivity(it.string(info));
+      else if(it.type.isNumber()) sel += stats.selectivity(it.dbl(info));
+      else return 1;
+    }
+    return Math.min(1, sel);
+  }
+
   @Override
   public CmpG copy(final CompileContext cc, final IntObjMap<Var> vm) {
     return new CmpG(exprs[0].copy(cc, vm), exprs[1].copy(cc, vm), op, coll, sc, info);
@@ -167,9 +167,9 @@ public final class CmpR extends Single {
       return true;
     }
 
-    // estimate costs
-    ii.costs = data.costs(nr);
-    if(ii.costs == -1) return false;
+    // estimate costs: number of occurrences of the name, multiplied with selectivity of the range
+    if(data.costs(nr) == -1) return false;
+    ii.costs = Math.max(1, (int) Math.ceil(key.count * key.selectivity(nr.min, nr.max)));
 
     // skip if numbers are negative, doubles, or of different string length
     final int mnl = min >= 0 && (long) min == min ? token(min).length : -1;
@@ -186,6 +186,12 @@ public final class CmpR extends Single {
     return true;
   }
 
+  @Override
+  public double selectivity(final Step step, final Data data) {
+    final Stats stats = step.stats(expr, data);
+    return stats == null ? 1 : min == max ? stats.selectivity(min) : stats.selectivity(min, max);
+  }
+
   /**
    * Retrieves the statistics key for the element/attribute name.
    * @param ii index info
@@ -356,6 +356,19 @@ public abstract class Expr extends ExprInfo {
     return false;
   }
 
+  /**
+   * Estimates the fraction of the nodes of a step that will be accepted if this expression is
+   * used as predicate. This method will be called by {@link Path#optimize}.
+   * @param step step
+   * @param data data reference
+   * @return selectivity ({@code 1} if no estimation is possible)
+   * @throws QueryException query exception
+   */
+  @SuppressWarnings("unused")
+  public double selectivity(final Step step, final Data data) throws QueryException {
+    return 1;
+  }
+
   /**
    * Compares the current and specified expression for equality. {@code false} may be returned,
    * even if the expressions are equal.
@@ -1,5 +1,6 @@
 package org.basex.query.expr;
 
+import org.basex.query.*;
 import org.basex.query.value.node.*;
 import org.basex.util.*;
 
@@ -57,6 +58,7 @@ public abstract class ExprInfo {
     for(int a = 0; a < al - 1; a += 2) {
       if(atts[a + 1] != null) el.add(planAttr(atts[a], atts[a + 1]));
     }
+    QueryProfiler.attach(this, el);
     return el;
   }
 
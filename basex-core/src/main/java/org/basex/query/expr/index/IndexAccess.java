@@ -1,5 +1,6 @@
 package org.basex.query.expr.index;
 
+import org.basex.data.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.iter.*;
@@ -26,6 +27,14 @@ public abstract class IndexAccess extends Simple {
     this.ictx = ictx;
   }
 
+  /**
+   * Returns the data reference of the accessed index.
+   * @return data reference
+   */
+  public final Data indexData() {
+    return ictx.data;
+  }
+
   /**
    * Sets the number of results.
    * @param s number of results
@@ -0,0 +1,212 @@
+package org.basex.query.expr.index;
+
+import static org.basex.query.QueryText.*;
+import static org.basex.util.Token.*;
+
+import java.util.*;
+import java.util.regex.*;
+
+import org.basex.data.*;
+import org.basex.index.*;
+import org.basex.index.query.*;
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.expr.path.*;
+import org.basex.query.func.*;
+import org.basex.query.iter.*;
+import org.basex.query.util.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.var.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+
+/**
+ * This index class retrieves texts that contain a substring from the n-gram index.
+ * The texts that contain all n-grams of the substring are verified before being returned.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class NGramAccess extends IndexAccess {
+  /** Search modes. */
+  public enum Mode {
+    /** Contains. */ CONTAINS(Function.CONTAINS),
+    /** Starts with. */ STARTS_WITH(Function.STARTS_WITH),
+    /** Ends with. */ ENDS_WITH(Function.ENDS_WITH),
+    /** Matches. */ MATCHES(Function.MATCHES);
+
+    /** Function. */
+    private final Function func;
+
+    /**
+     * Constructor.
+     * @param func function
+     */
+    Mode(final Function func) {
+      this.func = func;
+    }
+  }
+
+  /** Substring to be found (literal part of the pattern if mode is {@link Mode#MATCHES}). */
+  private final byte[] term;
+  /** Search mode. */
+  private final Mode mode;
+  /** Pattern (only assigned if mode is {@link Mode#MATCHES}). */
+  private final Pattern pattern;
+  /** Parent name test. */
+  private final NameTest test;
+
+  /**
+   * Constructor.
+   * @param info input info
+   * @param term substring to be found
+   * @param mode search mode
+   * @param pattern pattern (can be {@code null})
+   * @param test name test (can be {@code null})
+   * @param ictx index context
+   */
+  public NGramAccess(final InputInfo info, final byte[] term, final Mode mode,
+      final Pattern pattern, final NameTest test, final IndexContext ictx) {
+    super(ictx, info);
+    this.term = term;
+    this.mode = mode;
+    this.pattern = pattern;
+    this.test = test;
+  }
+
+  /**
+   * Returns the estimated costs for looking up the specified substring.
+   * The costs of the rarest n-gram are returned.
+   * @param data data reference
+   * @param term substring
+   * @return costs, or {@code -1} if the index cannot be used
+   */
+  public static int costs(final Data data, final byte[] term) {
+    final byte[][] grams = IndexType.NGRAM.keys(term);
+    if(grams.length == 0) return -1;
+    int costs = Integer.MAX_VALUE;
+    for(final byte[] gram : grams) {
+      final int c = data.costs(new StringToken(IndexType.NGRAM, gram));
+      if(c < 0) return -1;
+      costs = Math.min(costs, c);
+    }
+    return costs;
+  }
+
+  @Override
+  public BasicNodeIter iter(final QueryContext qc) {
+    final Data data = ictx.data;
+    final int[] pres = candidates(data);
+    final DBNode tmp = new DBNode(data, 0, test == null ? Data.TEXT : Data.ELEM);
+    return new DBNodeIter(data) {
+      int p;
+
+      @Override
+      public DBNode next() {
+        while(p < pres.length) {
+          final int pre = pres[p++];
+          if(!verify(data.text(pre, true))) continue;
+          if(test == null) {
+            tmp.pre(pre);
+          } else {
+            tmp.pre(data.parent(pre, Data.TEXT));
+            if(!test.eq(tmp)) continue;
+          }
+          return tmp.finish();
+        }
+        return null;
+      }
+    };
+  }
+
+  /**
+   * Returns the sorted pre values of all texts that contain the n-grams of the search term.
+   * Posting lists are intersected in the order of ascending size.
+   * @param data data reference
+   * @return pre values
+   */
+  private int[] candidates(final Data data) {
+    final byte[][] grams = IndexType.NGRAM.keys(term);
+    final int gl = grams.length;
+    final StringToken[] tokens = new StringToken[gl];
+    final int[] costs = new int[gl];
+    for(int g = 0; g < gl; g++) {
+      tokens[g] = new StringToken(IndexType.NGRAM, grams[g]);
+      costs[g] = data.costs(tokens[g]);
+    }
+    final Integer[] order = new Integer[gl];
+    for(int g = 0; g < gl; g++) order[g] = g;
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(final Integer g1, final Integer g2) {
+        return Integer.compare(costs[g1], costs[g2]);
+      }
+    });
+
+    IntList result = null;
+    for(final int g : order) {
+      final IndexIterator ii = data.iter(tokens[g]);
+      final IntList pres = new IntList(Math.max(1, ii.size()));
+      while(ii.more()) pres.add(ii.pre());
+      pres.sort();
+      result = result == null ? pres : intersect(result, pres);
+      if(result.isEmpty()) break;
+    }
+    return result == null ? new int[0] : result.finish();
+  }
+
+  /**
+   * Intersects two sorted lists.
+   * @param list1 first list
+   * @param list2 second list
+   * @return intersection
+   */
+  private static IntList intersect(final IntList list1, final IntList list2) {
+    final int s1 = list1.size(), s2 = list2.size();
+    final IntList list = new IntList(Math.min(s1, s2));
+    for(int i1 = 0, i2 = 0; i1 < s1 && i2 < s2;) {
+      final int d = list1.get(i1) - list2.get(i2);
+      if(d == 0) list.add(list1.get(i1));
+      if(d <= 0) i1++;
+      if(d >= 0) i2++;
+    }
+    return list;
+  }
+
+  /**
+   * Checks if the specified text is a hit.
+   * @param text text
+   * @return result of check
+   */
+  private boolean verify(final byte[] text) {
+    switch(mode) {
+      case STARTS_WITH: return startsWith(text, term);
+      case ENDS_WITH:   return endsWith(text, term);
+      case MATCHES:     return pattern.matcher(string(text)).find();
+      default:          return contains(text, term);
+    }
+  }
+
+  @Override
+  public Expr copy(final CompileContext cc, final IntObjMap<Var> vm) {
+    return copyType(new NGramAccess(info, term, mode, pattern, test, ictx));
+  }
+
+  @Override
+  public void plan(final FElem plan) {
+    addPlan(plan, planElem(DATA, ictx.data.meta.name, TYP, IndexType.NGRAM, NAM, test,
+        mode.func.local(), mode == Mode.MATCHES ? pattern.pattern() : term));
+  }
+
+  @Override
+  public String toString() {
+    final TokenBuilder tb = new TokenBuilder();
+    tb.add(Function._DB_OPEN.toString(Str.get(ictx.data.meta.name))).add("//text()[");
+    tb.add(mode.func.toString(new ContextValue(info),
+        Str.get(mode == Mode.MATCHES ? token(pattern.pattern()) : term))).add(']');
+    if(test != null) tb.add("/parent::").addExt(test);
+    return tb.toString();
+  }
+}
@@ -32,7 +32,7 @@ final class CachedStep extends Step {
   public NodeIter iter(final QueryContext qc) throws QueryException {
     // evaluate step
     final ANodeList list = new ANodeList();
-    for(final ANode n : axis.iter(checkNode(qc))) {
+    for(final ANode n : iter(checkNode(qc))) {
       if(test.eq(n)) list.add(n.finish());
     }
 
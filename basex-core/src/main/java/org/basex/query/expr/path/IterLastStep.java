@@ -38,7 +38,7 @@ final class IterLastStep extends Step {
 
         // return last items
         ANode litem = null;
-        for(final ANode node : axis.iter(checkNode(qc))) {
+        for(final ANode node : iter(checkNode(qc))) {
           qc.checkStop();
           if(test.eq(node)) litem = node.finish();
         }
@@ -41,7 +41,7 @@ final class IterPosStep extends Step {
       public ANode next() throws QueryException {
         if(skip) return null;
         if(iter == null) {
-          iter = axis.iter(checkNode(qc));
+          iter = iter(checkNode(qc));
           final int pl = preds.length;
           for(int p = 0; p < pl; p++) {
             final Expr pred = preds[p];
@@ -34,7 +34,7 @@ final class IterStep extends Step {
 
       @Override
       public ANode next() throws QueryException {
-        if(iter == null) iter = axis.iter(checkNode(qc));
+        if(iter == null) iter = iter(checkNode(qc));
         for(final ANode node : iter) {
           qc.checkStop();
           if(test.eq(node) && preds(node, qc)) return node.finish();
@@ -24,6 +24,7 @@ import org.basex.query.value.type.*;
 import org.basex.query.value.type.SeqType.Occ;
 import org.basex.query.var.*;
 import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * Path expression.
@@ -178,6 +179,18 @@ public abstract class Path extends ParseExpr {
        */
       e = children(cc, v);
       if(e != this) return e.optimize(cc);
+
+      // rewrite remaining descendant steps to structural joins
+      e = join(cc, v);
+      if(e != this) return e.optimize(cc);
+    }
+
+    // evaluate most selective predicates first (root may be the result of an index rewrite)
+    final Data data = v != null ? v.data() :
+      root instanceof IndexAccess ? ((IndexAccess) root).indexData() : null;
+    if(data != null) {
+      e = reorder(cc, data);
+      if(e != this) return e.optimize(cc);
     }
 
     // choose best path implementation and set type information
@@ -608,6 +621,109 @@ public abstract class Path extends ParseExpr {
     return path;
   }
 
+  /**
+   * Rewrites leading descendant steps with element names to a structural join,
+   * which is evaluated via the posting lists of the element names. This optimization is
+   * located after the rewriting to child steps, as these will be cheaper to evaluate.
+   * Example: {@code //A//B[C] -> SJ(A, B)[C]}.
+   * @param cc compilation context
+   * @param rt root value
+   * @return original or new expression
+   */
+  private Expr join(final CompileContext cc, final Value rt) {
+    // only rewrite on document level
+    if(rt.type != NodeType.DOC) return this;
+
+    // skip if posting lists do not exist or are out-dated, or if namespaces occur in the input
+    final Data data = rt.data();
+    if(data == null || data.elemIndex == null || !data.meta.uptodate ||
+        !data.nspaces.isEmpty()) return this;
+
+    // collect leading descendant steps (predicates are only allowed in the last step)
+    final ArrayList<NameTest> tests = new ArrayList<>();
+    final IntList ids = new IntList();
+    Expr[] preds = null;
+    final int sl = steps.length;
+    int s = 0;
+    for(; s < sl && preds == null; s++) {
+      final Step step = axisStep(s);
+      if(step == null || step.axis != DESC || step.has(Flag.POS) ||
+          !(step.test instanceof NameTest) || step.test.type != NodeType.ELM ||
+          step.test.kind != Kind.NAME) break;
+      tests.add((NameTest) step.test);
+      ids.add(data.elemNames.id(step.test.name.local()));
+      if(step.preds.length != 0) preds = step.preds;
+    }
+    if(tests.isEmpty()) return this;
+    if(ids.contains(0)) {
+      cc.info(OPTPATH_X, this);
+      return Empty.SEQ;
+    }
+
+    // collect root nodes; skip rewrite if the posting lists are larger than the input
+    final IntList pres = new IntList((int) rt.size());
+    for(final Item it : rt) pres.add(((DBNode) it).pre());
+    final int[] roots = pres.sort().distinct().finish();
+    long nodes = 0, costs = 0;
+    for(final int pre : roots) nodes += data.size(pre, Data.DOC);
+    for(final int id : ids.toArray()) costs += data.elemIndex.size(id);
+    if(costs >= nodes) return this;
+    cc.info(OPTJOIN_X, this);
+
+    // build new steps
+    final Expr join = new StructuralJoin(info, data, roots.length == data.meta.ndocs ? null :
+      roots, tests.toArray(new NameTest[tests.size()]), ids.finish());
+    final ExprList list = new ExprList(sl - s + 1);
+    if(preds != null) list.add(Step.get(info, SELF, KindTest.NOD, preds));
+    while(s < sl) list.add(steps[s++]);
+    return list.isEmpty() ? join : get(info, join, list.finish());
+  }
+
+  /**
+   * Reorders the predicates of the steps by their estimated selectivity, so that the most
+   * selective predicates will be evaluated first. Predicates will only be reordered if they
+   * are non-numeric, non-positional and deterministic.
+   * @param cc compilation context
+   * @param data data reference
+   * @return original or new expression
+   * @throws QueryException query exception
+   */
+  private Expr reorder(final CompileContext cc, final Data data) throws QueryException {
+    Expr[] st = null;
+    final int sl = steps.length;
+    for(int s = 0; s < sl; s++) {
+      final Step step = axisStep(s);
+      if(step == null) break;
+      final Expr[] preds = step.preds;
+      final int pl = preds.length;
+      if(pl < 2) continue;
+
+      // estimate selectivity, skip steps with predicates that cannot be reordered
+      final double[] sel = new double[pl];
+      boolean reorder = true, sorted = true;
+      for(int p = 0; p < pl && reorder; p++) {
+        final Expr pred = preds[p];
+        reorder = !pred.seqType().mayBeNumber() && !pred.has(Flag.POS) &&
+            !pred.has(Flag.NDT) && !pred.has(Flag.UPD);
+        if(reorder) {
+          sel[p] = pred.selectivity(step, data);
+          if(p > 0 && sel[p] < sel[p - 1]) sorted = false;
+        }
+      }
+      if(!reorder || sorted) continue;
+
+      final int[] ord = Array.createOrder(sel, true);
+      final Expr[] np = new Expr[pl];
+      for(int p = 0; p < pl; p++) np[p] = preds[ord[p]];
+      if(st == null) st = steps.clone();
+      st[s] = Step.get(step.info, step.axis, step.test, np);
+    }
+    if(st == null) return this;
+
+    cc.info(OPTORDER_X, this);
+    return get(info, root, st);
+  }
+
   /**
    * Returns an equivalent expression which accesses an index.
    * If the expression cannot be rewritten, the original expression is returned.
@@ -8,10 +8,12 @@ import java.util.*;
 import org.basex.data.*;
 import org.basex.index.name.*;
 import org.basex.index.path.*;
+import org.basex.index.stats.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.expr.path.Test.*;
 import org.basex.query.func.*;
+import org.basex.query.iter.*;
 import org.basex.query.util.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.*;
@@ -117,6 +119,35 @@ public abstract class Step extends Preds {
         (name ? test.kind == Kind.NAME : test == KindTest.NOD);
   }
 
+  /**
+   * Returns the statistics for the values that are compared by a predicate of this step.
+   * @param expr compared expression (context value, or child, text or attribute step)
+   * @param data data reference
+   * @return statistics or {@code null}
+   */
+  public final Stats stats(final Expr expr, final Data data) {
+    // statistics are not up-to-date
+    if(!data.meta.uptodate || !data.nspaces.isEmpty()) return null;
+
+    Step step = this;
+    if(expr instanceof AxisPath) {
+      final AxisPath path = (AxisPath) expr;
+      if(path.root != null || path.steps.length != 1) return null;
+      final Step st = path.step(0);
+      if(st.simple(Axis.ATTR, true) || st.simple(Axis.CHILD, true)) step = st;
+      else if(st.axis != Axis.CHILD || st.preds.length != 0 || st.test != KindTest.TXT) return null;
+    } else if(!(expr instanceof ContextValue)) {
+      return null;
+    }
+    if(step.test.kind != Kind.NAME) return null;
+
+    final boolean elem = step.test.type == NodeType.ELM;
+    if(!elem && step.test.type != NodeType.ATT) return null;
+    final Names names = elem ? data.elemNames : data.attrNames;
+    final Stats stats = names.stats(names.id(step.test.name.local()));
+    return stats == null || elem && !stats.isLeaf() ? null : stats;
+  }
+
   /**
    * Returns the path nodes that are the result of this step.
    * @param nodes initial path nodes
@@ -202,6 +233,23 @@ public abstract class Step extends Preds {
     throw v == null ? NOCTX_X.get(info, this) : STEPNODE_X_X_X.get(info, this, v.type, v);
   }
 
+  /**
+   * Returns an iterator for the axis of this step. Descendant steps with element names
+   * will skip database subtrees that contain no results, as indicated by the path summary.
+   * @param node context node
+   * @return iterator
+   */
+  final BasicNodeIter iter(final ANode node) {
+    if(axis == Axis.DESC && node instanceof DBNode && test.type == NodeType.ELM &&
+        test.kind == Kind.NAME) {
+      final Data data = node.data();
+      if(data.meta.uptodate && data.nspaces.isEmpty()) {
+        return ((DBNode) node).descendant(data.elemNames.id(test.name.local()));
+      }
+    }
+    return axis.iter(node);
+  }
+
   @Override
   public final boolean sameAs(final Expr cmp) {
     if(!(cmp instanceof Step)) return false;
@@ -0,0 +1,156 @@
+package org.basex.query.expr.path;
+
+import static org.basex.query.QueryText.*;
+
+import org.basex.data.*;
+import org.basex.index.name.*;
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.func.*;
+import org.basex.query.iter.*;
+import org.basex.query.util.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
+import org.basex.query.var.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+
+/**
+ * Structural join, which returns the elements that are reached by a sequence of descendant
+ * steps with element names. The pre values of the elements are retrieved from the posting
+ * lists of the element names ({@link ElemIndex}), and the lists are joined via a stack of
+ * ancestor ranges.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class StructuralJoin extends Simple {
+  /** Data reference. */
+  private final Data data;
+  /** Pre values of the root nodes ({@code null}: all documents of the database). */
+  private final int[] roots;
+  /** Name tests of the descendant steps. */
+  private final NameTest[] tests;
+  /** Ids of the element names. */
+  private final int[] ids;
+
+  /**
+   * Constructor.
+   * @param info input info
+   * @param data data reference
+   * @param roots pre values of the root nodes ({@code null}: all documents of the database)
+   * @param tests name tests of the descendant steps
+   * @param ids ids of the element names
+   */
+  StructuralJoin(final InputInfo info, final Data data, final int[] roots, final NameTest[] tests,
+      final int[] ids) {
+    super(info);
+    this.data = data;
+    this.roots = roots;
+    this.tests = tests;
+    this.ids = ids;
+    seqType = SeqType.ELM_ZM;
+  }
+
+  @Override
+  public BasicNodeIter iter(final QueryContext qc) throws QueryException {
+    final int[] pres = pres(qc);
+    final DBNode tmp = new DBNode(data, 0, Data.ELEM);
+    return new DBNodeIter(data) {
+      int p;
+
+      @Override
+      public DBNode next() {
+        return p < pres.length ? get(p++) : null;
+      }
+
+      @Override
+      public DBNode get(final long i) {
+        tmp.pre(pres[(int) i]);
+        return tmp.finish();
+      }
+
+      @Override
+      public long size() {
+        return pres.length;
+      }
+    };
+  }
+
+  /**
+   * Computes the pre values of the resulting elements.
+   * @param qc query context
+   * @return pre values
+   * @throws QueryException query exception
+   */
+  private int[] pres(final QueryContext qc) throws QueryException {
+    // descendants of all documents: first list can be adopted as is
+    int[] pres = roots;
+    for(final int id : ids) {
+      final int[] desc = data.elemIndex.pres(id);
+      pres = pres == null ? desc : join(pres, desc, qc);
+      if(pres.length == 0) break;
+    }
+    return pres;
+  }
+
+  /**
+   * Returns all nodes of the second list that are descendants of nodes in the first list.
+   * As both lists are sorted, the join is performed in a single pass: the end positions of all
+   * ancestors that contain the current candidate are kept on a stack.
+   * @param anc pre values of the ancestors (sorted)
+   * @param desc pre values of the descendants (sorted)
+   * @param qc query context
+   * @return pre values of the resulting descendants
+   * @throws QueryException query exception
+   */
+  private int[] join(final int[] anc, final int[] desc, final QueryContext qc)
+      throws QueryException {
+
+    final IntList list = new IntList(), ends = new IntList();
+    final int al = anc.length;
+    int a = 0;
+    for(final int pre : desc) {
+      qc.checkStop();
+      // push ancestors that start before the candidate, pop ancestors that end before them
+      while(a < al && anc[a] < pre) {
+        final int ap = anc[a++];
+        while(!ends.isEmpty() && ends.peek() <= ap) ends.pop();
+        ends.push(ap + data.size(ap, data.kind(ap)));
+      }
+      // pop ancestors that end before the candidate
+      while(!ends.isEmpty() && ends.peek() <= pre) ends.pop();
+      if(!ends.isEmpty()) list.add(pre);
+      // skip remaining candidates if all ancestors have been processed
+      else if(a == al) break;
+    }
+    return list.finish();
+  }
+
+  @Override
+  public boolean iterable() {
+    return true;
+  }
+
+  @Override
+  public Expr copy(final CompileContext cc, final IntObjMap<Var> vm) {
+    return copyType(new StructuralJoin(info, data, roots, tests, ids));
+  }
+
+  @Override
+  public void plan(final FElem plan) {
+    final TokenBuilder tb = new TokenBuilder();
+    for(final NameTest test : tests) tb.add(tb.isEmpty() ? "" : " ").addExt(test);
+    addPlan(plan, planElem(DATA, data.meta.name, NAM, tb));
+  }
+
+  @Override
+  public String toString() {
+    final TokenBuilder tb = new TokenBuilder();
+    tb.add(Function._DB_OPEN.toString(Str.get(data.meta.name)));
+    for(final NameTest test : tests) tb.add('/').add(Axis.DESC.toString()).add("::").addExt(test);
+    return tb.toString();
+  }
+}
@@ -951,6 +951,9 @@ public enum Function {
   _FT_SEARCH(FtSearch.class, "search(database,terms[,options])",
       arg(STR, ITEM_ZM, MAP_O), TXT_ZM, flag(NDT), FT_URI),
   /** XQuery function. */
+  _FT_TOP(FtTop.class, "top(database,terms,count[,options])",
+      arg(STR, ITEM_ZM, ITR, MAP_O), TXT_ZM, flag(NDT), FT_URI),
+  /** XQuery function. */
   _FT_COUNT(FtCount.class, "count(nodes)", arg(NOD_ZM), ITR, FT_URI),
   /** XQuery function. */
   _FT_MARK(FtMark.class, "mark(nodes[,name])", arg(NOD_ZM, STR), NOD_ZM, FT_URI),
@@ -1022,6 +1025,9 @@ public enum Function {
   /** XQuery function. */
   _HTTP_SEND_REQUEST(HttpSendRequest.class, "send-request(request[,href,[bodies]])",
       arg(NOD, STR_ZO, ITEM_ZM), ITEM_ZM, flag(NDT), HTTP_URI),
+  /** XQuery function. */
+  _HTTP_SEND_REQUESTS(HttpSendRequests.class, "send-requests(requests[,options])",
+      arg(NOD_ZM, MAP_O), ITEM_ZM, flag(NDT), HTTP_URI),
 
   /* Index Module. */
 
@@ -1180,10 +1186,14 @@ public enum Function {
   /** XQuery function. */
   _SQL_PREPARE(SqlPrepare.class, "prepare(id,statement)", arg(ITR, STR), ITR, flag(NDT), SQL_URI),
   /** XQuery function. */
-  _SQL_EXECUTE(SqlExecute.class, "execute(id,query)", arg(ITR, STR), ELM_ZM, flag(NDT), SQL_URI),
+  _SQL_EXECUTE(SqlExecute.class, "execute(id,query[,options])",
+      arg(ITR, STR, MAP_O), ITEM_ZM, flag(NDT), SQL_URI),
+  /** XQuery function. */
+  _SQL_EXECUTE_PREPARED(SqlExecutePrepared.class, "execute-prepared(id[,params[,options]])",
+      arg(ITR, ELM, MAP_O), ITEM_ZM, flag(NDT), SQL_URI),
   /** XQuery function. */
-  _SQL_EXECUTE_PREPARED(SqlExecutePrepared.class, "execute-prepared(id[,params])",
-      arg(ITR, ELM), ELM_ZM, flag(NDT), SQL_URI),
+  _SQL_EXECUTE_BATCH(SqlExecuteBatch.class, "execute-batch(id,params[,options])",
+      arg(ITR, ITEM_ZM, MAP_O), ITR, flag(NDT), SQL_URI),
   /** XQuery function. */
   _SQL_CLOSE(SqlClose.class, "close(id)", arg(ITR), EMP, flag(NDT), SQL_URI),
   /** XQuery function. */
@@ -0,0 +1,128 @@
+package org.basex.query.func;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+
+import org.basex.query.*;
+import org.basex.query.value.*;
+import org.basex.query.value.type.*;
+import org.basex.query.value.type.Type;
+import org.basex.util.*;
+
+/**
+ * Resolved Java constructor, method or field. The parameter mappings are computed once, and
+ * invocations are performed via a method handle.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+final class JavaCall {
+  /** Type of all method handles: instance (may be {@code null}), arguments, result. */
+  private static final MethodType TYPE =
+      MethodType.methodType(Object.class, Object.class, Object[].class);
+
+  /** Constructor, method or field. */
+  final Member member;
+  /** Indicates if the member is static (constructors are treated as static members). */
+  final boolean stat;
+  /** Parameter types. */
+  private final Class<?>[] params;
+  /** XQuery types of the parameters (entries can be {@code null}). */
+  private final Type[] types;
+  /** Indicates if parameters are of (sub)class {@link Value}. */
+  private final boolean[] values;
+  /** Method handle ({@code null} if the member is not accessible via the public lookup). */
+  private final MethodHandle handle;
+
+  /**
+   * Constructor.
+   * @param member constructor, method or field
+   */
+  JavaCall(final Member member) {
+    this.member = member;
+    stat = !(member instanceof Method || member instanceof Field) ||
+        Modifier.isStatic(member.getModifiers());
+    params = member instanceof Method ? ((Method) member).getParameterTypes() :
+      member instanceof Constructor ? ((Constructor<?>) member).getParameterTypes() :
+      new Class<?>[0];
+    final int pl = params.length;
+    types = new Type[pl];
+    for(int p = 0; p < pl; p++) types[p] = JavaMapping.type(params[p], true);
+    values = JavaFunction.values(params);
+    handle = handle();
+  }
+
+  /**
+   * Returns the number of parameters.
+   * @return number of parameters
+   */
+  int arity() {
+    return params.length;
+  }
+
+  /**
+   * Returns the parameter types.
+   * @return parameter types
+   */
+  Class<?>[] params() {
+    return params;
+  }
+
+  /**
+   * Converts the arguments to values that match the parameters.
+   * @param args arguments
+   * @param skip skip the first argument (which is the instance of a non-static member)
+   * @return converted arguments, or {@code null} if conversion is not possible
+   * @throws QueryException query exception
+   */
+  Object[] args(final Value[] args, final boolean skip) throws QueryException {
+    return JavaFunction.javaArgs(params, types, values, args, !skip);
+  }
+
+  /**
+   * Invokes the member.
+   * @param inst instance ({@code null} for static members)
+   * @param args converted arguments
+   * @return result
+   * @throws Exception exception; exceptions raised by the member are wrapped into
+   *   {@link InvocationTargetException} instances
+   */
+  Object invoke(final Object inst, final Object[] args) throws Exception {
+    if(handle == null) {
+      if(member instanceof Method) return ((Method) member).invoke(inst, args);
+      if(member instanceof Constructor) return ((Constructor<?>) member).newInstance(args);
+      return ((Field) member).get(inst);
+    }
+    try {
+      return handle.invokeExact(inst, args);
+    } catch(final Throwable th) {
+      throw new InvocationTargetException(th);
+    }
+  }
+
+  /**
+   * Creates a method handle with a uniform type (see {@link #TYPE}).
+   * @return method handle, or {@code null} if the member is not accessible
+   */
+  private MethodHandle handle() {
+    final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+    try {
+      MethodHandle mh;
+      if(member instanceof Method) {
+        mh = lookup.unreflect((Method) member);
+      } else if(member instanceof Constructor) {
+        mh = lookup.unreflectConstructor((Constructor<?>) member);
+      } else {
+        mh = lookup.unreflectGetter((Field) member);
+      }
+      if(mh.isVarargsCollector()) mh = mh.asFixedArity();
+      mh = mh.asSpreader(Object[].class, params.length);
+      if(stat) mh = MethodHandles.dropArguments(mh, 0, Object.class);
+      return mh.asType(TYPE);
+    } catch(final IllegalAccessException | RuntimeException ex) {
+      // fall back to reflection
+      Util.debug(ex);
+      return null;
+    }
+  }
+}
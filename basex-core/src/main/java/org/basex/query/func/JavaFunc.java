@@ -4,6 +4,7 @@ import static org.basex.query.QueryError.*;
 import static org.basex.query.QueryText.*;
 
 import java.lang.reflect.*;
+import java.util.*;
 
 import org.basex.core.users.*;
 import org.basex.query.*;
@@ -28,6 +29,11 @@ final class JavaFunc extends JavaFunction {
   /** Types provided in the query (can be {@code null}). */
   private final String[] types;
 
+  /** Constructors or methods that match the name, arity and types (lazy instantiation). */
+  private volatile JavaCall[] calls;
+  /** Field with the specified name ({@code null} if it does not exist, or if not resolved yet). */
+  private volatile JavaCall field;
+
   /**
    * Constructor.
    * @param sc static context
@@ -72,20 +78,17 @@ final class JavaFunc extends JavaFunction {
    * @throws Exception exception
    */
   private Object constructor(final Value[] args) throws Exception {
-    Constructor<?> cons = null;
+    JavaCall cons = null;
     Object[] cargs = null;
-    for(final Constructor<?> c : clazz.getConstructors()) {
-      final Class<?>[] pTypes = c.getParameterTypes();
-      if(!typeMatches(pTypes, types)) continue;
-
-      final Object[] jArgs = javaArgs(pTypes, null, args, true);
+    for(final JavaCall c : calls()) {
+      final Object[] jArgs = c.args(args, false);
       if(jArgs != null) {
-        if(cons != null) throw JAVACONSAMB_X.get(info, Util.className(clazz) + '#' + pTypes.length);
+        if(cons != null) throw JAVACONSAMB_X.get(info, Util.className(clazz) + '#' + c.arity());
         cons = c;
         cargs = jArgs;
       }
     }
-    if(cons != null) return cons.newInstance(cargs);
+    if(cons != null) return cons.invoke(null, cargs);
 
     throw WHICHCONSTR_X_X.get(info, name(), foundArgs(args));
   }
@@ -99,31 +102,26 @@ final class JavaFunc extends JavaFunction {
    */
   private Object method(final Value[] args, final QueryContext qc) throws Exception {
     // check if a field with the specified name exists
-    try {
-      final Field field = clazz.getField(method);
-      final boolean stat = Modifier.isStatic(field.getModifiers());
-      if(args.length == (stat ? 0 : 1)) return field.get(stat ? null : instObj(args[0]));
-    } catch(final NoSuchFieldException ex) { /* ignored */ }
+    final JavaCall[] cs = calls();
+    final JavaCall fld = field;
+    if(fld != null && args.length == (fld.stat ? 0 : 1)) {
+      return fld.invoke(fld.stat ? null : instObj(args[0]), null);
+    }
 
     // loop through all methods
-    Method meth = null;
+    JavaCall meth = null;
     Object inst = null;
     Object[] margs = null;
-    for(final Method m : clazz.getMethods()) {
-      if(!m.getName().equals(method)) continue;
-      final Class<?>[] pTypes = m.getParameterTypes();
-      if(!typeMatches(pTypes, types)) continue;
-
-      final boolean stat = Modifier.isStatic(m.getModifiers());
-      final Object[] jArgs = javaArgs(pTypes, null, args, stat);
+    for(final JavaCall m : cs) {
+      final Object[] jArgs = m.args(args, !m.stat);
       if(jArgs == null) continue;
 
       // method found
-      if(meth != null) throw JAVAAMB_X_X_X.get(info, clazz.getName(), method, pTypes.length);
+      if(meth != null) throw JAVAAMB_X_X_X.get(info, clazz.getName(), method, m.arity());
       meth = m;
       margs = jArgs;
 
-      if(!stat) {
+      if(!m.stat) {
         inst = instObj(args[0]);
         if(inst instanceof QueryModule) {
           final QueryModule mod = (QueryModule) inst;
@@ -137,6 +135,39 @@ final class JavaFunc extends JavaFunction {
     throw WHICHMETHOD_X_X.get(info, name(), foundArgs(args));
   }
 
+  /**
+   * Returns the constructors or methods that may be called by this function.
+   * The candidates and the field are only resolved once.
+   * @return candidates
+   */
+  private JavaCall[] calls() {
+    JavaCall[] cs = calls;
+    if(cs == null) {
+      final ArrayList<JavaCall> list = new ArrayList<>();
+      final int al = exprs.length;
+      if(method.equals(NEW)) {
+        for(final Constructor<?> c : clazz.getConstructors()) {
+          final Class<?>[] pTypes = c.getParameterTypes();
+          if(pTypes.length == al && typeMatches(pTypes, types)) list.add(new JavaCall(c));
+        }
+      } else {
+        try {
+          field = new JavaCall(clazz.getField(method));
+        } catch(final NoSuchFieldException ex) { /* ignored */ }
+
+        for(final Method m : clazz.getMethods()) {
+          if(!m.getName().equals(method)) continue;
+          final Class<?>[] pTypes = m.getParameterTypes();
+          final int arity = pTypes.length + (Modifier.isStatic(m.getModifiers()) ? 0 : 1);
+          if(arity == al && typeMatches(pTypes, types)) list.add(new JavaCall(m));
+        }
+      }
+      cs = list.toArray(new JavaCall[list.size()]);
+      calls = cs;
+    }
+    return cs;
+  }
+
   /**
    * Creates the instance on which a non-static field getter or method is invoked.
    * @param v XQuery value
@@ -348,34 +348,34 @@ public abstract class JavaFunction extends Arr {
    * Converts the arguments to values that match the specified function parameters.
    * {@code null} is returned if conversion is not possible.
    * @param pTypes parameter types
+   * @param xTypes XQuery types of the parameters (entries can be {@code null})
    * @param vTypes indicates which parameter types are values
    * @param args arguments
    * @param stat static flag
    * @return converted arguments, or {@code null}
    * @throws QueryException query exception
    */
-  protected static Object[] javaArgs(final Class<?>[] pTypes, final boolean[] vTypes,
-      final Value[] args, final boolean stat) throws QueryException {
+  static Object[] javaArgs(final Class<?>[] pTypes, final Type[] xTypes,
+      final boolean[] vTypes, final Value[] args, final boolean stat) throws QueryException {
 
     // start with second argument if function is not static
     final int s = stat ? 0 : 1, pl = pTypes.length;
     if(pl != args.length - s) return null;
 
     // function arguments
-    final boolean[] vType = vTypes == null ? values(pTypes) : vTypes;
     final Object[] vals = new Object[pl];
     for(int p = 0; p < pl; p++) {
       final Class<?> param = pTypes[p];
       final Value arg = args[s + p];
 
-      if(arg.type.instanceOf(JavaMapping.type(param, true))) {
+      if(arg.type.instanceOf(xTypes[p])) {
         // convert to Java object if an XQuery type exists for the function parameter
         vals[p] = arg.toJava();
       } else {
         // convert to Java object if
         // - argument is of type {@link Jav}, wrapping a Java object, or
         // - function parameter is not of type {@link Value}, or a sub-class of it
-        vals[p] = arg instanceof Jav || !vType[p] ? arg.toJava() : arg;
+        vals[p] = arg instanceof Jav || !vTypes[p] ? arg.toJava() : arg;
         // check if argument is an instance of the function parameter
         if(!param.isInstance(vals[p])) {
           // if no, check if argument is an empty sequence; otherwise, give up
@@ -27,10 +27,8 @@ final class JavaModuleFunc extends JavaFunction {
   private final Object module;
   /** Method to be called. */
   private final Method method;
-  /** Method parameters. */
-  private final Class<?>[] params;
-  /** Indicates if function parameters are of (sub)class {@link Value}. */
-  private final boolean[] vTypes;
+  /** Resolved method. */
+  private final JavaCall call;
 
   /**
    * Constructor.
@@ -47,8 +45,7 @@ final class JavaModuleFunc extends JavaFunction {
     super(sc, info, args, perm);
     this.module = module;
     this.method = method;
-    params = method.getParameterTypes();
-    vTypes = values(params);
+    call = new JavaCall(method);
   }
 
   @Override
@@ -65,10 +62,10 @@ final class JavaModuleFunc extends JavaFunction {
       mod.queryContext = qc;
     }
 
-    final Object[] jargs = javaArgs(params, vTypes, args, true);
+    final Object[] jargs = call.args(args, false);
     if(jargs != null) {
       try {
-        return method.invoke(module, jargs);
+        return call.invoke(module, jargs);
       } catch(final Exception ex) {
         final Throwable th = Util.rootException(ex);
         if(th instanceof QueryException) throw ((QueryException) th).info(info);
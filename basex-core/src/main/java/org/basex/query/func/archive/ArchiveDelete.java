@@ -29,7 +29,7 @@ public final class ArchiveDelete extends ArchiveFn {
     final Iter names = qc.iter(exprs[1]);
     for(Item en; (en = names.next()) != null;) hm.put(checkElemToken(en).string(info), null);
 
-    try(ArchiveIn in = ArchiveIn.get(archive.input(info), info);
+    try(ArchiveIn in = ArchiveIn.get(archive, info);
         ArchiveOut out = ArchiveOut.get(in.format(), info)) {
       if(in instanceof GZIPIn)
         throw ARCH_MODIFY_X.get(info, in.format().toUpperCase(Locale.ENGLISH));
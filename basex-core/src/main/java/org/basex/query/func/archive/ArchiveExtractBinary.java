@@ -4,6 +4,7 @@ import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 
 import java.io.*;
+import java.util.*;
 import java.util.zip.*;
 
 import org.basex.query.*;
@@ -43,11 +44,19 @@ public class ArchiveExtractBinary extends ArchiveFn {
     final TokenSet hs = entries(1, qc);
 
     final TokenList tl = new TokenList();
-    try(ArchiveIn in = ArchiveIn.get(archive.input(info), info)) {
+    try(ArchiveIn in = ArchiveIn.get(archive, info)) {
+      // ZIP files: collect entries, decompress them in parallel
+      final ArrayList<ZipEntry> entries = in instanceof ZIPFileIn ?
+        new ArrayList<ZipEntry>() : null;
       while(in.more()) {
         final ZipEntry ze = in.entry();
-        if(!ze.isDirectory() && (hs == null || hs.delete(token(ze.getName())) != 0))
-          tl.add(in.read());
+        if(!ze.isDirectory() && (hs == null || hs.delete(token(ze.getName())) != 0)) {
+          if(entries != null) entries.add(ze);
+          else tl.add(in.read());
+        }
+      }
+      if(entries != null) {
+        for(final byte[] entry : ((ZIPFileIn) in).read(entries, qc)) tl.add(entry);
       }
     } catch(final IOException ex) {
       throw ARCH_FAIL_X.get(info, ex);
@@ -9,6 +9,7 @@ import org.basex.io.*;
 import org.basex.io.in.*;
 import org.basex.io.out.*;
 import org.basex.query.*;
+import org.basex.query.value.item.*;
 import org.basex.util.*;
 
 /**
@@ -21,6 +22,31 @@ abstract class ArchiveIn implements Closeable {
   /** Buffer. */
   private final byte[] data = new byte[IO.BLOCKSIZE];
 
+  /**
+   * Returns a new instance of an archive reader.
+   * If the archive is a ZIP file, its central directory will be used to access the entries.
+   * @param archive archive
+   * @param info input info
+   * @return reader
+   * @throws QueryException query exception
+   */
+  static ArchiveIn get(final B64 archive, final InputInfo info) throws QueryException {
+    if(archive instanceof B64Stream) {
+      final IO io = ((B64Stream) archive).io();
+      if(io instanceof IOFile) {
+        try {
+          return new ZIPFileIn(new ZipFile(io.path()));
+        } catch(final ZipException ex) {
+          // no ZIP file: parse input stream
+          Util.debug(ex);
+        } catch(final IOException ex) {
+          throw ARCH_FAIL_X.get(info, ex);
+        }
+      }
+    }
+    return get(archive.input(info), info);
+  }
+
   /**
    * Returns a new instance of an archive reader.
    * @param bi buffer input
@@ -44,7 +44,7 @@ public final class ArchiveUpdate extends ArchiveCreate {
     if(en != null) do e++; while(entr.next() != null);
     if(e != c) throw ARCH_DIFF_X_X.get(info, e, c);
 
-    try(ArchiveIn in = ArchiveIn.get(archive.input(info), info);
+    try(ArchiveIn in = ArchiveIn.get(archive, info);
         ArchiveOut out = ArchiveOut.get(in.format(), info)) {
       if(in instanceof GZIPIn)
         throw ARCH_MODIFY_X.get(info, in.format().toUpperCase(Locale.ENGLISH));
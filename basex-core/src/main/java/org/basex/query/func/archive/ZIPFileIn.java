@@ -0,0 +1,141 @@
+package org.basex.query.func.archive;
+
+import static org.basex.query.func.archive.ArchiveText.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+import org.basex.core.jobs.*;
+import org.basex.io.*;
+import org.basex.io.out.*;
+import org.basex.util.*;
+
+/**
+ * ZIP file input. Entries are looked up in the central directory, and only the contents of
+ * entries that are read will be decompressed.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+final class ZIPFileIn extends ArchiveIn {
+  /** ZIP file. */
+  private final ZipFile zf;
+  /** Entries. */
+  private final Enumeration<? extends ZipEntry> entries;
+  /** Current entry. */
+  private ZipEntry ze;
+  /** Input stream of the current entry (lazy instantiation). */
+  private InputStream is;
+
+  /**
+   * Constructor.
+   * @param zf ZIP file
+   */
+  ZIPFileIn(final ZipFile zf) {
+    this.zf = zf;
+    entries = zf.entries();
+  }
+
+  @Override
+  public boolean more() throws IOException {
+    closeEntry();
+    ze = entries.hasMoreElements() ? entries.nextElement() : null;
+    return ze != null;
+  }
+
+  @Override
+  public ZipEntry entry() {
+    return ze;
+  }
+
+  @Override
+  public int read(final byte[] d) throws IOException {
+    if(is == null) is = zf.getInputStream(ze);
+    return is.read(d);
+  }
+
+  /**
+   * Reads the contents of the specified entries. Entries are decompressed in parallel.
+   * @param list entries
+   * @param job calling job (will be checked for interruptions)
+   * @return contents
+   * @throws IOException I/O exception
+   */
+  byte[][] read(final List<ZipEntry> list, final Job job) throws IOException {
+    final int es = list.size();
+    final byte[][] contents = new byte[es][];
+    if(es == 0) return contents;
+
+    final int threads = Math.min(es, Runtime.getRuntime().availableProcessors());
+    final ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      final ArrayList<Future<byte[]>> futures = new ArrayList<>(es);
+      for(final ZipEntry entry : list) {
+        futures.add(pool.submit(new Callable<byte[]>() {
+          @Override
+          public byte[] call() throws IOException {
+            job.checkStop();
+            return read(entry);
+          }
+        }));
+      }
+      for(int e = 0; e < es; e++) {
+        job.checkStop();
+        contents[e] = futures.get(e).get();
+      }
+    } catch(final InterruptedException ex) {
+      throw new JobException();
+    } catch(final ExecutionException ex) {
+      final Throwable th = ex.getCause();
+      if(th instanceof IOException) throw (IOException) th;
+      if(th instanceof RuntimeException) throw (RuntimeException) th;
+      throw new IOException(th);
+    } finally {
+      pool.shutdownNow();
+    }
+    return contents;
+  }
+
+  /**
+   * Reads the contents of a single entry.
+   * @param entry entry
+   * @return contents
+   * @throws IOException I/O exception
+   */
+  private byte[] read(final ZipEntry entry) throws IOException {
+    try(InputStream in = zf.getInputStream(entry)) {
+      final ArrayOutput ao = new ArrayOutput();
+      final byte[] buffer = new byte[IO.BLOCKSIZE];
+      for(int c; (c = in.read(buffer)) != -1;) ao.write(buffer, 0, c);
+      return ao.finish();
+    }
+  }
+
+  @Override
+  public String format() {
+    return ZIP;
+  }
+
+  @Override
+  public void close() {
+    try {
+      closeEntry();
+      zf.close();
+    } catch(final IOException ex) {
+      Util.debug(ex);
+    }
+  }
+
+  /**
+   * Closes the input stream of the current entry.
+   * @throws IOException I/O exception
+   */
+  private void closeEntry() throws IOException {
+    if(is != null) {
+      is.close();
+      is = null;
+    }
+  }
+}
@@ -1,7 +1,10 @@
 package org.basex.query.func.fn;
 
+import org.basex.index.*;
 import org.basex.query.*;
+import org.basex.query.expr.index.*;
 import org.basex.query.func.*;
+import org.basex.query.util.*;
 import org.basex.query.util.collation.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
@@ -19,4 +22,11 @@ public final class FnEndsWith extends StandardFunc {
     final Collation coll = toCollation(2, qc);
     return Bln.get(coll == null ? Token.endsWith(ss, sb) : coll.endsWith(ss, sb, info));
   }
+
+  @Override
+  public boolean indexAccessible(final IndexInfo ii) {
+    // support limited to default collation and string literals
+    return exprs.length == 2 && exprs[1] instanceof Str && ii.create(((Str) exprs[1]).string(),
+        NGramAccess.Mode.ENDS_WITH, null, ii.type(exprs[0], IndexType.NGRAM), info);
+  }
 }
@@ -4,9 +4,13 @@ import static org.basex.util.Token.*;
 
 import java.util.regex.*;
 
+import org.basex.index.*;
 import org.basex.query.*;
+import org.basex.query.expr.index.*;
+import org.basex.query.util.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * Function implementation.
@@ -21,4 +25,90 @@ public final class FnMatches extends RegEx {
     final Pattern p = pattern(exprs[1], exprs.length == 3 ? exprs[2] : null, qc, false);
     return Bln.get(p.matcher(string(value)).find());
   }
+
+  @Override
+  public boolean indexAccessible(final IndexInfo ii) {
+    // support limited to patterns without flags that contain a literal substring
+    if(exprs.length != 2 || !(exprs[1] instanceof Str)) return false;
+    final byte[] literal = literal(((Str) exprs[1]).string());
+    if(literal == null) return false;
+    final Pattern pattern;
+    try {
+      pattern = pattern(exprs[1], null, ii.qc, false);
+    } catch(final QueryException ex) {
+      // invalid pattern: error will be raised at runtime
+      Util.debug(ex);
+      return false;
+    }
+    return ii.create(literal, NGramAccess.Mode.MATCHES, pattern,
+        ii.type(exprs[0], IndexType.NGRAM), info);
+  }
+
+  /**
+   * Returns the longest literal substring that must occur in each string matched by the
+   * specified regular expression. The analysis is conservative: if the expression contains
+   * alternatives on top level, or if no literal substring is found, {@code null} is returned.
+   * @param regex regular expression
+   * @return substring or {@code null}
+   */
+  static byte[] literal(final byte[] regex) {
+    final int rl = regex.length;
+    IntList best = new IntList(), run = new IntList();
+    // depth of nested groups, flag for last atom that was added to the current run
+    int depth = 0;
+    boolean last = false;
+    for(int r = 0; r < rl; r += cl(regex, r)) {
+      final int cp = cp(regex, r);
+      int lit = -1;
+      if(cp == '|') {
+        if(depth == 0) return null;
+      } else if(cp == '(') {
+        depth++;
+      } else if(cp == ')') {
+        depth--;
+      } else if(cp == '[') {
+        // skip character class
+        int d = 1;
+        while(d > 0 && ++r < rl) {
+          if(regex[r] == '\\') r++;
+          else if(regex[r] == '[') d++;
+          else if(regex[r] == ']') d--;
+        }
+      } else if(cp == '?' || cp == '*' || cp == '+' || cp == '{') {
+        // quantifier: previous atom is optional or repeated
+        if(last) run.size(run.size() - 1);
+        if(cp == '{') {
+          while(r < rl && regex[r] != '}') r++;
+        }
+        // skip reluctant quantifier
+        if(r + 1 < rl && regex[r + 1] == '?') r++;
+      } else if(cp == '\\') {
+        if(++r == rl) return null;
+        final int esc = regex[r];
+        if(contains(token("\\|.-^?*+{}()[]$"), esc)) {
+          lit = esc;
+        } else if((esc == 'p' || esc == 'P') && r + 1 < rl && regex[r + 1] == '{') {
+          while(r + 1 < rl && regex[r + 1] != '}') r++;
+          r++;
+        }
+      } else if(cp != '.' && cp != '^' && cp != '$') {
+        lit = cp;
+      }
+
+      // add literal on top level to current run, or finish run
+      last = depth == 0 && lit != -1;
+      if(last) {
+        run.add(lit);
+      } else {
+        if(run.size() > best.size()) best = run;
+        run = new IntList();
+      }
+    }
+    if(run.size() > best.size()) best = run;
+    if(best.isEmpty()) return null;
+
+    final TokenBuilder tb = new TokenBuilder();
+    for(final int c : best.finish()) tb.add(c);
+    return tb.finish();
+  }
 }
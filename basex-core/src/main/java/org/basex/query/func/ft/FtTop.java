@@ -0,0 +1,75 @@
+package org.basex.query.func.ft;
+
+import static org.basex.query.QueryError.*;
+import static org.basex.util.ft.FTFlag.*;
+
+import org.basex.core.*;
+import org.basex.data.*;
+import org.basex.index.*;
+import org.basex.index.ft.*;
+import org.basex.index.query.*;
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.iter.*;
+import org.basex.query.util.*;
+import org.basex.query.util.list.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.util.ft.*;
+import org.basex.util.hash.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class FtTop extends StandardFunc {
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    return value(qc).iter();
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    final Data data = checkData(qc);
+    final Value terms = qc.value(exprs[1]);
+    final long count = toLong(exprs[2], qc);
+    final FtIndexOptions opts = toOptions(3, new FtIndexOptions(), qc);
+    if(!data.meta.ftindex) throw BXDB_INDEX_X.get(info, data.meta.name, IndexType.FULLTEXT);
+
+    final FTOpt opt = new FTOpt().assign(data.meta);
+    final FTMode mode = opts.get(FtIndexOptions.MODE);
+    opt.set(FZ, opts.get(FtIndexOptions.FUZZY));
+    opt.set(WC, opts.get(FtIndexOptions.WILDCARDS));
+    if(opt.is(FZ) && opt.is(WC)) throw BXFT_MATCH.get(info, this);
+
+    // all query terms are treated as single tokens
+    final FTRanking ranking = new FTRanking(data, (int) Math.min(Integer.MAX_VALUE, count),
+        mode == FTMode.ALL || mode == FTMode.ALL_WORDS);
+    final FTLexer lexer = new FTLexer(opt).lserror(qc.context.options.get(MainOptions.LSERROR));
+    final TokenSet tokens = new TokenSet();
+    for(final Item it : terms) {
+      lexer.init(toToken(it));
+      while(lexer.hasNext()) {
+        final byte[] tok = lexer.nextToken();
+        // skip stop words and tokens that are too long to be indexed
+        if(opt.sw != null && opt.sw.contains(tok) || tok.length > data.meta.maxlen) continue;
+        if(tokens.add(tok)) ranking.add((FTIndexIterator) data.iter(lexer));
+      }
+    }
+
+    final int size = ranking.rank();
+    final ItemList items = new ItemList(size);
+    for(int r = 0; r < size; r++) {
+      items.add(new FTNode(null, data, ranking.pre(r), 0, 0, ranking.score(r)));
+    }
+    return items.value();
+  }
+
+  @Override
+  public boolean accept(final ASTVisitor visitor) {
+    return dataLock(visitor, 0) && super.accept(visitor);
+  }
+}
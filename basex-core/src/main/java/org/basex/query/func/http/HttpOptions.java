@@ -0,0 +1,14 @@
+package org.basex.query.func.http;
+
+import org.basex.util.options.*;
+
+/**
+ * Options for sending multiple HTTP requests.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class HttpOptions extends Options {
+  /** Maximum number of requests that will be sent in parallel. */
+  public static final NumberOption PARALLEL = new NumberOption("parallel", 8);
+}
@@ -0,0 +1,81 @@
+package org.basex.query.func.http;
+
+import static org.basex.query.QueryError.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.util.*;
+import org.basex.util.http.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class HttpSendRequests extends StandardFunc {
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    return value(qc).iter();
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    checkCreate(qc);
+
+    // parse all requests before sending them
+    final ArrayList<HttpRequest> requests = new ArrayList<>();
+    final HttpRequestParser parser = new HttpRequestParser(info);
+    final Iter iter = qc.iter(exprs[0]);
+    for(Item it; (it = iter.next()) != null;) {
+      qc.checkStop();
+      requests.add(parser.parse(toNode(it)));
+    }
+    final HttpOptions opts = toOptions(1, new HttpOptions(), qc);
+
+    final HttpClient client = new HttpClient(info, qc.context.options);
+    final int rs = requests.size(), parallel = Math.min(rs, opts.get(HttpOptions.PARALLEL));
+    final ValueBuilder vb = new ValueBuilder();
+    if(parallel < 2) {
+      for(final HttpRequest request : requests) {
+        qc.checkStop();
+        vb.add(client.send(null, request));
+      }
+      return vb.value();
+    }
+
+    // send requests in parallel, return responses in the order of the requests
+    final ExecutorService pool = Executors.newFixedThreadPool(parallel);
+    try {
+      final ArrayList<Future<Value>> responses = new ArrayList<>(rs);
+      for(final HttpRequest request : requests) {
+        responses.add(pool.submit(new Callable<Value>() {
+          @Override
+          public Value call() throws QueryException {
+            return client.send(null, request);
+          }
+        }));
+      }
+      for(final Future<Value> response : responses) {
+        qc.checkStop();
+        vb.add(response.get());
+      }
+      return vb.value();
+    } catch(final ExecutionException ex) {
+      final Throwable th = Util.rootException(ex);
+      if(th instanceof QueryException) throw (QueryException) th;
+      throw HC_ERROR_X.get(info, th);
+    } catch(final InterruptedException ex) {
+      throw HC_ERROR_X.get(info, ex);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+}
@@ -39,6 +39,10 @@ public final class JobsListDetails extends StandardFunc {
   private static final byte[] READS = token("reads");
   /** Write locks. */
   private static final byte[] WRITES = token("writes");
+  /** Time spent waiting for locks. */
+  private static final byte[] WAIT = token("wait");
+  /** Phase or lock string the job is waiting for. */
+  private static final byte[] WAITING = token("waiting");
 
   @Override
   public Value value(final QueryContext qc) throws QueryException {
@@ -52,7 +56,8 @@ public final class JobsListDetails extends StandardFunc {
     final JobPool jobs = ctx.jobs;
     final ValueBuilder vb = new ValueBuilder();
 
-    final byte[][] atts = { ID, TYPE, STATE, USER, DURATION, START, END, READS, WRITES };
+    final byte[][] atts = { ID, TYPE, STATE, USER, DURATION, START, END, READS, WRITES, WAIT,
+      WAITING };
     for(final byte[] key : ids) {
       final TokenList entry = JobsList.entry(key, jobs, max);
       final FElem elem = new FElem(JOB);
@@ -5,12 +5,18 @@ import static org.basex.query.QueryText.*;
 import static org.basex.util.Token.*;
 
 import java.io.*;
+import java.math.*;
 import java.sql.*;
 
 import org.basex.io.*;
 import org.basex.query.*;
+import org.basex.query.func.sql.SqlOptions.*;
 import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.array.*;
+import org.basex.query.value.array.Array;
 import org.basex.query.value.item.*;
+import org.basex.query.value.map.Map;
 import org.basex.query.value.node.*;
 import org.basex.query.value.seq.*;
 import org.basex.util.*;
@@ -35,28 +41,57 @@ public class SqlExecute extends SqlFn {
     final int id = (int) toLong(exprs[0], qc);
     final String query = string(toToken(exprs[1], qc));
 
+    final SqlOptions opts = options(qc);
+
     final Object obj = jdbc(qc).get(id);
     if(!(obj instanceof Connection)) throw BXSQ_CONN_X.get(info, id);
     try {
       final Statement stmt = ((Connection) obj).createStatement();
-      return stmt.execute(query) ? iter(stmt, true) : Empty.ITER;
+      fetchSize(stmt, opts);
+      return stmt.execute(query) ? iter(stmt, true, opts.get(SqlOptions.FORMAT)) : Empty.ITER;
     } catch(final SQLException ex) {
       throw BXSQ_ERROR_X.get(info, ex);
     }
   }
 
+  /**
+   * Parses the options supplied as third argument.
+   * @param qc query context
+   * @return options
+   * @throws QueryException query exception
+   */
+  final SqlOptions options(final QueryContext qc) throws QueryException {
+    return exprs.length > 2 ? toOptions(2, new SqlOptions(), qc) : new SqlOptions();
+  }
+
+  /**
+   * Assigns the fetch size to a statement.
+   * @param stmt SQL statement
+   * @param opts options
+   * @throws SQLException SQL exception
+   */
+  static void fetchSize(final Statement stmt, final SqlOptions opts) throws SQLException {
+    final int fs = opts.get(SqlOptions.FETCH_SIZE);
+    if(fs != 0) stmt.setFetchSize(fs);
+  }
+
   /**
    * Returns a result iterator.
    * @param stmt SQL statement
    * @param close close statement after last result
+   * @param format result format
    * @return iterator
    * @throws QueryException query exception
    */
-  final Iter iter(final Statement stmt, final boolean close) throws QueryException {
+  final Iter iter(final Statement stmt, final boolean close, final SqlFormat format)
+      throws QueryException {
     try {
       final ResultSet rs = stmt.getResultSet();
       final ResultSetMetaData md = rs.getMetaData();
       final int cc = md.getColumnCount();
+      final String[] names = new String[cc];
+      for(int c = 0; c < cc; c++) names[c] = md.getColumnLabel(c + 1);
+
       return new Iter() {
         @Override
         public Item next() throws QueryException {
@@ -66,43 +101,131 @@ public class SqlExecute extends SqlFn {
               if(close) stmt.close();
               return null;
             }
-
-            final FElem row = new FElem(Q_ROW);
-            for(int k = 1; k <= cc; k++) {
-              // for each row add column values as children
-              final String name = md.getColumnLabel(k);
-              final Object value = rs.getObject(k);
-              // null values are ignored
-              if(value == null) continue;
-
-              // element <sql:column name='...'>...</sql:column>
-              final FElem col = new FElem(Q_COLUMN).add(NAME, name);
-              row.add(col);
-
-              if(value instanceof SQLXML) {
-                // add XML value as child element
-                final String xml = ((SQLXML) value).getString();
-                try {
-                  col.add(new DBNode(new IOContent(xml)).children().next());
-                } catch(final IOException ex) {
-                  // fallback: add string representation
-                  Util.debug(ex);
-                  col.add(xml);
-                }
-              } else {
-                // add string representation of other values
-                col.add(value.toString());
-              }
+            switch(format) {
+              case MAP:   return map(rs, names);
+              case ARRAY: return array(rs, cc);
+              default:    return element(rs, names);
             }
-            return row;
           } catch(final SQLException ex) {
             throw BXSQ_ERROR_X.get(info, ex);
           }
         }
       };
-
     } catch(final SQLException ex) {
       throw BXSQ_ERROR_X.get(info, ex);
     }
   }
+
+  /**
+   * Returns a row as element.
+   * @param rs result set
+   * @param names column names
+   * @return element
+   * @throws SQLException SQL exception
+   */
+  private static FElem element(final ResultSet rs, final String[] names) throws SQLException {
+    final FElem row = new FElem(Q_ROW);
+    final int cc = names.length;
+    for(int c = 0; c < cc; c++) {
+      // for each row add column values as children
+      final Object value = rs.getObject(c + 1);
+      // null values are ignored
+      if(value == null) continue;
+
+      // element <sql:column name='...'>...</sql:column>
+      final FElem col = new FElem(Q_COLUMN).add(NAME, names[c]);
+      row.add(col);
+
+      if(value instanceof SQLXML) {
+        // add XML value as child element
+        final String xml = ((SQLXML) value).getString();
+        final ANode node = node(xml);
+        if(node != null) col.add(node);
+        else col.add(xml);
+      } else {
+        // add string representation of other values
+        col.add(value.toString());
+      }
+    }
+    return row;
+  }
+
+  /**
+   * Returns a row as map.
+   * @param rs result set
+   * @param names column names
+   * @return map
+   * @throws SQLException SQL exception
+   * @throws QueryException query exception
+   */
+  private Map map(final ResultSet rs, final String[] names) throws SQLException, QueryException {
+    Map map = Map.EMPTY;
+    final int cc = names.length;
+    for(int c = 0; c < cc; c++) {
+      // null values are ignored
+      final Object value = rs.getObject(c + 1);
+      if(value != null) map = map.put(Str.get(names[c]), value(value), info);
+    }
+    return map;
+  }
+
+  /**
+   * Returns a row as array. Null values are represented as empty sequences.
+   * @param rs result set
+   * @param cc number of columns
+   * @return array
+   * @throws SQLException SQL exception
+   * @throws QueryException query exception
+   */
+  private Array array(final ResultSet rs, final int cc) throws SQLException, QueryException {
+    final ArrayBuilder ab = new ArrayBuilder();
+    for(int c = 1; c <= cc; c++) {
+      final Object value = rs.getObject(c);
+      ab.append(value == null ? Empty.SEQ : value(value));
+    }
+    return ab.freeze();
+  }
+
+  /**
+   * Converts a column value to an XQuery value.
+   * @param value value
+   * @return XQuery value
+   * @throws SQLException SQL exception
+   * @throws QueryException query exception
+   */
+  private Value value(final Object value) throws SQLException, QueryException {
+    if(value instanceof String) return Str.get((String) value);
+    if(value instanceof Integer || value instanceof Long || value instanceof Short ||
+       value instanceof Byte) return Int.get(((Number) value).longValue());
+    if(value instanceof BigDecimal) return Dec.get((BigDecimal) value);
+    if(value instanceof BigInteger) return Dec.get(new BigDecimal((BigInteger) value));
+    if(value instanceof Double) return Dbl.get((Double) value);
+    if(value instanceof Float) return Flt.get((Float) value);
+    if(value instanceof Boolean) return Bln.get((Boolean) value);
+    if(value instanceof Timestamp) return new Dtm(token(value.toString().replace(' ', 'T')), info);
+    if(value instanceof Date) return new Dat(token(value.toString()), info);
+    if(value instanceof Time) return new Tim(token(value.toString()), info);
+    if(value instanceof byte[]) return new B64((byte[]) value);
+    if(value instanceof SQLXML) {
+      final String xml = ((SQLXML) value).getString();
+      final ANode node = node(xml);
+      return node != null ? node : Str.get(xml);
+    }
+    return Str.get(value.toString());
+  }
+
+  /**
+   * Parses an XML string.
+   * @param xml XML string
+   * @return root node or {@code null} if the string cannot be parsed
+   */
+  private static ANode node(final String xml) {
+    try {
+      return new DBNode(new IOContent(xml)).children().next();
+    } catch(final IOException ex) {
+      // fallback: string representation will be returned
+      Util.debug(ex);
+      return null;
+    }
+  }
 }
@@ -0,0 +1,145 @@
+package org.basex.query.func.sql;
+
+import static org.basex.query.QueryError.*;
+
+import java.sql.*;
+
+import org.basex.query.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.array.Array;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+
+/**
+ * Functions on relational databases.
+ * Parameter sets are sent to the database in batches. Changes become visible per batch:
+ * if auto-commit is enabled, the driver commits each executed batch; otherwise, if a commit
+ * interval is specified, changes are committed after the batch in which the interval is reached,
+ * and after the last batch.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class SqlExecuteBatch extends SqlExecutePrepared {
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    return item(qc, info).iter();
+  }
+
+  @Override
+  public Int item(final QueryContext qc, final InputInfo ii) throws QueryException {
+    checkCreate(qc);
+    final int id = (int) toLong(exprs[0], qc);
+    final Iter params = qc.iter(exprs[1]);
+    final SqlOptions opts = options(qc);
+    final int batch = Math.max(1, opts.get(SqlOptions.BATCH_SIZE));
+    final int interval = opts.get(SqlOptions.COMMIT_INTERVAL);
+
+    final Object obj = jdbc(qc).get(id);
+    if(!(obj instanceof PreparedStatement)) throw BXSQ_STATE_X.get(info, id);
+    try {
+      final PreparedStatement stmt = (PreparedStatement) obj;
+      final Connection conn = stmt.getConnection();
+      final boolean commit = interval > 0 && !conn.getAutoCommit();
+      final ParameterMetaData md = stmt.getParameterMetaData();
+      final int c = md.getParameterCount();
+
+      // add parameter sets, send batches and commit changes in the specified intervals
+      long updated = 0;
+      int added = 0, uncommitted = 0;
+      for(Item it; (it = params.next()) != null;) {
+        qc.checkStop();
+        if(it instanceof Array) {
+          final Array array = (Array) it;
+          if(array.arraySize() != c) throw BXSQ_PARAMS.get(info);
+          setParameters(array, stmt, md, qc);
+        } else {
+          final ANode node = toElem(it, qc);
+          if(!node.qname().eq(Q_PARAMETERS)) throw INVALIDOPTION_X.get(info, node.qname().local());
+          if(countParams(node) != c) throw BXSQ_PARAMS.get(info);
+          setParameters(node.children(), stmt);
+        }
+        stmt.addBatch();
+        uncommitted++;
+        if(++added == batch) {
+          updated += execute(stmt);
+          added = 0;
+          if(commit && uncommitted >= interval) {
+            conn.commit();
+            uncommitted = 0;
+          }
+        }
+      }
+      if(added > 0) updated += execute(stmt);
+      if(commit && uncommitted > 0) conn.commit();
+      return Int.get(updated);
+    } catch(final SQLException ex) {
+      throw BXSQ_ERROR_X.get(info, ex);
+    }
+  }
+
+  /**
+   * Sends the current batch to the database.
+   * @param stmt prepared statement
+   * @return number of updated rows
+   * @throws SQLException SQL exception
+   */
+  private static long execute(final PreparedStatement stmt) throws SQLException {
+    long updated = 0;
+    for(final int count : stmt.executeBatch()) {
+      if(count > 0) updated += count;
+    }
+    return updated;
+  }
+
+  /**
+   * Sets the parameters of a prepared statement. Empty members are bound as null values.
+   * @param params parameters
+   * @param stmt prepared statement
+   * @param md parameter meta data
+   * @param qc query context
+   * @throws QueryException query exception
+   * @throws SQLException SQL exception
+   */
+  private void setParameters(final Array params, final PreparedStatement stmt,
+      final ParameterMetaData md, final QueryContext qc) throws QueryException, SQLException {
+
+    int i = 0;
+    for(final Value value : params.members()) {
+      ++i;
+      if(value.isEmpty()) {
+        stmt.setNull(i, nullType(md, i));
+      } else {
+        final Item item = toAtomItem(value, qc);
+        final Type type = item.type;
+        if(type.isNumber() || type == AtomType.BLN || type.isStringOrUntyped()) {
+          stmt.setObject(i, item.toJava());
+        } else if(item instanceof Bin) {
+          stmt.setBytes(i, ((Bin) item).binary(info));
+        } else {
+          stmt.setString(i, Token.string(item.string(info)));
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the SQL type of a parameter. Some drivers reject {@link Types#NULL} as type of
+   * null values, and not all of them provide parameter types.
+   * @param md parameter meta data
+   * @param index parameter index
+   * @return SQL type ({@link Types#VARCHAR} if the type cannot be determined)
+   */
+  private static int nullType(final ParameterMetaData md, final int index) {
+    try {
+      final int type = md.getParameterType(index);
+      if(type != Types.NULL) return type;
+    } catch(final SQLException ex) {
+      Util.debug(ex);
+    }
+    return Types.VARCHAR;
+  }
+}
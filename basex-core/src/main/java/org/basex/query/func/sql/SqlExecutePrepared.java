@@ -19,9 +19,9 @@ import org.basex.query.value.type.*;
  * @author BaseX Team 2005-17, BSD License
  * @author Rositsa Shadura
  */
-public final class SqlExecutePrepared extends SqlExecute {
+public class SqlExecutePrepared extends SqlExecute {
   /** QName. */
-  private static final QNm Q_PARAMETERS = new QNm(SQL_PREFIX, "parameters", SQL_URI);
+  static final QNm Q_PARAMETERS = new QNm(SQL_PREFIX, "parameters", SQL_URI);
   /** QName. */
   private static final QNm Q_PARAMETER = new QNm(SQL_PREFIX, "parameter", SQL_URI);
 
@@ -60,6 +60,7 @@ public final class SqlExecutePrepared extends SqlExecute {
       if(!params.qname().eq(Q_PARAMETERS)) throw INVALIDOPTION_X.get(info, params.qname().local());
       c = countParams(params);
     }
+    final SqlOptions opts = options(qc);
 
     final Object obj = jdbc(qc).get(id);
     if(!(obj instanceof PreparedStatement)) throw BXSQ_STATE_X.get(info, id);
@@ -68,7 +69,8 @@ public final class SqlExecutePrepared extends SqlExecute {
       // Check if number of parameters equals number of place holders
       if(c != stmt.getParameterMetaData().getParameterCount()) throw BXSQ_PARAMS.get(info);
       if(params != null) setParameters(params.children(), stmt);
-      return stmt.execute() ? iter(stmt, false) : Empty.ITER;
+      fetchSize(stmt, opts);
+      return stmt.execute() ? iter(stmt, false, opts.get(SqlOptions.FORMAT)) : Empty.ITER;
     } catch(final SQLException ex) {
       throw BXSQ_ERROR_X.get(info, ex);
     }
@@ -79,7 +81,7 @@ public final class SqlExecutePrepared extends SqlExecute {
    * @param params element <sql:parameter/>
    * @return number of parameters
    */
-  private static long countParams(final ANode params) {
+  static long countParams(final ANode params) {
     final BasicNodeIter ch = params.children();
     long n = ch.size();
     if(n == -1) do ++n;
@@ -93,7 +95,7 @@ public final class SqlExecutePrepared extends SqlExecute {
    * @param stmt prepared statement
    * @throws QueryException query exception
    */
-  private void setParameters(final BasicNodeIter params, final PreparedStatement stmt)
+  final void setParameters(final BasicNodeIter params, final PreparedStatement stmt)
       throws QueryException {
 
     int i = 0;
@@ -0,0 +1,34 @@
+package org.basex.query.func.sql;
+
+import java.util.*;
+
+import org.basex.util.options.*;
+
+/**
+ * Options for executing SQL statements.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class SqlOptions extends Options {
+  /** Number of rows to be fetched from the database at once (0: driver default). */
+  public static final NumberOption FETCH_SIZE = new NumberOption("fetch-size", 0);
+  /** Result format. */
+  public static final EnumOption<SqlFormat> FORMAT = new EnumOption<>("format", SqlFormat.XML);
+  /** Number of parameter sets that will be sent to the database at once. */
+  public static final NumberOption BATCH_SIZE = new NumberOption("batch-size", 1000);
+  /** Number of parameter sets after which changes will be committed (0: no commits). */
+  public static final NumberOption COMMIT_INTERVAL = new NumberOption("commit-interval", 0);
+
+  /** Result formats. */
+  public enum SqlFormat {
+    /** Elements with column children. */ XML,
+    /** Maps with typed values.        */ MAP,
+    /** Arrays with typed values.      */ ARRAY;
+
+    @Override
+    public String toString() {
+      return name().toLowerCase(Locale.ENGLISH);
+    }
+  }
+}
@@ -68,13 +68,16 @@ public final class DBOptimize extends DBUpdate {
     options.assignIfEmpty(MainOptions.ATTRINDEX, meta.createattr);
     options.assignIfEmpty(MainOptions.TOKENINDEX, meta.createtoken);
     options.assignIfEmpty(MainOptions.FTINDEX, meta.createft);
+    options.assignIfEmpty(MainOptions.NGRAMINDEX, meta.createngram);
     options.assignIfEmpty(MainOptions.TEXTINCLUDE, meta.textinclude);
     options.assignIfEmpty(MainOptions.ATTRINCLUDE, meta.attrinclude);
     options.assignIfEmpty(MainOptions.TOKENINCLUDE, meta.tokeninclude);
     options.assignIfEmpty(MainOptions.FTINCLUDE, meta.ftinclude);
+    options.assignIfEmpty(MainOptions.NGRAMINCLUDE, meta.ngraminclude);
     options.assignIfEmpty(MainOptions.SPLITSIZE, meta.splitsize);
     options.assignIfEmpty(MainOptions.UPDINDEX, meta.updindex);
     options.assignIfEmpty(MainOptions.AUTOOPTIMIZE, meta.autooptimize);
+    options.assignIfEmpty(MainOptions.ELEMINDEX, meta.elemindex);
     options.assignTo(opts);
 
     // adopt options to database meta data
@@ -82,9 +85,11 @@ public final class DBOptimize extends DBUpdate {
     meta.createattr = opts.get(MainOptions.ATTRINDEX);
     meta.createtoken = opts.get(MainOptions.TOKENINDEX);
     meta.createft = opts.get(MainOptions.FTINDEX);
+    meta.createngram = opts.get(MainOptions.NGRAMINDEX);
 
     meta.updindex = opts.get(MainOptions.UPDINDEX);
     meta.autooptimize = opts.get(MainOptions.AUTOOPTIMIZE);
+    meta.elemindex = opts.get(MainOptions.ELEMINDEX);
     meta.splitsize = opts.get(MainOptions.SPLITSIZE);
 
     // check if other indexing options have changed
@@ -93,13 +98,16 @@ public final class DBOptimize extends DBUpdate {
     final String textinclude = opts.get(MainOptions.TEXTINCLUDE);
     final String attrinclude = opts.get(MainOptions.ATTRINCLUDE);
     final String tokeninclude = opts.get(MainOptions.TOKENINCLUDE);
+    final String ngraminclude = opts.get(MainOptions.NGRAMINCLUDE);
     final boolean rebuild = maxlen != meta.maxlen;
     final boolean rebuildText = !meta.textinclude.equals(textinclude) || rebuild;
     final boolean rebuildAttr = !meta.attrinclude.equals(attrinclude) || rebuild;
     final boolean rebuildToken = !meta.tokeninclude.equals(tokeninclude);
+    final boolean rebuildNGram = !meta.ngraminclude.equals(ngraminclude);
     meta.textinclude = textinclude;
     meta.attrinclude = attrinclude;
     meta.tokeninclude = tokeninclude;
+    meta.ngraminclude = ngraminclude;
     meta.maxcats = maxcats;
     meta.maxlen = maxlen;
 
@@ -122,7 +130,11 @@ public final class DBOptimize extends DBUpdate {
 
     try {
       if(all) OptimizeAll.optimizeAll(data, qc.context, opts, null);
-      else Optimize.optimize(data, rebuildText, rebuildAttr, rebuildToken, rebuildFt, null);
+      else {
+        Optimize.optimize(data, rebuildText, rebuildAttr, rebuildToken, rebuildFt, rebuildNGram,
+            null);
+        if(!data.inMemory()) ((DiskData) data).compact();
+      }
     } catch(final IOException ex) {
       throw UPDBOPTERR_X.get(info, ex);
     }
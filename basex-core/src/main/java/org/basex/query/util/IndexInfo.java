@@ -3,6 +3,7 @@ package org.basex.query.util;
 import static org.basex.query.QueryText.*;
 
 import java.util.*;
+import java.util.regex.*;
 
 import org.basex.data.*;
 import org.basex.index.*;
@@ -165,6 +166,28 @@ public final class IndexInfo {
     return true;
   }
 
+  /**
+   * Tries to rewrite a substring search for n-gram index access.
+   * @param term substring to be found
+   * @param mode search mode
+   * @param pattern pattern (can be {@code null})
+   * @param type index type (can be {@code null})
+   * @param info input info
+   * @return success flag
+   */
+  public boolean create(final byte[] term, final NGramAccess.Mode mode, final Pattern pattern,
+      final IndexType type, final InputInfo info) {
+
+    // no index or substring is too short: no optimization
+    if(type == null) return false;
+    costs = NGramAccess.costs(ic.data, term);
+    if(costs < 0) return false;
+
+    create(new NGramAccess(info, term, mode, pattern, test, ic), false, info,
+        Util.info(OPTINDEX_X_X, "n-gram", Str.get(term)));
+    return true;
+  }
+
   /**
    * Creates an index expression with an inverted axis path.
    * @param root new root expression
@@ -192,7 +215,7 @@ public final class IndexInfo {
     return ic.data.meta.index(type) && (
       type == IndexType.FULLTEXT ? text :
       type == IndexType.TOKEN ? !text :
-      type == IndexType.TEXT ? text :
+      type == IndexType.TEXT || type == IndexType.NGRAM ? text :
       !text && last.test.type == NodeType.ATT
     );
   }
@@ -38,6 +38,7 @@ public final class EXPathRepo {
    * @return self reference
    */
   public EXPathRepo reset() {
+    ModuleCache.clear();
     path = null;
     nsDict.clear();
     pkgDict.clear();
@@ -82,6 +83,7 @@ public final class EXPathRepo {
    * @param pkg new package
    */
   void add(final Pkg pkg) {
+    ModuleCache.clear();
     init();
     addPkg(pkg);
   }
@@ -91,6 +93,7 @@ public final class EXPathRepo {
    * @param pkg deleted package
    */
   void delete(final Pkg pkg) {
+    ModuleCache.clear();
     init();
 
     final String id = pkg.id();
@@ -0,0 +1,116 @@
+package org.basex.query.util.pkg;
+
+import java.util.concurrent.*;
+
+import org.basex.io.*;
+import org.basex.query.*;
+import org.basex.util.*;
+
+/**
+ * Process-wide cache for parsed package and jar descriptors of installed packages.
+ * Entries are validated against the timestamp and size of the descriptor files, and the cache
+ * is cleared whenever the package repository changes.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+final class ModuleCache {
+  /** Maximum number of cached entries per type. */
+  private static final int MAX = 1000;
+  /** Package descriptors, indexed by file path. */
+  private static final ConcurrentHashMap<String, Entry<Pkg>> PACKAGES =
+      new ConcurrentHashMap<>();
+  /** Jar descriptors, indexed by file path. */
+  private static final ConcurrentHashMap<String, Entry<JarDesc>> JARS =
+      new ConcurrentHashMap<>();
+
+  /** Private constructor. */
+  private ModuleCache() { }
+
+  /**
+   * Returns a parsed package descriptor.
+   * @param file descriptor file
+   * @param info input info
+   * @return package
+   * @throws QueryException query exception
+   */
+  static Pkg pkg(final IOFile file, final InputInfo info) throws QueryException {
+    final Entry<Pkg> entry = PACKAGES.get(file.path());
+    if(entry != null && entry.valid(file)) return entry.value;
+
+    final Entry<Pkg> ne = new Entry<>(file);
+    ne.value = new PkgParser(info).parse(file);
+    put(PACKAGES, file, ne);
+    return ne.value;
+  }
+
+  /**
+   * Returns a parsed jar descriptor.
+   * @param file descriptor file
+   * @param info input info
+   * @return jar descriptor
+   * @throws QueryException query exception
+   */
+  static JarDesc jar(final IOFile file, final InputInfo info) throws QueryException {
+    final Entry<JarDesc> entry = JARS.get(file.path());
+    if(entry != null && entry.valid(file)) return entry.value;
+
+    final Entry<JarDesc> ne = new Entry<>(file);
+    ne.value = new JarParser(info).parse(file);
+    put(JARS, file, ne);
+    return ne.value;
+  }
+
+  /**
+   * Invalidates all entries.
+   */
+  static void clear() {
+    PACKAGES.clear();
+    JARS.clear();
+  }
+
+  /**
+   * Adds an entry to the specified map.
+   * @param map map
+   * @param file file
+   * @param entry entry
+   * @param <T> value type
+   */
+  private static <T> void put(final ConcurrentHashMap<String, Entry<T>> map, final IOFile file,
+      final Entry<T> entry) {
+    if(map.size() >= MAX) map.clear();
+    map.put(file.path(), entry);
+  }
+
+  /**
+   * Cache entry.
+   * @param <T> value type
+   */
+  private static final class Entry<T> {
+    /** Timestamp of the file. */
+    private final long time;
+    /** Size of the file. */
+    private final long size;
+    /** Value. */
+    private T value;
+
+    /**
+     * Constructor. The file properties are requested before the file is read, so later changes
+     * will always be detected.
+     * @param file file
+     */
+    Entry(final IOFile file) {
+      time = file.timeStamp();
+      size = file.length();
+    }
+
+    /**
+     * Checks if the entry is still up-to-date.
+     * @param file file
+     * @return result of check
+     */
+    boolean valid(final IOFile file) {
+      return file.timeStamp() == time && file.length() == size;
+    }
+  }
+}
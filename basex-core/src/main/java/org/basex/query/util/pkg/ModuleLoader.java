@@ -181,10 +181,10 @@ public final class ModuleLoader {
     final IOFile pkgDir = context.repo.path(pkg.dir());
 
     // parse package descriptor
-    final IO pkgDesc = new IOFile(pkgDir, PkgText.DESCRIPTOR);
+    final IOFile pkgDesc = new IOFile(pkgDir, PkgText.DESCRIPTOR);
     if(!pkgDesc.exists()) Util.debug(PkgText.MISSDESC, id);
 
-    pkg = new PkgParser(ii).parse(pkgDesc);
+    pkg = ModuleCache.pkg(pkgDesc, ii);
     // check if package contains a jar descriptor
     final IOFile jarDesc = new IOFile(pkgDir, PkgText.JARDESC);
     // choose module directory (support for both 2010 and 2012 specs)
@@ -193,7 +193,7 @@ public final class ModuleLoader {
 
     // add jars to classpath
     if(jarDesc.exists()) {
-      final JarDesc desc = new JarParser(ii).parse(jarDesc);
+      final JarDesc desc = ModuleCache.jar(jarDesc, ii);
       for(final byte[] u : desc.jars) addURL(new IOFile(modDir, string(u)));
     }
 
@@ -30,6 +30,14 @@ public final class B64Stream extends B64 {
     this.error = error;
   }
 
+  /**
+   * Returns the input reference.
+   * @return input
+   */
+  public IO io() {
+    return input;
+  }
+
   @Override
   public byte[] binary(final InputInfo ii) throws QueryException {
     materialize(ii);
@@ -4,11 +4,13 @@ import static org.basex.query.QueryText.*;
 import static org.basex.query.func.Function.*;
 
 import java.io.*;
+import java.util.*;
 
 import org.basex.api.dom.*;
 import org.basex.build.*;
 import org.basex.core.*;
 import org.basex.data.*;
+import org.basex.index.path.*;
 import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
@@ -360,6 +362,64 @@ public class DBNode extends ANode {
     };
   }
 
+  /**
+   * Returns a descendant axis iterator, which only returns elements with the specified name.
+   * Subtrees will be skipped if the path summary indicates that they contain no such elements.
+   * The path summary must be up-to-date.
+   * @param name id of element name
+   * @return iterator
+   */
+  public final DBNodeIter descendant(final int name) {
+    // path node cannot be determined (e.g. fragment): traverse all descendants
+    final PathNode pn = data.paths.node(pre);
+    if(pn == null) return descendant();
+
+    return new DBNodeIter(data) {
+      int kind = data.kind(pre), curr = pre + data.attSize(pre, kind);
+      final int last = name != 0 && pn.contains(name) ? pre + data.size(pre, kind) : curr;
+      final DBNode node = finish();
+      // path nodes of the ancestors and pre values following their subtrees
+      final ArrayList<PathNode> nodes = new ArrayList<>();
+      final IntList ends = new IntList();
+
+      @Override
+      public DBNode next() {
+        final Data d = data;
+        while(curr < last) {
+          while(!ends.isEmpty() && ends.peek() <= curr) {
+            ends.pop();
+            nodes.remove(nodes.size() - 1);
+          }
+          final int c = curr;
+          kind = d.kind(c);
+          final int size = d.size(c, kind);
+          if(kind != Data.ELEM) {
+            curr += size;
+            continue;
+          }
+
+          final int id = d.nameId(c);
+          final PathNode parent = nodes.isEmpty() ? pn : nodes.get(nodes.size() - 1);
+          final PathNode child = parent == null ? null : parent.child(id, Data.ELEM);
+          if(child == null || child.contains(name)) {
+            // descendants may contain the name: enter subtree
+            nodes.add(child);
+            ends.push(c + size);
+            curr += d.attSize(c, kind);
+          } else {
+            // skip subtree
+            curr += size;
+          }
+          if(id == name) {
+            node.set(c, kind);
+            return node;
+          }
+        }
+        return null;
+      }
+    };
+  }
+
   @Override
   public final DBNodeIter descendantOrSelf() {
     return new DBNodeIter(data) {
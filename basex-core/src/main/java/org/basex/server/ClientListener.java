@@ -5,6 +5,7 @@ import static org.basex.core.Text.*;
 import java.io.*;
 import java.net.*;
 import java.util.*;
+import java.util.Map.*;
 
 import org.basex.*;
 import org.basex.core.*;
@@ -26,6 +27,11 @@ import org.basex.util.list.*;
  * @author Christian Gruen
  */
 public final class ClientListener extends Thread implements ClientInfo {
+  /** Error message for requests that are sent while results are being fetched. */
+  private static final String FETCHING_X = "Results of query % are still being fetched.";
+  /** Log message for queries that are closed after a timeout. */
+  private static final String FETCH_TIMEOUT_X = "Closed: no results requested for % seconds.";
+
   /** Timer for authentication time out. */
   public final Timer timeout = new Timer();
   /** Timestamp of last interaction. */
@@ -79,7 +85,7 @@ public final class ClientListener extends Thread implements ClientInfo {
         String cmd;
         final ServerCmd sc;
         try {
-          final int b = in.read();
+          final int b = read();
           if(b == -1) {
             // end of stream: exit session
             close();
@@ -136,6 +142,7 @@ public final class ClientListener extends Thread implements ClientInfo {
         String info;
         try {
           // run command
+          checkFetching(null);
           command.execute(context, new ServerOutput(out));
           info = command.info();
         } catch(final BaseXException ex) {
@@ -159,6 +166,10 @@ public final class ClientListener extends Thread implements ClientInfo {
       log(LogType.ERROR, Util.message(ex));
       command = null;
       close();
+    } finally {
+      // release queries with pending results (locks can only be released by this thread)
+      for(final ServerQuery qp : queries.values()) qp.close();
+      queries.clear();
     }
     command = null;
   }
@@ -173,6 +184,8 @@ public final class ClientListener extends Thread implements ClientInfo {
       final String nonce = Long.toString(System.nanoTime());
       final byte[] address = socket.getInetAddress().getAddress();
 
+      // responses are buffered and flushed explicitly
+      socket.setTcpNoDelay(true);
       // send {REALM:TIMESTAMP}0
       out = PrintOutput.get(socket.getOutputStream());
       out.print(Prop.NAME + ':' + nonce);
@@ -263,6 +276,65 @@ public final class ClientListener extends Thread implements ClientInfo {
 
   // PRIVATE METHODS ==========================================================
 
+  /**
+   * Reads the first byte of the next request. If the results of a query are being fetched,
+   * and if no request is received within the query timeout, the query will be closed and
+   * its locks will be released.
+   * @return byte, or {@code -1} if the end of the stream has been reached
+   * @throws IOException I/O exception
+   */
+  private int read() throws IOException {
+    while(true) {
+      final int timeout = fetching(null) != null ?
+        (int) Math.min(Integer.MAX_VALUE, context.soptions.get(StaticOptions.TIMEOUT) * 1000L) : 0;
+      if(timeout == 0) return in.read();
+
+      // the timeout only applies to the first byte of the request
+      socket.setSoTimeout(timeout);
+      try {
+        return in.read();
+      } catch(final SocketTimeoutException ex) {
+        final Iterator<Entry<String, ServerQuery>> iter = queries.entrySet().iterator();
+        while(iter.hasNext()) {
+          final Entry<String, ServerQuery> entry = iter.next();
+          final ServerQuery qp = entry.getValue();
+          if(qp.fetching()) {
+            qp.close();
+            iter.remove();
+            log(LogType.ERROR, ServerCmd.FETCH.toString() + '[' + entry.getKey() + "] " +
+                Util.info(FETCH_TIMEOUT_X, timeout / 1000));
+          }
+        }
+      } finally {
+        socket.setSoTimeout(0);
+      }
+    }
+  }
+
+  /**
+   * Returns the id of a query whose results are being fetched.
+   * @param qp query to be ignored (can be {@code null})
+   * @return id, or {@code null} if no results are being fetched
+   */
+  private String fetching(final ServerQuery qp) {
+    for(final Entry<String, ServerQuery> entry : queries.entrySet()) {
+      final ServerQuery q = entry.getValue();
+      if(q != qp && q.fetching()) return entry.getKey();
+    }
+    return null;
+  }
+
+  /**
+   * Checks if the results of another query are being fetched. If this is the case, no other
+   * commands or queries can be evaluated, as the locks of that query are still held.
+   * @param qp query to be evaluated (can be {@code null})
+   * @throws BaseXException database exception
+   */
+  private void checkFetching(final ServerQuery qp) throws BaseXException {
+    final String qid = fetching(qp);
+    if(qid != null) throw new BaseXException(FETCHING_X, qid);
+  }
+
   /**
    * Returns error feedback.
    * @param info error string
@@ -337,6 +409,7 @@ public final class ClientListener extends Thread implements ClientInfo {
     log(LogType.REQUEST, cmd + " [...]");
     final ServerInput si = new ServerInput(in);
     try {
+      checkFetching(null);
       cmd.setInput(si);
       cmd.execute(context);
       success(cmd.info());
@@ -354,8 +427,16 @@ public final class ClientListener extends Thread implements ClientInfo {
   private void query(final ServerCmd sc) throws IOException {
     // iterator argument (query or identifier)
     String arg = in.readString();
+    // limits of iterative retrieval (read in advance, as the query may not exist anymore)
+    int items = 0;
+    long bytes = 0;
+    if(sc == ServerCmd.FETCH) {
+      items = Strings.toInt(in.readString());
+      bytes = Strings.toLong(in.readString());
+    }
 
     String error = null;
+    boolean more = false;
     try {
       final ServerQuery qp;
       final StringBuilder info = new StringBuilder();
@@ -390,10 +471,16 @@ public final class ClientListener extends Thread implements ClientInfo {
           info.append(val);
           if(!typ.isEmpty()) info.append(" as ").append(typ);
         } else if(sc == ServerCmd.RESULTS) {
+          checkFetching(qp);
           qp.execute(out, true, true, false);
+        } else if(sc == ServerCmd.FETCH) {
+          checkFetching(qp);
+          more = qp.fetch(out, items, bytes);
         } else if(sc == ServerCmd.EXEC) {
+          checkFetching(qp);
           qp.execute(out, false, true, false);
         } else if(sc == ServerCmd.FULL) {
+          checkFetching(qp);
           qp.execute(out, true, true, true);
         } else if(sc == ServerCmd.INFO) {
           out.print(qp.info());
@@ -402,7 +489,7 @@ public final class ClientListener extends Thread implements ClientInfo {
         } else if(sc == ServerCmd.UPDATING) {
           out.print(Boolean.toString(qp.updating()));
         } else if(sc == ServerCmd.CLOSE) {
-          queries.remove(arg);
+          queries.remove(arg).close();
         } else if(sc == ServerCmd.NEXT) {
           throw new Exception("Protocol for query iteration is out-of-date.");
         }
@@ -411,6 +498,8 @@ public final class ClientListener extends Thread implements ClientInfo {
       }
       // send 0 as success flag
       out.write(0);
+      // send 1 if more results can be fetched
+      if(sc == ServerCmd.FETCH) out.write(more ? 1 : 0);
       // write log file
       log(LogType.OK, sc.toString() + '[' + arg + "] " + info);
 
@@ -419,7 +508,8 @@ public final class ClientListener extends Thread implements ClientInfo {
       error = ex instanceof RuntimeException ? Util.bug(ex) : Util.message(ex);
       log(LogType.REQUEST, sc + "[" + arg + ']');
       log(LogType.ERROR, error);
-      queries.remove(arg);
+      final ServerQuery qp = queries.remove(arg);
+      if(qp != null) qp.close();
     }
     if(error != null) {
       // send 0 as end marker, 1 as error flag, and {MSG}0
@@ -33,6 +33,17 @@ public final class ServerQuery extends Job {
   /** Query info. */
   private String info = "";
 
+  /** Result iterator (iterative retrieval of results, {@code null} if inactive). */
+  private Iter cursor;
+  /** Output stream (iterative retrieval of results). */
+  private PrintOutput cout;
+  /** Serializer (iterative retrieval of results). */
+  private Serializer cser;
+  /** Next item to be returned (iterative retrieval of results). */
+  private Item cnext;
+  /** Number of returned items (iterative retrieval of results). */
+  private int ccount;
+
   /**
    * Constructor.
    * @param query query string
@@ -51,6 +62,7 @@ public final class ServerQuery extends Job {
    * @throws IOException query exception
    */
   public void bind(final String name, final Object value, final String type) throws IOException {
+    close();
     try {
       qp().bind(name, value, type);
     } catch(final QueryException ex) {
@@ -66,6 +78,7 @@ public final class ServerQuery extends Job {
    * @throws IOException query exception
    */
   public void context(final Object value, final String type) throws IOException {
+    close();
     try {
       qp().context(value, type);
     } catch(final QueryException ex) {
@@ -112,17 +125,10 @@ public final class ServerQuery extends Job {
   public void execute(final OutputStream out, final boolean iter, final boolean encode,
       final boolean full) throws IOException {
 
+    close();
     try {
-      // parses the query and registers the process
-      parse();
-      qp.register(ctx);
-      // create serializer
-      final Performance perf = jc().performance;
-      qp.compile();
+      final Iter ir = iter();
       final QueryInfo qi = qp.qc.info;
-      qi.compiling = perf.time();
-      final Iter ir = qp.iter();
-      qi.evaluating = perf.time();
 
       // iterate through results
       int c = 0;
@@ -133,17 +139,14 @@ public final class ServerQuery extends Job {
           if(iter) {
             if(full) po.write(it.xdmInfo());
             else po.write(it.typeId().asByte());
-            ser.reset();
-            ser.serialize(it);
-            po.flush();
-            out.write(0);
+            serialize(it, ser, po, out);
           } else {
             ser.serialize(it);
           }
           c++;
         }
       }
-      qi.serializing = perf.time();
+      qi.serializing = jc().performance.time();
 
       // generate query info
       info = qi.toString(qp, po.size(), c, ctx.options.get(MainOptions.QUERYINFO));
@@ -154,16 +157,141 @@ public final class ServerQuery extends Job {
       Util.debug(ex);
       throw new BaseXException(BASX_STACKOVERFLOW.desc);
     } finally {
-      // close processor and unregisters the process
-      if(qp != null) {
-        if(parsed) {
-          qp.close();
-          qp.unregister(ctx);
-          parsed = false;
-        }
-        qp = null;
-        popJob();
+      finish();
+    }
+  }
+
+  /**
+   * Returns the next results of the query (iterative retrieval). When this function is
+   * called for the first time, the query will be compiled and registered, and it will only
+   * be closed if all results have been returned or if {@link #close()} is called.
+   * This way, the client decides when the next results will be computed, and it only
+   * needs to buffer a limited number of results. As the locks of the query are kept until
+   * it is closed, the {@link ClientListener} closes queries whose next results are not
+   * requested in time.
+   * @param out output stream
+   * @param items maximum number of items to be returned ({@code 0}: no limit)
+   * @param bytes maximum number of bytes to be returned ({@code 0}: no limit).
+   *   The last item will always be returned completely.
+   * @return {@code true} if more results are available
+   * @throws IOException I/O Exception
+   */
+  public boolean fetch(final OutputStream out, final int items, final long bytes)
+      throws IOException {
+
+    boolean more = false;
+    try {
+      if(cursor == null) {
+        cursor = iter();
+        cout = PrintOutput.get(new ServerOutput(out));
+        cser = Serializer.get(cout, qp.qc.serParams());
+        cnext = cursor.next();
+        ccount = 0;
+      }
+
+      // return at least one item, stop as soon as one of the limits has been reached
+      final long start = cout.size();
+      for(int c = 1; cnext != null; c++) {
+        cout.write(cnext.typeId().asByte());
+        serialize(cnext, cser, cout, out);
+        ccount++;
+        cnext = cursor.next();
+        if(items > 0 && c >= items || bytes > 0 && cout.size() - start >= bytes) break;
+      }
+      more = cnext != null;
+
+      if(!more) {
+        cser.close();
+        final QueryInfo qi = qp.qc.info;
+        qi.serializing = jc().performance.time();
+        info = qi.toString(qp, cout.size(), ccount, ctx.options.get(MainOptions.QUERYINFO));
+      }
+      return more;
+    } catch(final QueryException | JobException ex) {
+      throw new BaseXException(ex);
+    } catch(final StackOverflowError ex) {
+      Util.debug(ex);
+      throw new BaseXException(BASX_STACKOVERFLOW.desc);
+    } finally {
+      if(!more) {
+        if(cursor != null) close();
+        else finish();
+      }
+    }
+  }
+
+  /**
+   * Indicates if the results of the query are being retrieved iteratively.
+   * In this case, the query is registered and holds its locks.
+   * @return result of check
+   */
+  public boolean fetching() {
+    return cursor != null;
+  }
+
+  /**
+   * Closes an active iterative retrieval of results and releases the query.
+   * Must be called by the thread that retrieved the results.
+   */
+  public void close() {
+    if(cursor == null) return;
+    cursor = null;
+    cnext = null;
+    cser = null;
+    cout = null;
+    finish();
+  }
+
+  /**
+   * Parses, registers and compiles the query, and returns a result iterator.
+   * @return iterator
+   * @throws IOException I/O Exception
+   * @throws QueryException query exception
+   */
+  private Iter iter() throws IOException, QueryException {
+    // parses the query and registers the process
+    parse();
+    qp.register(ctx);
+    final Performance perf = jc().performance;
+    qp.compile();
+    final QueryInfo qi = qp.qc.info;
+    qi.compiling = perf.time();
+    final Iter ir = qp.iter();
+    qi.evaluating = perf.time();
+    return ir;
+  }
+
+  /**
+   * Serializes a single item and writes an end marker.
+   * The serialized item is not flushed to the client: the calling method is responsible
+   * for flushing the output stream.
+   * @param item item
+   * @param ser serializer
+   * @param po print output
+   * @param out output stream
+   * @throws IOException I/O Exception
+   */
+  private static void serialize(final Item item, final Serializer ser, final PrintOutput po,
+      final OutputStream out) throws IOException {
+    ser.reset();
+    ser.serialize(item);
+    // write buffered item bytes to the underlying stream before adding the end marker
+    po.flush();
+    out.write(0);
+  }
+
+  /**
+   * Closes the query processor and unregisters the process.
+   */
+  private void finish() {
+    if(qp != null) {
+      if(parsed) {
+        qp.close();
+        qp.unregister(ctx);
+        parsed = false;
       }
+      qp = null;
+      popJob();
     }
   }
 
@@ -3,6 +3,8 @@ package org.basex.util;
 import java.text.*;
 import java.util.*;
 
+import org.basex.util.hash.*;
+
 /**
  * <p>This class provides convenience operations for handling 'Tokens'.
  * A token is a UTF-8 encoded string. It is represented as a byte array.</p>
@@ -937,6 +939,32 @@ public final class Token {
     return Array.copyOf(tokens, tl);
   }
 
+  /**
+   * Returns the distinct n-grams of the specified token, in the order of their first
+   * occurrence. N-grams are composed of codepoints; the input will not be normalized.
+   * @param token token
+   * @param n number of codepoints per n-gram
+   * @return distinct n-grams (empty if the token has less than {@code n} codepoints)
+   */
+  public static byte[][] distinctNGrams(final byte[] token, final int n) {
+    // collect byte offsets of all codepoints
+    final int tl = token.length;
+    final int[] offsets = new int[tl + 1];
+    int os = 0;
+    for(int t = 0; t < tl; t += cl(token, t)) offsets[os++] = t;
+    if(os < n) return new byte[0][];
+    offsets[os] = tl;
+
+    final TokenSet grams = new TokenSet();
+    for(int o = 0; o + n <= os; o++) {
+      grams.add(Arrays.copyOfRange(token, offsets[o], offsets[o + n]));
+    }
+    final int gs = grams.size();
+    final byte[][] tokens = new byte[gs][];
+    for(int g = 0; g < gs; g++) tokens[g] = grams.key(g + 1);
+    return tokens;
+  }
+
   /**
    * Checks if the specified token has only whitespaces.
    * @param token token
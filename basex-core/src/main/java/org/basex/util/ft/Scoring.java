@@ -11,6 +11,10 @@ import static java.lang.StrictMath.*;
 public final class Scoring {
   /** Logarithmic base for calculating the score value. */
   private static final double LOG = Math.E - 1;
+  /** BM25: saturation of the term frequency. */
+  private static final double K1 = 1.2;
+  /** BM25: impact of the text length. */
+  private static final double B = 0.75;
 
   /** Private constructor. */
   private Scoring() { }
@@ -74,4 +78,37 @@ public final class Scoring {
       final int length) {
     return max((double) number / size, log(token * number + 1) / log(length + 1));
   }
+
+  /**
+   * Calculates the inverse document frequency of a token (BM25).
+   * @param df number of texts containing the token
+   * @param n total number of indexed texts
+   * @return inverse document frequency
+   */
+  public static double idf(final int df, final int n) {
+    return log(1 + (max(n, df) - df + 0.5) / (df + 0.5));
+  }
+
+  /**
+   * Calculates the BM25 score of a single token in a text.
+   * @param idf inverse document frequency of the token
+   * @param tf number of occurrences of the token in the text
+   * @param length text length
+   * @param avg average text length ({@code 0}: ignore length)
+   * @return score
+   */
+  public static double bm25(final double idf, final int tf, final int length, final double avg) {
+    final double norm = avg > 0 ? 1 - B + B * length / avg : 1;
+    return idf * tf * (K1 + 1) / (tf + K1 * norm);
+  }
+
+  /**
+   * Returns the maximum BM25 score that can be achieved by a single token,
+   * independent of its frequency and the text length.
+   * @param idf inverse document frequency of the token
+   * @return maximum score
+   */
+  public static double bm25Max(final double idf) {
+    return idf * (K1 + 1);
+  }
 }
@@ -1,6 +1,5 @@
 package org.basex.util.http;
 
-import static java.net.HttpURLConnection.*;
 import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 import static org.basex.util.http.HttpText.*;
@@ -21,6 +20,7 @@ import org.basex.io.serial.SerializerOptions.*;
 import org.basex.query.*;
 import org.basex.query.iter.*;
 import org.basex.query.util.list.*;
+import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
 import org.basex.util.*;
@@ -59,8 +59,19 @@ public final class HttpClient {
    */
   public BasicIter<Item> sendRequest(final byte[] href, final ANode request, final Iter bodies)
       throws QueryException {
+    return send(href, new HttpRequestParser(info).parse(request, bodies)).iter();
+  }
 
-    final HttpRequest req = new HttpRequestParser(info).parse(request, bodies);
+  /**
+   * Sends a parsed HTTP request and returns the response.
+   * This function may be called by multiple threads in parallel. Connections will be reused
+   * if the response has been completely consumed.
+   * @param href URL to send the request to (can be {@code null})
+   * @param req parsed request
+   * @return HTTP response
+   * @throws QueryException query exception
+   */
+  public Value send(final byte[] href, final HttpRequest req) throws QueryException {
     HttpURLConnection conn = null;
     try {
       // parse request data, set properties
@@ -77,7 +88,10 @@ public final class HttpClient {
         writePayload(conn.getOutputStream(), req);
       }
 
-      return new HttpResponse(info, options).getResponse(conn, body, mediaType).iter();
+      final Value response = new HttpResponse(info, options).getResponse(conn, body, mediaType);
+      // keep the underlying connection alive
+      conn = null;
+      return response;
 
     } catch(final IOException ex) {
       throw HC_ERROR_X.get(info, ex);
@@ -181,7 +195,7 @@ public final class HttpClient {
         conn.setReadTimeout(Strings.toInt(timeout) * 1000);
       }
       final String redirect = request.attribute(FOLLOW_REDIRECT);
-      if(redirect != null) setFollowRedirects(Strings.yes(redirect));
+      if(redirect != null) conn.setInstanceFollowRedirects(Strings.yes(redirect));
 
       for(final Entry<String, String> header : request.headers.entrySet()) {
         conn.addRequestProperty(header.getKey(), header.getValue());
@@ -3,6 +3,7 @@ package org.basex.build;
 import static org.junit.Assert.*;
 
 import org.basex.*;
+import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.io.*;
 import org.basex.util.*;
@@ -65,6 +66,36 @@ public final class CreateTest extends SandboxTest {
     assertEquals(db(), NAME);
   }
 
+  /**
+   * Parses input in a separate thread (Option {@link MainOptions#ASYNCPARSE}).
+   */
+  @Test
+  public void asyncParse() {
+    final String query = "(count(//node()), count(//@*), string-join(//text()))";
+    for(final boolean mainmem : new boolean[] { false, true }) {
+      set(MainOptions.MAINMEM, mainmem);
+      for(final String input : INPUTS) {
+        set(MainOptions.ASYNCPARSE, false);
+        execute(new CreateDB(NAME, input));
+        final String expected = query(query);
+        set(MainOptions.ASYNCPARSE, true);
+        execute(new CreateDB(NAME, input));
+        assertEquals(expected, query(query));
+      }
+      // parser and builder errors
+      for(final String input : new String[] { "<x>", "<x><a:b/></x>" }) {
+        try {
+          new CreateDB(NAME, input).execute(context);
+          fail("Error expected: " + input);
+        } catch(final BaseXException ex) {
+          Util.debug(ex);
+        }
+      }
+    }
+    set(MainOptions.ASYNCPARSE, false);
+    set(MainOptions.MAINMEM, false);
+  }
+
   /**
    * CREATE DB {DB} {INPUT[]}.
    */
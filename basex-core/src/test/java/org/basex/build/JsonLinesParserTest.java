@@ -0,0 +1,124 @@
+package org.basex.build;
+
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.build.json.*;
+import org.basex.build.json.JsonOptions.JsonFormat;
+import org.basex.core.*;
+import org.basex.core.MainOptions.MainParser;
+import org.basex.core.cmd.*;
+import org.basex.io.*;
+import org.basex.util.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * JSON Lines Parser Test.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class JsonLinesParserTest extends SandboxTest {
+  /** Temporary JSON file. */
+  private static final String TEMP = Prop.TMP + NAME + IO.JSONSUFFIX;
+
+  /**
+   * Sets initial options.
+   */
+  @BeforeClass
+  public static void before() {
+    set(MainOptions.PARSER, MainParser.JSON);
+    final JsonParserOptions jopts = new JsonParserOptions();
+    jopts.set(JsonParserOptions.LINES, true);
+    context.options.set(MainOptions.JSONPARSER, jopts);
+  }
+
+  /**
+   * Removes the temporary JSON file and resets the options.
+   */
+  @AfterClass
+  public static void after() {
+    new IOFile(TEMP).delete();
+    context.options.set(MainOptions.JSONPARSER, new JsonParserOptions());
+    set(MainOptions.PARSER, MainParser.XML);
+  }
+
+  /**
+   * Drops the database.
+   */
+  @After
+  public void finish() {
+    execute(new DropDB(NAME));
+  }
+
+  /**
+   * Adds an empty file.
+   */
+  @Test
+  public void empty() {
+    write(new IOFile(TEMP), "");
+    execute(new CreateDB(NAME, TEMP));
+    assertEquals("<json-lines/>", query("."));
+  }
+
+  /**
+   * Adds records, including empty lines.
+   */
+  @Test
+  public void records() {
+    write(new IOFile(TEMP), "{ \"a\": 1 }\n\n[ true ]\r\n\"x\"\n");
+    execute(new CreateDB(NAME, TEMP));
+    assertEquals("3", query("count(/json-lines/json)"));
+    assertEquals("1", query("/json-lines/json[1]/a/string()"));
+    assertEquals("true", query("/json-lines/json[2]/_/string()"));
+    assertEquals("x", query("/json-lines/json[3]/string()"));
+  }
+
+  /**
+   * Adds a large number of records, which will be converted in several chunks.
+   */
+  @Test
+  public void chunks() {
+    final TokenBuilder tb = new TokenBuilder();
+    final int size = 10000;
+    for(int i = 1; i <= size; i++) tb.add("{ \"id\": " + i + " }\n");
+    write(new IOFile(TEMP), tb.toString());
+    execute(new CreateDB(NAME, TEMP));
+    assertEquals(String.valueOf(size), query("count(//id)"));
+    assertEquals("true", query("every $i in 1 to " + size +
+        " satisfies /json-lines/json[$i]/id = $i"));
+  }
+
+  /**
+   * Rejects JSON formats without XML representation.
+   */
+  @Test
+  public void map() {
+    write(new IOFile(TEMP), "{}\n{}\n");
+    final JsonParserOptions jopts = context.options.get(MainOptions.JSONPARSER);
+    jopts.set(JsonOptions.FORMAT, JsonFormat.MAP);
+    try {
+      new CreateDB(NAME, TEMP).execute(context);
+      fail("Error expected.");
+    } catch(final BaseXException ex) {
+      assertTrue(ex.getMessage(), ex.getMessage().contains("map"));
+    } finally {
+      jopts.set(JsonOptions.FORMAT, JsonFormat.DIRECT);
+    }
+  }
+
+  /**
+   * Reports the line of an invalid record.
+   */
+  @Test
+  public void error() {
+    write(new IOFile(TEMP), "{}\n{\n");
+    try {
+      new CreateDB(NAME, TEMP).execute(context);
+      fail("Error expected.");
+    } catch(final BaseXException ex) {
+      assertTrue(ex.getMessage(), ex.getMessage().contains("Line 2"));
+    }
+  }
+}
@@ -5,6 +5,7 @@ import static org.junit.Assert.*;
 import org.basex.*;
 import org.basex.core.*;
 import org.basex.core.cmd.*;
+import org.basex.io.*;
 import org.basex.io.serial.*;
 import org.junit.*;
 import org.junit.Test;
@@ -115,4 +116,41 @@ public final class XMLParserTest extends SandboxTest {
       assertEquals("Internal parser: " + b, out, query("."));
     }
   }
+
+  /**
+   * Parses input with long runs of ASCII characters, which are copied in bulk by the internal
+   * parser, and compares the results with the default parser.
+   */
+  @Test
+  public void asciiRuns() {
+    set(MainOptions.CHOP, false);
+    set(MainOptions.SERIALIZER, SerializerMode.NOINDENT.get());
+
+    final StringBuilder sb = new StringBuilder("<x a='1 2\n3&amp;4' b=\"'\">");
+    for(int i = 0; i < 2000; i++) {
+      sb.append("<y n").append(i).append("='v").append(i).append("'>text ").append(i);
+      sb.append(i % 7 == 0 ? " \u00e4\u20ac" : "").append(i % 11 == 0 ? "\r\n" : "\n");
+      sb.append(i % 13 == 0 ? "&lt;]]&gt;" : "").append("</y>");
+    }
+    final IOFile file = new IOFile(sandbox(), "ascii.xml");
+    write(file, sb.append("</x>").toString());
+
+    final String[] results = new String[2];
+    for(final boolean b : new boolean[] { true, false }) {
+      set(MainOptions.INTPARSE, b);
+      execute(new CreateDB(NAME, file.path()));
+      results[b ? 0 : 1] = query(".");
+    }
+    assertEquals(results[1], results[0]);
+
+    // line numbers in error messages
+    set(MainOptions.INTPARSE, true);
+    write(file, "<x>\n\n<y>text</y>\n</z>");
+    try {
+      new CreateDB(NAME, file.path()).execute(context);
+      fail("Error expected.");
+    } catch(final BaseXException ex) {
+      assertTrue(ex.getMessage(), ex.getMessage().contains("(Line 4)"));
+    }
+  }
 }
@@ -433,6 +433,28 @@ public class CommandTest extends SandboxTest {
     assertEquals('/' + NAME + "/y.xml", ok(new XQuery("base-uri(.)")));
   }
 
+  /** Document paths: lookups after single updates. */
+  @Test
+  public final void paths() {
+    ok(new CreateDB(NAME));
+    ok(new Add("b.xml", "<b/>"));
+    ok(new Add("a/c.xml", "<c/>"));
+    ok(new Add("a.xml", "<a/>"));
+    final String query = "string-join((('a.xml', 'b.xml', 'a/c.xml', 'd.xml') ! db:exists('" +
+        NAME + "', .), db:list('" + NAME + "', 'a')), ' ')";
+    assertEquals("true true true false a/c.xml", ok(new XQuery(query)));
+    ok(new Rename("b.xml", "d.xml"));
+    assertEquals("true false true true a/c.xml", ok(new XQuery(query)));
+    ok(new Add("a/e.xml", "<e/>"));
+    ok(new Delete("a.xml"));
+    assertEquals("false false true true a/c.xml a/e.xml", ok(new XQuery(query)));
+    ok(new Close());
+    ok(new Open(NAME));
+    ok(new Add("b.xml", "<b/>"));
+    ok(new Rename("a", "x"));
+    assertEquals("false true false true", ok(new XQuery(query)));
+  }
+
   /** Command test. */
   @Test
   public final void replace() {
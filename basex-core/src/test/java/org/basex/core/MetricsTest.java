@@ -0,0 +1,86 @@
+package org.basex.core;
+
+import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.core.cmd.*;
+import org.basex.util.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * This class tests the runtime metrics.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class MetricsTest extends SandboxTest {
+  /** Test file. */
+  private static final String FILE = "src/test/resources/input.xml";
+
+  /** Drops the test database. */
+  @After
+  public void drop() {
+    execute(new DropDB(NAME));
+  }
+
+  /** Query latency, lock waits and serialized bytes. */
+  @Test
+  public void queries() {
+    final long queries = Metrics.QUERIES.count(), locks = Metrics.LOCK_WAITS.count();
+    final long bytes = Metrics.SERIALIZED.get();
+    final String result = execute(new XQuery("string-join((1 to 100) ! 'x')"));
+    assertEquals(queries + 1, Metrics.QUERIES.count());
+    assertTrue(Metrics.LOCK_WAITS.count() > locks);
+    assertTrue(Metrics.SERIALIZED.get() - bytes >= result.length());
+  }
+
+  /** Index lookups and buffer accesses. */
+  @Test
+  public void index() {
+    execute(new CreateDB(NAME, FILE));
+    final long lookups = Metrics.INDEX_LOOKUPS.get();
+    query("db:text('" + NAME + "', 'XML')");
+    assertEquals(lookups + 1, Metrics.INDEX_LOOKUPS.get());
+
+    final long blocks = Metrics.BUFFER_HITS.get() + Metrics.BUFFER_MISSES.get();
+    execute(new Close());
+    context.datas.close(NAME);
+    execute(new XQuery("count(db:open('" + NAME + "')//node())"));
+    execute(new Close());
+    context.datas.close(NAME);
+    assertTrue(Metrics.BUFFER_HITS.get() + Metrics.BUFFER_MISSES.get() > blocks);
+  }
+
+  /** Bounded number of label values. */
+  @Test
+  public void labels() {
+    final Metrics.Histogram histogram = new Metrics.Histogram("basex_test_seconds", "Test.",
+        "label", 2);
+    for(final String value : new String[] { "a", "b", "c", "d", "a" }) histogram.observe(value, 1);
+    assertEquals(2, histogram.count("a"));
+    assertEquals(1, histogram.count("b"));
+    assertEquals(0, histogram.count("c"));
+    assertEquals(2, histogram.count(Metrics.Histogram.OTHER));
+    assertEquals(5, histogram.count());
+
+    execute(new CreateDB(NAME));
+    execute(new XQuery(_PROF_VOID.args(_DB_OPEN.args(NAME))));
+    final String metrics = Token.string(Metrics.get(context));
+    assertTrue(metrics.contains("basex_test_seconds_count{label=\"other\"} 2"));
+    assertTrue(metrics.contains("basex_lock_string_wait_seconds_bucket{lock=\""));
+  }
+
+  /** Exposition format. */
+  @Test
+  public void get() {
+    execute(new XQuery("1"));
+    final String metrics = Token.string(Metrics.get(context));
+    assertTrue(metrics.contains("# TYPE basex_queries_seconds histogram"));
+    assertTrue(metrics.contains("basex_queries_seconds_bucket{le=\"+Inf\"}"));
+    assertTrue(metrics.contains("basex_index_lookups_total{type=\"text\"}"));
+    assertTrue(metrics.contains("basex_databases_opened "));
+    assertTrue(metrics.contains("basex_jobs_queued 0"));
+  }
+}
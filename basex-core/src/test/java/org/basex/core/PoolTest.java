@@ -7,6 +7,7 @@ import java.io.*;
 import org.basex.*;
 import org.basex.api.client.*;
 import org.basex.core.cmd.*;
+import org.basex.data.*;
 import org.basex.util.*;
 import org.junit.*;
 import org.junit.Test;
@@ -87,6 +88,54 @@ public final class PoolTest extends SandboxTest {
     ok(new DropDB(NAME), session1);
   }
 
+  /** Unpinned databases that remain opened. */
+  @Test
+  public void unused() {
+    ok(new CreateDB(NAME, FILE), session1);
+    ok(new Close(), session1);
+    pins(0, NAME);
+    ok(new Open(NAME), session2);
+    pins(1, NAME);
+    ok(new Close(), session2);
+    pins(0, NAME);
+    ok(new AlterDB(NAME, NAME + '2'), session1);
+    pins(0, NAME + '2');
+    ok(new DropDB(NAME + '2'), session1);
+  }
+
+  /**
+   * Closes unused databases after the timeout.
+   * @throws Exception exception
+   */
+  @Test
+  public void unusedTimeout() throws Exception {
+    new CreateDB(NAME, FILE).execute(context);
+    new Close().execute(context);
+    context.datas.close(NAME);
+
+    final StaticOptions sopts = new StaticOptions(false);
+    sopts.set(StaticOptions.DBCACHETIMEOUT, 1);
+    final Datas datas = new Datas(sopts);
+    try {
+      final Data data = new DiskData(new MetaData(NAME, context.options, context.soptions));
+      datas.pin(data);
+      datas.unpin(data);
+      // unused instance is reused
+      for(int i = 0; i < 3; i++) {
+        assertSame(data, datas.pin(NAME));
+        datas.unpin(data);
+      }
+      assertEquals(1, datas.unused());
+      for(int i = 0; i < 30 && datas.unused() != 0; i++) Performance.sleep(100);
+      assertEquals(0, datas.unused());
+      assertEquals(0, datas.opened());
+      assertTrue(data.closed());
+    } finally {
+      datas.close();
+      new DropDB(NAME).execute(context);
+    }
+  }
+
   /**
    * Checks the number of database pins for the specified database.
    * @param pin expected number of pins
@@ -0,0 +1,249 @@
+package org.basex.core.locks;
+
+import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.util.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * Tests for deferred exclusive locks (see {@link StaticOptions#DEFERLOCK}).
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class DeferLockingTest extends SandboxTest {
+  /** How many milliseconds to wait for threads to finish. */
+  private static final long WAIT = 100L;
+  /** Database name used for locking. */
+  private static final String[] DBS = { NAME };
+  /** Empty string array. */
+  private static final String[] NONE = { };
+
+  /** Locking instance used for testing. */
+  private Locking locking;
+
+  /** Creates the locking instance. */
+  @Before
+  public void init() {
+    context.soptions.set(StaticOptions.DEFERLOCK, true);
+    locking = new Locking(context.soptions);
+  }
+
+  /** Resets the option. */
+  @After
+  public void reset() {
+    context.soptions.set(StaticOptions.DEFERLOCK, false);
+  }
+
+  /**
+   * Readers may proceed until updates are applied.
+   * @throws InterruptedException interrupted exception
+   */
+  @Test
+  public void readDuringEvaluation() throws InterruptedException {
+    final Tester writer = new Tester(true, NONE, DBS).go();
+    assertTrue("Writer should acquire locks.", await(writer.acquired));
+    final Tester reader = new Tester(false, DBS, NONE).go();
+    assertTrue("Reader should acquire locks during evaluation.", await(reader.acquired));
+
+    writer.upgrade.countDown();
+    assertFalse("Writer should wait for reader.", await(writer.upgraded));
+    reader.release.countDown();
+    assertTrue("Writer should acquire exclusive locks.", await(writer.upgraded));
+
+    final Tester reader2 = new Tester(false, DBS, NONE).go();
+    assertFalse("Reader should wait for updates.", await(reader2.acquired));
+    writer.release.countDown();
+    assertTrue("Reader should acquire locks after updates.", await(reader2.acquired));
+    reader2.release.countDown();
+    join(writer, reader, reader2);
+  }
+
+  /**
+   * Writers of the same database are serialized.
+   * @throws InterruptedException interrupted exception
+   */
+  @Test
+  public void writeWrite() throws InterruptedException {
+    final Tester writer1 = new Tester(true, NONE, DBS).go();
+    assertTrue("Writer 1 should acquire locks.", await(writer1.acquired));
+    final Tester writer2 = new Tester(true, NONE, DBS).go();
+    assertFalse("Writer 2 shouldn't acquire locks yet.", await(writer2.acquired));
+    // release without applying updates
+    writer1.release.countDown();
+    assertTrue("Writer 2 should acquire locks.", await(writer2.acquired));
+
+    final Tester command = new Tester(false, NONE, DBS).go();
+    assertFalse("Command shouldn't acquire locks yet.", await(command.acquired));
+    writer2.release.countDown();
+    assertTrue("Command should acquire locks.", await(command.acquired));
+    command.release.countDown();
+    join(writer1, writer2, command);
+  }
+
+  /**
+   * Writers that read a database updated by another writer are serialized.
+   * @throws InterruptedException interrupted exception
+   */
+  @Test
+  public void readWrite() throws InterruptedException {
+    final Tester writer1 = new Tester(true, new String[] { "db1" }, new String[] { "db2" }).go();
+    assertTrue("Writer 1 should acquire locks.", await(writer1.acquired));
+    final Tester writer2 = new Tester(true, new String[] { "db2" }, new String[] { "db1" }).go();
+    assertFalse("Writer 2 shouldn't acquire locks yet.", await(writer2.acquired));
+    writer1.upgrade.countDown();
+    assertTrue("Writer 1 should acquire exclusive locks.", await(writer1.upgraded));
+    writer1.release.countDown();
+    assertTrue("Writer 2 should acquire locks.", await(writer2.acquired));
+    writer2.upgrade.countDown();
+    assertTrue("Writer 2 should acquire exclusive locks.", await(writer2.upgraded));
+    writer2.release.countDown();
+    join(writer1, writer2);
+  }
+
+  /**
+   * Exclusive locks are not deferred if other local locks are held. The database name starts
+   * with a character that is sorted before the prefix of user-defined locks.
+   * @throws InterruptedException interrupted exception
+   */
+  @Test
+  public void userLocks() throws InterruptedException {
+    final String[] strings = { "!" + NAME, Locking.USER_PREFIX + NAME };
+    final Tester writer = new Tester(true, NONE, strings).go();
+    assertTrue("Writer should acquire locks.", await(writer.acquired));
+    final Tester reader = new Tester(false, strings, NONE).go();
+    assertFalse("Reader should wait for writer.", await(reader.acquired));
+    writer.upgrade.countDown();
+    assertTrue("Writer should acquire exclusive locks.", await(writer.upgraded));
+    writer.release.countDown();
+    assertTrue("Reader should acquire locks.", await(reader.acquired));
+    reader.release.countDown();
+    join(writer, reader);
+  }
+
+  /**
+   * Queries can access a database while an updating query is evaluated.
+   * @throws Exception exception
+   */
+  @Test
+  public void query() throws Exception {
+    Prop.put(StaticOptions.DEFERLOCK, "true");
+    final Context ctx = new Context();
+    Prop.put(StaticOptions.DEFERLOCK, "false");
+    try {
+      new CreateDB(NAME, "<a/>").execute(ctx);
+      final String open = _DB_OPEN.args(NAME);
+      final XQuery update = new XQuery("insert node <b/> into " + open + "/a, " +
+          _PROF_SLEEP.args(WAIT * 5));
+      final Thread thread = new Thread() {
+        @Override
+        public void run() {
+          try {
+            final Context uctx = new Context(ctx);
+            uctx.user(ctx.user());
+            update.execute(uctx);
+          } catch(final BaseXException ex) {
+            Util.stack(ex);
+          }
+        }
+      };
+      thread.start();
+      Performance.sleep(WAIT);
+      assertEquals("0", new XQuery("count(" + open + "//b)").execute(ctx));
+      assertTrue("Update should not have been finished.", thread.isAlive());
+      thread.join();
+      assertEquals("1", new XQuery("count(" + open + "//b)").execute(ctx));
+    } finally {
+      new DropDB(NAME).execute(ctx);
+      ctx.close();
+    }
+  }
+
+  /**
+   * Waits for the specified latches.
+   * @param latches latches
+   * @return {@code true} if all latches were counted down
+   * @throws InterruptedException interrupted exception
+   */
+  private static boolean await(final CountDownLatch... latches) throws InterruptedException {
+    for(final CountDownLatch latch : latches) {
+      if(!latch.await(WAIT, TimeUnit.MILLISECONDS)) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Waits for the specified threads to finish.
+   * @param testers threads
+   * @throws InterruptedException interrupted exception
+   */
+  private static void join(final Tester... testers) throws InterruptedException {
+    for(final Tester tester : testers) {
+      tester.join(WAIT * 10);
+      assertNull("Thread failed: " + tester.error, tester.error);
+    }
+  }
+
+  /** Thread that acquires, upgrades and releases locks. */
+  private final class Tester extends Thread {
+    /** Locks. */
+    private final Locks locks = new Locks();
+    /** Counted down after locks have been acquired. */
+    private final CountDownLatch acquired = new CountDownLatch(1);
+    /** Counted down after exclusive locks have been acquired. */
+    private final CountDownLatch upgraded = new CountDownLatch(1);
+    /** To be counted down to acquire exclusive locks. */
+    private final CountDownLatch upgrade = new CountDownLatch(1);
+    /** To be counted down to release locks. */
+    private final CountDownLatch release = new CountDownLatch(1);
+    /** Error. */
+    private volatile Throwable error;
+
+    /**
+     * Constructor.
+     * @param deferrable deferrable locks
+     * @param reads strings to put read lock on
+     * @param writes strings to put write lock on
+     */
+    Tester(final boolean deferrable, final String[] reads, final String[] writes) {
+      for(final String read : reads) locks.reads.add(read);
+      for(final String write : writes) locks.writes.add(write);
+      locks.deferrable = deferrable;
+      locks.finish(context);
+    }
+
+    /**
+     * Starts the thread.
+     * @return self reference
+     */
+    Tester go() {
+      start();
+      return this;
+    }
+
+    @Override
+    public void run() {
+      try {
+        locking.acquire(locks);
+        acquired.countDown();
+        while(release.getCount() != 0) {
+          if(upgrade.await(10, TimeUnit.MILLISECONDS)) {
+            locking.upgrade();
+            upgraded.countDown();
+            release.await();
+          }
+        }
+        locking.release();
+      } catch(final Throwable th) {
+        error = th;
+      }
+    }
+  }
+}
@@ -86,6 +86,33 @@ public final class LockingTest extends SandboxTest {
     th2.release();
   }
 
+  /**
+   * Test for waiting times of a blocked writer.
+   * @throws InterruptedException Got interrupted.
+   */
+  @Test
+  public void waitTimeTest() throws InterruptedException {
+    final CountDownLatch sync = new CountDownLatch(1), test = new CountDownLatch(1);
+    final LockTester th1 = new LockTester(null, NONE, objects, sync);
+    final LockTester th2 = new LockTester(sync, NONE, objects, test);
+    final long count = count(objects[0]);
+
+    th1.start();
+    th2.start();
+    assertFalse("Thread 2 shouldn't be able to acquire lock yet.",
+        test.await(WAIT, TimeUnit.MILLISECONDS));
+    assertEquals("Thread 2 should wait for first lock.", objects[0], th2.locks.waiting());
+    assertTrue("Thread 2 should be waiting.", th2.locks.waited() > 0);
+    th1.release();
+    assertTrue("Thread 2 should be able to acquire lock now.",
+        test.await(WAIT, TimeUnit.MILLISECONDS));
+    assertNull("Thread 2 shouldn't wait anymore.", th2.locks.waiting());
+    final long waited = th2.locks.waited();
+    assertEquals("Waiting time should be fixed.", waited, th2.locks.waited());
+    assertEquals("Lock acquisitions should be recorded.", count + 2, count(objects[0]));
+    th2.release();
+  }
+
   /**
    * Fetch write lock, then read lock.
    * @throws InterruptedException Got interrupted.
@@ -548,6 +575,16 @@ public final class LockingTest extends SandboxTest {
             TimeUnit.MILLISECONDS));
   }
 
+  /**
+   * Returns the number of recorded waiting times for the specified lock string. If the
+   * maximum number of label values has been reached, the string will be counted as other value.
+   * @param string lock string
+   * @return number of waiting times
+   */
+  private static long count(final String string) {
+    return Metrics.LOCK_STRINGS.count(string) + Metrics.LOCK_STRINGS.count(Metrics.Histogram.OTHER);
+  }
+
   /**
    * Default implementation for setting locks and latches.
    */
@@ -338,11 +338,46 @@ public class DataAccessTest {
     assertContent(pos, CINT1_BIN);
   }
 
-  /** Test method for {@link DataAccess#free(long, int)}. */
-  @Ignore
+  /**
+   * Test method for {@link FreeSpace}.
+   * @throws IOException I/O exception
+   */
   @Test
-  public final void testFree() {
-    fail("Not yet implemented");
+  public final void testFree() throws IOException {
+    final IOFile gaps = new IOFile(file.path() + 'f');
+    try {
+      final FreeSpace fs = new FreeSpace(da, gaps);
+      final long length = da.length(), pos1 = length, pos2 = pos1 + 11, pos3 = pos2 + 6;
+      da.writeToken(pos1, Token.token("0123456789"));
+      da.writeToken(pos2, Token.token("01234"));
+      da.writeToken(pos3, Token.token("012"));
+      assertEquals(da.length(), fs.alloc(5));
+
+      // free entries and merge gaps
+      fs.free(pos2);
+      assertEquals(6, fs.free());
+      fs.free(pos1);
+      assertEquals(17, fs.free());
+
+      // best fit: split gap
+      assertEquals(pos1, fs.alloc(4));
+      da.writeToken(pos1, Token.token("012"));
+      assertEquals(13, fs.free());
+      assertEquals(4, fs.reclaimed());
+
+      // free last entry: truncate file, including preceding gap
+      fs.free(pos3);
+      assertEquals(0, fs.free());
+      assertEquals(pos1 + 4, da.length());
+
+      // store and read gaps
+      da.writeToken(pos1 + 4, Token.token("01"));
+      fs.free(pos1);
+      fs.write();
+      assertEquals(4, new FreeSpace(da, gaps).free());
+    } finally {
+      gaps.delete();
+    }
   }
 
   /**
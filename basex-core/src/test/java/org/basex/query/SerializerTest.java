@@ -77,6 +77,17 @@ public final class SerializerTest extends AdvancedQueryTest {
     query(option + "1,<a>2</a>,3", "123");
   }
 
+  /** Test: escaping of characters. */
+  @Test
+  public void escape() {
+    query("<a>a&amp;b&lt;c&gt;d\u00e9e&#x7F;f&#x2028;g</a>",
+        "<a>a&amp;b&lt;c&gt;d\u00e9e&#x7F;f&#x2028;g</a>");
+    query(SerializerOptions.METHOD.arg("text") + "<a>a&lt;b</a>", "a<b");
+    query(SerializerOptions.METHOD.arg("html") + "<a>a&#xA0;b</a>", "<a>a&nbsp;b</a>");
+    query(SerializerOptions.ENCODING.arg("US-ASCII") + "<a>a\u00e9b</a>", "<a>a&#xE9;b</a>");
+    query(SerializerOptions.LIMIT.arg("3") + "<a>bcd</a>", "<a>");
+  }
+
   /** Test: item-separator. */
   @Test
   public void itemSeparator() {
@@ -323,6 +323,38 @@ public final class PackageAPITest extends AdvancedQueryTest {
     }
   }
 
+  /**
+   * Tests if changes of package descriptors are detected.
+   * @throws Exception exception
+   */
+  @Test
+  public void changedDescriptor() throws Exception {
+    final IOFile dir = new IOFile(REPO, "cache-1.0");
+    final IOFile mod = new IOFile(dir, "cache");
+    assertTrue(mod.md());
+    for(final String name : new String[] { "a", "b" }) {
+      new IOFile(mod, name + IO.XQMSUFFIX).write(token("module namespace c='cache'; "
+          + "declare function c:f() { '" + name + "' };"));
+    }
+    final IOFile desc = new IOFile(dir, PkgText.DESCRIPTOR);
+    desc.write(desc("http://cache", "cache", "1.0",
+        "<xquery><namespace>cache</namespace><file>a.xqm</file></xquery>").read());
+
+    final String query = "import module namespace c='cache'; c:f()";
+    try(QueryProcessor qp = new QueryProcessor(query, context)) {
+      assertEquals("a", qp.value().serialize().toString());
+    }
+    // reference another module; the size of the descriptor does not change
+    final long time = desc.timeStamp(), size = desc.length();
+    desc.write(token(string(desc.read()).replace("a.xqm", "b.xqm")));
+    assertTrue(desc.file().setLastModified(time + 10000));
+    assertEquals(size, desc.length());
+    try(QueryProcessor qp = new QueryProcessor(query, context)) {
+      assertEquals("b", qp.value().serialize().toString());
+    }
+    assertTrue(dir.delete());
+  }
+
   /**
    * Tests package delete.
    */
@@ -248,4 +248,24 @@ public final class PathTest extends AdvancedQueryTest {
     execute(new Add("b.xml", "<b/>"));
     query(".[/a]", "<a/>");
   }
+
+  /**
+   * Descendant steps that skip subtrees via the path summary.
+   */
+  @Test public void skipSubtrees() {
+    execute(new CreateDB(NAME, "<x><a><b/><c><b/></c></a><a><c/><b/></a><d><a/></d></x>"));
+    query("count(//a ! .//b)", "3");
+    query("/x/a ! count(.//b)", "2\n1");
+    query("//c ! .//b", "<b/>");
+    query("//d ! .//b", "");
+    query("/x/a[2]//b[1]", "<b/>");
+    query("//a ! .//unknown", "");
+    query("<x><a><b/></a></x>//a ! .//b", "<b/>");
+
+    // updated database: path summary is not consulted
+    query("insert node <b/> into //d/a", "");
+    query("//d ! .//b", "<b/>");
+    execute(new Optimize());
+    query("//d ! .//b", "<b/>");
+  }
 }
@@ -160,6 +160,11 @@ public final class ArchiveModuleTest extends AdvancedQueryTest {
           "let $c := " + _CONVERT_BINARY_TO_STRING.args("$b") +
           "let $d := " + PARSE_XML.args("$c") +
           "return $d//title/text()", "XML");
+    // compare results of file-based and in-memory archives
+    query("let $a := " + _FILE_READ_BINARY.args(ZIP) +
+          "let $b := xs:base64Binary(string($a))" +
+          "return deep-equal(" + _ARCHIVE_EXTRACT_BINARY.args("$a") + ", " +
+          _ARCHIVE_EXTRACT_BINARY.args("$b") + ')', true);
   }
 
   /** Test method. */
@@ -434,8 +434,9 @@ public final class DbModuleTest extends AdvancedQueryTest {
     final String[] numberOptions = lc(MainOptions.MAXCATS, MainOptions.MAXLEN,
         MainOptions.SPLITSIZE);
     final String[] boolOptions = lc(MainOptions.TEXTINDEX, MainOptions.ATTRINDEX,
-        MainOptions.TOKENINDEX, MainOptions.FTINDEX, MainOptions.STEMMING,
-        MainOptions.CASESENS, MainOptions.DIACRITICS);
+        MainOptions.TOKENINDEX, MainOptions.FTINDEX, MainOptions.NGRAMINDEX,
+        MainOptions.ELEMINDEX, MainOptions.STEMMING, MainOptions.CASESENS,
+        MainOptions.DIACRITICS);
     final String[] stringOptions = lc(MainOptions.LANGUAGE, MainOptions.STOPWORDS);
 
     for(final String option : numberOptions) {
@@ -446,6 +447,9 @@ public final class DbModuleTest extends AdvancedQueryTest {
         query(_DB_CREATE.args(NAME, "()", "()", " map { '" + option + "':" + v + "() }"));
       }
     }
+    query(_DB_CREATE.args(NAME, "<a><b/></a>", "a.xml",
+        " map { '" + lc(MainOptions.ELEMINDEX) + "':true() }"));
+    query(_DB_INFO.args(NAME) + "//" + lc(MainOptions.ELEMINDEX) + "/text()", true);
     for(final String option : stringOptions) {
       query(_DB_CREATE.args(NAME, "()", "()", " map { '" + option + "':'' }"));
     }
@@ -604,8 +608,9 @@ public final class DbModuleTest extends AdvancedQueryTest {
         MainOptions.TOKENINDEX, MainOptions.FTINDEX);
     final String[] includes = lc(MainOptions.TEXTINCLUDE, MainOptions.ATTRINCLUDE,
         MainOptions.TOKENINCLUDE, MainOptions.FTINCLUDE);
-    final String[] boolOptions = new StringList(indexes).add(lc(MainOptions.STEMMING,
-        MainOptions.CASESENS, MainOptions.DIACRITICS)).finish();
+    final String[] boolOptions = new StringList(indexes).add(lc(MainOptions.NGRAMINDEX,
+        MainOptions.ELEMINDEX, MainOptions.STEMMING, MainOptions.CASESENS,
+        MainOptions.DIACRITICS)).finish();
     final String[] stringOptions = lc(MainOptions.LANGUAGE, MainOptions.STOPWORDS);
     final String[] numberOptions = lc(MainOptions.MAXCATS, MainOptions.MAXLEN,
         MainOptions.SPLITSIZE);
@@ -162,6 +162,26 @@ public final class FtModuleTest extends AdvancedQueryTest {
       "<li>...</li>");
   }
 
+  /** Test method. */
+  @Test
+  public void top() {
+    query(_FT_TOP.args(NAME, "XML", 1), "XML");
+    query(_FT_TOP.args(NAME, "XML", 5), "XML\nDatabases and XML");
+    query(_FT_TOP.args(NAME, " ('exercise','1')", 2), "Exercise 1\nExercise 2");
+    query(_FT_TOP.args(NAME, "Exercise 1", 5, " map { 'mode':'all words' }"), "Exercise 1");
+    query(_FT_TOP.args(NAME, "XXX", 5), "");
+    query(_FT_TOP.args(NAME, "XML", 0), "");
+    // the number of results is limited by the number of texts
+    query(_FT_TOP.args(NAME, "XML", Integer.MAX_VALUE), "XML\nDatabases and XML");
+
+    // results are ordered by descending scores
+    query("let $s := " + _FT_SCORE.args(_FT_TOP.args(NAME, "XML", 5)) + " return $s[1] > $s[2]",
+        true);
+
+    // check buggy options
+    error(_FT_TOP.args(NAME, "x", 1, " map { 'x':'y' }"), INVALIDOPT_X);
+  }
+
   /** Test method. */
   @Test
   public void score() {
@@ -70,6 +70,16 @@ public final class JavaFunctionTest extends AdvancedQueryTest {
     query("declare namespace p = 'java.util.Properties'; p:new()", "{}");
   }
 
+  /** Tests repeated calls of the same Java function. */
+  @Test
+  public void repeated() {
+    query("for $i in 1 to 3 return Q{java.lang.Math}sqrt(xs:double($i * $i))", "1\n2\n3");
+    query("declare namespace list = 'java.util.ArrayList';" +
+        "let $list := list:new() return (for $i in 1 to 3 return list:add($list, $i)," +
+        "list:size($list))[last()]", 3);
+    query("for $s in ('a', 'bc') return Q{java.lang.String}length($s)", "1\n2");
+  }
+
   /** Tests importing a Java class. */
   @Test
   public void importClass() {
@@ -162,6 +162,7 @@ public final class JobsModuleTest extends AdvancedQueryTest {
       query(list + "/@user/string()", UserText.ADMIN);
       query(list + "/@state/string() = ('running', 'queued')", true);
       query(list + "/@duration/string() castable as xs:dayTimeDuration", "true");
+      query("every $w in " + list + "/@wait satisfies $w castable as xs:dayTimeDuration", "true");
     } finally {
       query(_JOBS_STOP.args(id));
     }
@@ -126,6 +126,10 @@ public final class JsonModuleTest extends AdvancedQueryTest {
     query("string-to-codepoints(json:parse('\"\\t\\u000A\"'," +
         "  map {'format':'map','escape':false(),'liberal':true()}))", "9\n10");
     error("json:parse('42', map {'spec':'garbage'})", INVALIDOPT_X);
+    // JSON Lines can only be parsed into databases
+    error("json:parse('42', map {'lines':true()})", BXJS_INVALID_X);
+    error("json:parse('42', map {'lines':true(),'format':'map'})", BXJS_INVALID_X);
+    error("parse-json('42', map {'lines':true()})", JSON_OPT_X);
   }
 
   /**
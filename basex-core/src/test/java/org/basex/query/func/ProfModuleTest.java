@@ -2,8 +2,13 @@ package org.basex.query.func;
 
 import static org.basex.query.func.Function.*;
 
+import static org.junit.Assert.*;
+
 import org.basex.query.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
 import org.junit.*;
+import org.junit.Test;
 
 /**
  * This class tests the functions of the Profiling Module.
@@ -78,4 +83,24 @@ public final class ProfModuleTest extends AdvancedQueryTest {
     query(_PROF_TYPE.args("(1, 2, 3)"), "1\n2\n3");
     query(_PROF_TYPE.args("<x a='1' b='2' c='3'/>/@*/data()"), "1\n2\n3");
   }
+
+  /** Test method. */
+  @Test
+  public void plan() {
+    final String query = "declare option db:profplan 'true';"
+        + "for $i in 1 to 3 return count((<a><b/><b/></a> ! b)[. = ''])";
+    try(QueryProcessor qp = new QueryProcessor(query, context)) {
+      assertEquals("2 2 2", qp.value().serialize().toString().replaceAll("\\s+", " "));
+      final Value plan = qp.plan();
+      try(QueryProcessor qp2 = new QueryProcessor("//IterFilter/@items/data()", context)) {
+        assertEquals("6", qp2.context(plan).value().serialize().toString());
+      }
+      try(QueryProcessor qp2 = new QueryProcessor("every $t in //*[@calls]/@time " +
+          "satisfies matches($t, '^\\d+(\\.\\d+)? ms$')", context)) {
+        assertEquals(Bln.TRUE, qp2.context(plan).value());
+      }
+    } catch(final Exception ex) {
+      throw new AssertionError(query, ex);
+    }
+  }
 }
@@ -1,53 +1,190 @@
 package org.basex.query.func;
 
+import static org.basex.query.QueryError.*;
+import static org.basex.query.func.Function.*;
+
 import org.basex.query.*;
 import org.junit.*;
 
 /**
  * This class tests the functions of the SQL Module.
- * Due to the lack of a default JDBC driver, this class contains only tests signatures.
+ * The tests are run against an in-memory H2 database.
  *
  * @author BaseX Team 2005-17, BSD License
  * @author Christian Gruen
  */
 public final class SqlModuleTest extends AdvancedQueryTest {
+  /** JDBC driver. */
+  private static final String DRIVER = "org.h2.Driver";
+  /** JDBC URL (the database is dropped when its last connection is closed). */
+  private static final String URL = "jdbc:h2:mem:" + NAME;
+  /** Table definition. */
+  private static final String TABLE = "CREATE TABLE t(i INT, s VARCHAR(10))";
+  /** Table contents. */
+  private static final String INSERT = "INSERT INTO t VALUES (1, 'a'), (2, NULL), (3, 'c')";
+  /** Query for the table contents. */
+  private static final String SELECT = "SELECT * FROM t ORDER BY i";
+  /** Insert statement with placeholders. */
+  private static final String PREPARED = "INSERT INTO t VALUES (?, ?)";
+
   /** Test method. */
   @Test
   public void init() {
+    query(_SQL_INIT.args(DRIVER), "");
+    error(_SQL_INIT.args("org.basex.Unknown"), BXSQ_DRIVER_X);
   }
 
   /** Test method. */
   @Test
   public void connect() {
+    query(_SQL_CONNECT.args(URL) + " instance of xs:integer", true);
+    query(_SQL_CONNECT.args(URL, "sa", "", " map { 'autocommit': false() }") +
+        " instance of xs:integer", true);
+    error(_SQL_CONNECT.args("jdbc:unknown:"), BXSQ_ERROR_X);
   }
 
   /** Test method. */
   @Test
   public void prepare() {
+    query("let $id := " + _SQL_CONNECT.args(URL) + " return (" +
+        _SQL_EXECUTE.args("$id", TABLE) + ',' +
+        _SQL_PREPARE.args("$id", PREPARED) + " instance of xs:integer)", true);
+    error(_SQL_PREPARE.args(-1, PREPARED), BXSQ_CONN_X);
   }
 
   /** Test method. */
   @Test
   public void execute() {
+    final String init = "let $id := " + _SQL_CONNECT.args(URL) + " return (" +
+        _SQL_EXECUTE.args("$id", TABLE) + ',' + _SQL_EXECUTE.args("$id", INSERT) + ',';
+
+    // default format, fetch size
+    query(init + _SQL_EXECUTE.args("$id", SELECT) + "/*[@name = 'S'] ! string())", "a\nc");
+    query(init + COUNT.args(_SQL_EXECUTE.args("$id", SELECT, " map { 'fetch-size': 1 }")) +
+        ')', 3);
+    query(init + COUNT.args(_SQL_EXECUTE.args("$id", SELECT,
+        " map { 'fetch-size': 1, 'format': 'xml' }") + "/*") + ')', 5);
+
+    // maps: typed values, null values are omitted
+    query(init + _SQL_EXECUTE.args("$id", SELECT, " map { 'format': 'map' }") +
+        " ! (?I instance of xs:integer, ?S))", "true\na\ntrue\ntrue\nc");
+    query(init + _SQL_EXECUTE.args("$id", SELECT, " map { 'format': 'map' }") +
+        " ! " + _MAP_SIZE.args(" .") + ')', "2\n1\n2");
+
+    // arrays: typed values, null values are represented as empty sequences
+    query(init + _SQL_EXECUTE.args("$id", SELECT,
+        " map { 'format': 'array', 'fetch-size': 2 }") + " ! (" + _ARRAY_SIZE.args(" .") +
+        ", .(1), " + COUNT.args(" .(2)") + "))", "2\n1\n1\n2\n2\n0\n2\n3\n1");
+
+    error(init + _SQL_EXECUTE.args("$id", SELECT, " map { 'format': 'csv' }") + ')',
+        INVALIDOPT_X);
+    error(_SQL_EXECUTE.args(-1, SELECT), BXSQ_CONN_X);
+    error(init + _SQL_EXECUTE.args("$id", "SELECT * FROM unknown") + ')', BXSQ_ERROR_X);
   }
 
   /** Test method. */
   @Test
   public void executePrepared() {
+    final String init = "let $id := " + _SQL_CONNECT.args(URL) + " return (" +
+        _SQL_EXECUTE.args("$id", TABLE) + ',' + _SQL_EXECUTE.args("$id", INSERT) + ',';
+    final String select = _SQL_PREPARE.args("$id", "SELECT s FROM t WHERE i > ? ORDER BY i");
+    final String params = " <sql:parameters><sql:parameter type='int'>1</sql:parameter>" +
+        "</sql:parameters>";
+
+    query(init + _SQL_EXECUTE_PREPARED.args(select, params, " map { 'fetch-size': 1 }") +
+        " ! string())", "\nc");
+    query(init + _SQL_EXECUTE_PREPARED.args(select, params, " map { 'format': 'map' }") +
+        " ! ?S)", "c");
+    query(init + _SQL_EXECUTE_PREPARED.args(select, params, " map { 'format': 'array' }") +
+        " ! " + COUNT.args(" .(1)") + ')', "0\n1");
+
+    error(init + _SQL_EXECUTE_PREPARED.args(select, " <sql:parameters/>") + ')', BXSQ_PARAMS);
+    error(_SQL_EXECUTE_PREPARED.args(-1), BXSQ_STATE_X);
+  }
+
+  /** Test method. */
+  @Test
+  public void executeBatch() {
+    final String init = "let $id := " + _SQL_CONNECT.args(URL) + " return (" +
+        _SQL_EXECUTE.args("$id", TABLE) + ", let $ps := " + _SQL_PREPARE.args("$id", PREPARED) +
+        " return (";
+    final String count = COUNT.args(_SQL_EXECUTE.args("$id", SELECT)) + "))";
+
+    // arrays, empty members are bound as null values
+    query(init + _SQL_EXECUTE_BATCH.args("$ps", " ([1, 'a'], [2, ()], [(), 'c'])") + ',' +
+        _SQL_EXECUTE.args("$id", "SELECT COUNT(*) FROM t WHERE i IS NULL OR s IS NULL",
+        " map { 'format': 'array' }") + "(1)))", "3\n2");
+    // elements
+    query(init + _SQL_EXECUTE_BATCH.args("$ps", " <sql:parameters>" +
+        "<sql:parameter type='int'>1</sql:parameter>" +
+        "<sql:parameter type='string' null='true'/></sql:parameters>") + ',' + count, "1\n1");
+    // several batches, lazily generated parameter sets
+    query(init + _SQL_EXECUTE_BATCH.args("$ps", " (1 to 2500) ! [., string()]",
+        " map { 'batch-size': 1000 }") + ',' + count, "2500\n2500");
+    query(init + _SQL_EXECUTE_BATCH.args("$ps", " (1 to 5) ! [., string()]",
+        " map { 'batch-size': 2 }") + ',' + count, "5\n5");
+    query(init + _SQL_EXECUTE_BATCH.args("$ps", "()") + ',' + count, "0\n0");
+
+    error(init + _SQL_EXECUTE_BATCH.args("$ps", " [1]") + "))", BXSQ_PARAMS);
+    error(init + _SQL_EXECUTE_BATCH.args("$ps", " <sql:parameters/>") + "))", BXSQ_PARAMS);
+    error(init + _SQL_EXECUTE_BATCH.args("$ps", " <x/>") + "))", INVALIDOPTION_X);
+    error(init + _SQL_EXECUTE_BATCH.args("$ps", " [1, 'too long value']") + "))",
+        BXSQ_ERROR_X);
+    error(_SQL_EXECUTE_BATCH.args(-1, " [1, 'a']"), BXSQ_STATE_X);
+  }
+
+  /** Commit intervals. */
+  @Test
+  public void executeBatchCommit() {
+    final String init = "let $id := " + _SQL_CONNECT.args(URL, "sa", "",
+        " map { 'autocommit': false() }") + " return (" + _SQL_EXECUTE.args("$id", TABLE) + ',' +
+        _SQL_COMMIT.args("$id") + ", let $ps := " + _SQL_PREPARE.args("$id", PREPARED) +
+        " return (";
+    final String count = _SQL_ROLLBACK.args("$id") + ',' +
+        COUNT.args(_SQL_EXECUTE.args("$id", SELECT)) + "))";
+    final String params = " (1 to 5) ! [., string()]";
+
+    // no commit interval: changes are rolled back
+    query(init + _SQL_EXECUTE_BATCH.args("$ps", params, " map { 'batch-size': 2 }") + ',' +
+        count, "5\n0");
+    // changes are committed after the batch in which the interval is reached, and at the end
+    query(init + _SQL_EXECUTE_BATCH.args("$ps", params,
+        " map { 'batch-size': 2, 'commit-interval': 3 }") + ',' + count, "5\n5");
+    query(init + _SQL_EXECUTE_BATCH.args("$ps", params,
+        " map { 'batch-size': 2, 'commit-interval': 100 }") + ',' + count, "5\n5");
+    // failing batch: only the changes of the committed batches are kept
+    final String failing = " ((1 to 4) ! [., string()], [5, 'too long value'])";
+    for(final int[] ic : new int[][] { { 1, 4 }, { 3, 4 }, { 5, 0 }, { 100, 0 } }) {
+      query(init + "try { " + _SQL_EXECUTE_BATCH.args("$ps", failing,
+          " map { 'batch-size': 2, 'commit-interval': " + ic[0] + " }") +
+          " } catch * { 'error' }, " + count, "error\n" + ic[1]);
+    }
   }
 
   /** Test method. */
   @Test
   public void close() {
+    query("let $id := " + _SQL_CONNECT.args(URL) + " return (" + _SQL_CLOSE.args("$id") + ',' +
+        "try { " + _SQL_EXECUTE.args("$id", "SELECT 1") + " } catch * { 'closed' })", "closed");
   }
 
   /** Test method. */
   @Test
   public void commit() {
+    query("let $id := " + _SQL_CONNECT.args(URL, "sa", "", " map { 'autocommit': false() }") +
+        " return (" + _SQL_EXECUTE.args("$id", TABLE) + ',' + _SQL_EXECUTE.args("$id", INSERT) +
+        ',' + _SQL_COMMIT.args("$id") + ',' + _SQL_ROLLBACK.args("$id") + ',' +
+        COUNT.args(_SQL_EXECUTE.args("$id", SELECT)) + ')', 3);
+    error(_SQL_COMMIT.args(-1), BXSQ_CONN_X);
   }
 
   /** Test method. */
   @Test
   public void rollback() {
+    query("let $id := " + _SQL_CONNECT.args(URL, "sa", "", " map { 'autocommit': false() }") +
+        " return (" + _SQL_EXECUTE.args("$id", TABLE) + ',' + _SQL_COMMIT.args("$id") + ',' +
+        _SQL_EXECUTE.args("$id", INSERT) + ',' + _SQL_ROLLBACK.args("$id") + ',' +
+        COUNT.args(_SQL_EXECUTE.args("$id", SELECT)) + ')', 0);
+    error(_SQL_ROLLBACK.args(-1), BXSQ_CONN_X);
   }
 }
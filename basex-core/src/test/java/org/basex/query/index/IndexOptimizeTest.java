@@ -7,6 +7,7 @@ import org.basex.core.cmd.*;
 import org.basex.query.ast.*;
 import org.basex.query.expr.ft.*;
 import org.basex.query.expr.index.*;
+import org.basex.query.expr.path.*;
 import org.basex.util.*;
 import org.junit.*;
 import org.junit.Test;
@@ -146,6 +147,51 @@ public final class IndexOptimizeTest extends QueryPlanTest {
     check("for $s in ('id2', 'id3') return data(//@*[contains-token(., $s)])", "id1 id2");
   }
 
+  /**
+   * Checks substring requests.
+   */
+  @Test
+  public void ngramTest() {
+    try {
+      set(MainOptions.NGRAMINDEX, true);
+      execute(new CreateDB(NAME, "<xml><a>abcde</a><a>bcdef</a><b>abc</b><a>xyz</a></xml>"));
+      final String test = "exists(//" + Util.className(NGramAccess.class) + ')';
+      check("//a[contains(., 'bcd')]", "<a>abcde</a>\n<a>bcdef</a>", test);
+      check("//a[contains(text(), 'cdef')]", "<a>bcdef</a>", test);
+      check("//text()[contains(., 'abc')]", "abcde\nabc", test);
+      check("//a[starts-with(., 'abc')]", "<a>abcde</a>", test);
+      check("//a[ends-with(., 'def')]", "<a>bcdef</a>", test);
+      check("//a[ends-with(., 'bcd')]", "", test);
+      check("//a[matches(., 'abcd+e')]", "<a>abcde</a>", test);
+      check("//a[matches(., '^b.d')]", "<a>bcdef</a>", "empty(//" +
+          Util.className(NGramAccess.class) + ')');
+      check("//a[contains(., 'bc')]", "<a>abcde</a>\n<a>bcdef</a>", "empty(//" +
+          Util.className(NGramAccess.class) + ')');
+    } finally {
+      set(MainOptions.NGRAMINDEX, false);
+    }
+  }
+
+  /**
+   * Checks if structural joins are applied to descendant steps.
+   */
+  @Test
+  public void elemIndexTest() {
+    try {
+      set(MainOptions.ELEMINDEX, true);
+      execute(new CreateDB(NAME, "<xml><a><b/><a><b>x</b><c/></a></a><c><b/><c><c/></c></c></xml>"));
+      final String test = "exists(//" + Util.className(StructuralJoin.class) + ')';
+      check("//a//b", "<b/>\n<b>x</b>", test);
+      check("//a//b[text()]", "<b>x</b>", test);
+      check("//a//b[1]", "<b/>\n<b>x</b>", test);
+      check("count(//c//c)", "2", test);
+      check("count(//a//c/..)", "1", test);
+      check("//a//d", "", "empty(//" + Util.className(StructuralJoin.class) + ')');
+    } finally {
+      set(MainOptions.ELEMINDEX, false);
+    }
+  }
+
   /**
    * Checks full-text requests.
    */
@@ -244,6 +290,67 @@ public final class IndexOptimizeTest extends QueryPlanTest {
     }
   }
 
+  /**
+   * Chooses the range index access with the highest estimated selectivity.
+   */
+  @Test
+  public void rangeSelectivity() {
+    createItems(true);
+    check("count(//item[a >= 100 and a <= 999][b >= 990 and b <= 999])", "10",
+        "//RangeAccess/@min = 990");
+  }
+
+  /**
+   * Evaluates the predicates with the highest estimated selectivity first.
+   */
+  @Test
+  public void predicateOrder() {
+    createItems(false);
+    check("count(//item[cat = 'c1'][cat = 'rare'])", "0",
+        "//*[@test = '*:item']/CmpG[1]/Str/@value = 'rare'");
+    // skewed values: the histogram estimates a selectivity of 50% instead of 25%
+    check("count(//item[c >= 1 and c <= 250000][b >= 300 and b <= 599])", "201",
+        "//*[@test = '*:item']/CmpR[1]//IterStep/@test = '*:b'");
+    // positional predicates will not be reordered
+    check("count(//item[cat = 'c1'][1][cat = 'rare'])", "0",
+        "//*[@test = '*:item']/CmpG[1]/Str/@value = 'c1'");
+    // numeric values without distinct values
+    check("count(//item[b >= 1 and b <= 999][c = '250000'])", "1",
+        "//*[@test = '*:item']/*[1] instance of element(CmpG)");
+    check("count(//item[b >= 1 and b <= 999][c = 250000])", "1",
+        "//*[@test = '*:item']/*[1]//@test = '*:c'");
+  }
+
+  /**
+   * Reorders the predicates that remain after an index rewrite.
+   */
+  @Test
+  public void predicateOrderIndex() {
+    createItems(true);
+    check("count(//item[b >= 1 and b <= 999][cat = 'c1'][a = '500'])", "0",
+        "exists(//ValueAccess)",
+        "//*[@test = '*:item']/*[1] instance of element(CmpG)");
+  }
+
+  /**
+   * Creates a test database with items.
+   * @param index create text index
+   */
+  private static void createItems(final boolean index) {
+    final StringBuilder sb = new StringBuilder("<x>");
+    for(int i = 1; i <= 1000; i++) {
+      sb.append("<item><a>").append(i).append("</a><b>").append(i).append("</b><c>");
+      sb.append(i * i).append("</c><cat>").append(i == 500 ? "rare" : "c" + i % 3);
+      sb.append("</cat></item>");
+    }
+    try {
+      set(MainOptions.TEXTINDEX, index);
+      execute(new CreateDB(NAME, sb.append("</x>").toString()));
+    } finally {
+      set(MainOptions.TEXTINDEX, true);
+    }
+  }
+
   /**
    * Creates a test database.
    */
@@ -3,10 +3,15 @@ package org.basex.server;
 import static org.junit.Assert.*;
 
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
 
 import org.basex.*;
+import org.basex.api.client.*;
+import org.basex.core.*;
 import org.basex.util.*;
 import org.junit.*;
+import org.junit.Test;
 
 /**
  * This class tests the client/server session API.
@@ -46,4 +51,122 @@ public class ClientSessionTest extends SessionTest {
       fail(Util.message(ex));
     }
   }
+
+  /**
+   * Pipelines requests.
+   * @throws Exception exception
+   */
+  @Test
+  public void pipeline() throws Exception {
+    final ClientSession cs = (ClientSession) session;
+    final ArrayList<Future<String>> results = new ArrayList<>();
+    for(int i = 0; i < 5; i++) results.add(cs.executeAsync("xquery " + i));
+    final Future<String> error = cs.executeAsync("xquery error()");
+    final ClientQuery query = cs.query("1 to 3");
+    final Future<String> result = query.executeAsync();
+
+    for(int i = 0; i < 5; i++) assertEquals(Integer.toString(i), results.get(i).get());
+    try {
+      error.get();
+      fail("Error expected.");
+    } catch(final ExecutionException ex) {
+      assertTrue(ex.getCause() instanceof BaseXException);
+    }
+    assertEquals("1\n2\n3", normNL(result.get()));
+    query.close();
+    assertEqual("1", session.execute("xquery 1"));
+  }
+
+  /**
+   * Pipelines more requests than responses can be buffered.
+   * @throws Exception exception
+   */
+  @Test
+  public void pipelineLimit() throws Exception {
+    final ClientSession cs = (ClientSession) session;
+    final String string = new String(new char[10000]).replace('\0', 'x');
+    final ArrayList<Future<String>> results = new ArrayList<>();
+    for(int i = 0; i < 1000; i++) results.add(cs.executeAsync("xquery '" + string + i + "'"));
+    for(int i = 0; i < 1000; i++) assertEquals(string + i, results.get(i).get());
+  }
+
+  /**
+   * Sends a large request while the response of a previous request has not been read yet.
+   * @throws Exception exception
+   */
+  @Test
+  public void pipelineSize() throws Exception {
+    final ClientSession cs = (ClientSession) session;
+    final String string = new String(new char[1 << 23]).replace('\0', 'x');
+    try(ClientQuery query1 = cs.query("(1 to 1000000) ! 'abcdefghij'");
+        ClientQuery query2 = cs.query("declare variable $v external; string-length($v)")) {
+      final Future<String> result = query1.executeAsync();
+      query2.bind("v", string);
+      assertEquals(Integer.toString(string.length()), query2.execute());
+      assertEquals(11000000 - 1, result.get().length());
+    }
+  }
+
+  /**
+   * Closes a query whose next results are not requested within the query timeout.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void batchTimeout() throws IOException {
+    final StaticOptions sopts = server.context.soptions;
+    final int timeout = sopts.get(StaticOptions.TIMEOUT);
+    sopts.set(StaticOptions.TIMEOUT, 1);
+    session.execute("create db " + NAME + " <a/>");
+    try(Query query = session.query("for $i in 1 to 5 return db:open('" + NAME + "')")) {
+      query.batch(1, 0);
+      assertTrue(query.more());
+      assertEqual("<a/>", query.next());
+      // update will be performed as soon as the query has been closed
+      try(ClientSession cs = createClient()) {
+        cs.execute("xquery insert node <b/> into db:open('" + NAME + "')/a");
+      }
+      try {
+        query.more();
+        fail("Query should have been closed.");
+      } catch(final IOException ex) {
+        assertTrue(ex.getMessage(), ex.getMessage().contains("Unknown Query ID"));
+      }
+    } finally {
+      sopts.set(StaticOptions.TIMEOUT, timeout);
+    }
+    assertEqual("1", session.execute("xquery count(db:open('" + NAME + "')/a/b)"));
+    session.execute("drop db " + NAME);
+  }
+
+  /**
+   * Rejects other requests while the results of a query are being fetched.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void batchFetching() throws IOException {
+    try(Query query = session.query("1 to 3")) {
+      query.batch(1, 0);
+      assertTrue(query.more());
+      assertEqual("1", query.next());
+      try {
+        session.execute("xquery 1");
+        fail("Error expected.");
+      } catch(final BaseXException ex) {
+        assertTrue(ex.getMessage(), ex.getMessage().contains("being fetched"));
+      }
+      try(Query query2 = session.query("2")) {
+        query2.execute();
+        fail("Error expected.");
+      } catch(final BaseXException ex) {
+        assertTrue(ex.getMessage(), ex.getMessage().contains("being fetched"));
+      }
+      assertTrue(query.more());
+      assertEqual("2", query.next());
+      assertTrue(query.more());
+      assertEqual("3", query.next());
+      assertFalse(query.more());
+    }
+    // locks have been released
+    assertEqual("1", session.execute("xquery 1"));
+  }
 }
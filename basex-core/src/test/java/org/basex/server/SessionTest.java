@@ -286,6 +286,28 @@ public abstract class SessionTest extends SandboxTest {
     }
   }
 
+  /** Runs a query and retrieves the results in batches.
+   * @throws IOException I/O exception */
+  @Test
+  public void queryBatch() throws IOException {
+    for(final int[] limits : new int[][] { { 2, 0 }, { 0, 1 }, { 3, 100 } }) {
+      try(Query query = session.query("1 to 5")) {
+        query.batch(limits[0], limits[1]);
+        int c = 0;
+        while(query.more()) assertEqual(Integer.toString(++c), query.next());
+        assertEquals(5, c);
+      }
+    }
+    // close query before all results have been retrieved
+    session.execute("create db " + NAME);
+    try(Query query = session.query(_DB_OPEN.args(NAME) + ", 1 to 5")) {
+      query.batch(1, 0);
+      assertTrue(query.more());
+      query.next();
+    }
+    session.execute("drop db " + NAME);
+  }
+
   /** Queries binary content.
    * @throws IOException I/O exception */
   @Test